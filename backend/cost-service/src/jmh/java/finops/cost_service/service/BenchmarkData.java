@@ -0,0 +1,73 @@
+package finops.cost_service.service;
+
+import finops.cost_service.entity.CostRecord;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// Deterministic synthetic cost records shared by the JMH benchmarks.
+// Dimension values and timestamps are pooled like they are in real data, so the heap
+// goes to what varies per row (id, cost, resource) and 10M rows fit in a few GB.
+final class BenchmarkData {
+
+    static final long SEED = 42L;
+
+    private static final String[] PROVIDERS = {"AWS", "Azure", "GCP"};
+    private static final String[] SERVICES = {
+            "EC2", "S3", "RDS", "Lambda", "EKS", "Virtual Machines", "Blob Storage",
+            "Azure SQL", "Compute Engine", "Cloud Storage", "BigQuery", "GKE"
+    };
+    private static final String[] REGIONS = {"us-east-1", "us-west-2", "eu-west-1", "westeurope", "us-central1"};
+    private static final String[] DEPARTMENTS = {"Engineering", "Data", "Marketing", "Finance", "Platform"};
+    private static final String[] ENVIRONMENTS = {"dev", "staging", "production"};
+    private static final int ACCOUNTS = 40;
+    private static final int RESOURCES = 50_000;
+    private static final int DAYS = 90;
+
+    private BenchmarkData() {
+    }
+
+    static List<CostRecord> costRecords(int count) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        String[] accounts = new String[ACCOUNTS];
+        for (int i = 0; i < ACCOUNTS; i++) {
+            accounts[i] = String.format("%012d", 100_000_000_000L + i);
+        }
+        String[] resources = new String[RESOURCES];
+        for (int i = 0; i < RESOURCES; i++) {
+            resources[i] = "res-" + Integer.toHexString(0x100000 + i);
+        }
+        LocalDate firstDay = LocalDate.of(2025, 1, 1);
+        LocalDateTime[] days = new LocalDateTime[DAYS];
+        for (int i = 0; i < DAYS; i++) {
+            days[i] = firstDay.plusDays(i).atStartOfDay();
+        }
+        LocalDateTime createdAt = firstDay.plusDays(DAYS).atStartOfDay();
+
+        List<CostRecord> records = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String resource = resources[random.nextInt(RESOURCES)];
+            CostRecord costRecord = new CostRecord();
+            costRecord.setId((long) i + 1);
+            costRecord.setCloudProvider(PROVIDERS[random.nextInt(PROVIDERS.length)]);
+            costRecord.setServiceName(SERVICES[random.nextInt(SERVICES.length)]);
+            costRecord.setResourceId(resource);
+            costRecord.setResourceName(resource);
+            costRecord.setCost(BigDecimal.valueOf(random.nextLong(1, 500_000), 2));
+            costRecord.setCostUsd(costRecord.getCost());
+            costRecord.setCurrency("USD");
+            costRecord.setRegion(REGIONS[random.nextInt(REGIONS.length)]);
+            costRecord.setAccountId(accounts[random.nextInt(ACCOUNTS)]);
+            costRecord.setDepartment(DEPARTMENTS[random.nextInt(DEPARTMENTS.length)]);
+            costRecord.setEnvironment(ENVIRONMENTS[random.nextInt(ENVIRONMENTS.length)]);
+            costRecord.setUsageDate(days[random.nextInt(DAYS)]);
+            costRecord.setCreatedAt(createdAt);
+            records.add(costRecord);
+        }
+        return records;
+    }
+}
@@ -0,0 +1,80 @@
+package finops.cost_service.service;
+
+import finops.cost_service.entity.CostRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// groupingBy + BigDecimal::add aggregation over cost records, against CostAccumulator's long cents.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class CostAggregationBenchmark {
+
+    @Param({"10000", "1000000", "10000000"})
+    int recordCount;
+
+    private List<CostRecord> records;
+
+    @Setup
+    public void setUp() {
+        records = BenchmarkData.costRecords(recordCount);
+    }
+
+    // The in-memory summary getCostSummary used to compute before it moved to the rollup table
+    @Benchmark
+    public Object summaryByProviderAndService() {
+        BigDecimal total = records.stream()
+                .map(CostRecord::getCost)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        Map<String, BigDecimal> byProvider = records.stream()
+                .collect(Collectors.groupingBy(
+                        CostRecord::getCloudProvider,
+                        Collectors.reducing(BigDecimal.ZERO, CostRecord::getCost, BigDecimal::add)
+                ));
+        Map<String, BigDecimal> byService = records.stream()
+                .collect(Collectors.groupingBy(
+                        CostRecord::getServiceName,
+                        Collectors.reducing(BigDecimal.ZERO, CostRecord::getCost, BigDecimal::add)
+                ));
+        return new Object[]{total, byProvider, byService};
+    }
+
+    // Same summary accumulated in long cents
+    @Benchmark
+    public Object summaryByProviderAndServiceInCents() {
+        CostAccumulator<String> byProvider = new CostAccumulator<>();
+        CostAccumulator<String> byService = new CostAccumulator<>();
+        long totalCents = 0;
+        for (CostRecord costRecord : records) {
+            long cents = CostAccumulator.toCents(costRecord.getCost());
+            totalCents = Math.addExact(totalCents, cents);
+            byProvider.add(costRecord.getCloudProvider(), cents);
+            byService.add(costRecord.getServiceName(), cents);
+        }
+        return new Object[]{BigDecimal.valueOf(totalCents, 2), byProvider, byService};
+    }
+
+    // Per-batch rollup deltas computed on every ingest and delete
+    @Benchmark
+    public Object rollupDeltas() {
+        return DailyCostRollupService.toDeltas(records, false);
+    }
+}
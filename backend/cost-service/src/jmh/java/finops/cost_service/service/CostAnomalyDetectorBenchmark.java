@@ -0,0 +1,77 @@
+package finops.cost_service.service;
+
+import finops.cost_service.config.AnomalyProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Cost of keeping every series' detector state current: 30 days of daily totals per series, fed
+// day by day the way the warm-up replays the rollup. Totals are steady with occasional spikes.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class CostAnomalyDetectorBenchmark {
+
+    private static final int DAYS = 30;
+
+    @Param({"100000", "1000000"})
+    int seriesCount;
+
+    private CostAnomalyDetector.SeriesKey[] series;
+    private long[] baseCents;
+    private long[] dailyCents;
+    private CostAnomalyDetector detector;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(BenchmarkData.SEED);
+        series = new CostAnomalyDetector.SeriesKey[seriesCount];
+        baseCents = new long[seriesCount];
+        for (int i = 0; i < seriesCount; i++) {
+            series[i] = new CostAnomalyDetector.SeriesKey("AWS", String.format("%012d", i / 50), "service-" + i % 50);
+            baseCents[i] = random.nextLong(1_000, 1_000_000);
+        }
+        dailyCents = new long[seriesCount * DAYS];
+        for (int i = 0; i < dailyCents.length; i++) {
+            long base = baseCents[i / DAYS];
+            long noise = base / 10 - random.nextLong(base / 5 + 1);
+            dailyCents[i] = random.nextInt(1_000) == 0 ? base * 4 : base + noise;
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void newDetector() {
+        detector = new CostAnomalyDetector(new AnomalyProperties(seriesCount, 0.3, 3.0, 2.0,
+                new BigDecimal("10.00"), 7, DAYS, Duration.ofDays(7), 10_000));
+    }
+
+    @Benchmark
+    public long observeThirtyDays() {
+        LocalDate firstDay = LocalDate.of(2025, 1, 1);
+        for (int day = 0; day < DAYS; day++) {
+            LocalDate date = firstDay.plusDays(day);
+            for (int i = 0; i < seriesCount; i++) {
+                detector.observe(series[i], date, dailyCents[i * DAYS + day]);
+            }
+        }
+        return detector.anomalyCount();
+    }
+}
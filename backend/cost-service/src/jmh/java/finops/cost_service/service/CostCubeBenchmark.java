@@ -0,0 +1,110 @@
+package finops.cost_service.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import finops.cost_service.repository.CostAggregateRepository;
+import finops.cost_service.repository.CostDimension;
+import finops.cost_service.repository.DailyCostRollupWriter;
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// GET /api/costs/aggregate answered by the in-memory cube against the SQL query it stands in for.
+// The sql benchmark needs Docker: it starts PostgreSQL with Testcontainers, migrates it and loads
+// the same rollup rows. Run the cube side alone with -Djmh.args="CostCubeBenchmark.cube".
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class CostCubeBenchmark {
+
+    // Records over 90 days; the rollup holds up to one row per day and dimension combination
+    @Param({"1000000", "10000000"})
+    int recordCount;
+
+    @Param({"provider", "service,day", "account,service"})
+    String groupBy;
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2025, 1, 1);
+
+    private List<DailyCostRollupWriter.Delta> rollup;
+    private CostCube cube;
+    private List<CostDimension> dimensions;
+    private final Map<CostDimension, List<String>> filters = Map.of(CostDimension.ENVIRONMENT, List.of("production"));
+    private final LocalDate startDay = FIRST_DAY.plusDays(30);
+    private final LocalDate endDay = FIRST_DAY.plusDays(89);
+
+    @Setup
+    public void setUp() {
+        rollup = DailyCostRollupService.toDeltas(BenchmarkData.costRecords(recordCount), false);
+        cube = new CostCube(FIRST_DAY, true, Long.MAX_VALUE);
+        cube.addAll(rollup);
+        dimensions = Arrays.stream(groupBy.split(",")).map(CostDimension::fromParameter).toList();
+    }
+
+    @Benchmark
+    public Object cube() {
+        return cube.aggregate(dimensions, filters, startDay, endDay, CostAggregateService.DEFAULT_LIMIT);
+    }
+
+    @Benchmark
+    public Object sql(Postgres postgres) {
+        return postgres.repository.aggregate(dimensions, filters, startDay, endDay, CostAggregateService.DEFAULT_LIMIT);
+    }
+
+    @State(Scope.Benchmark)
+    public static class Postgres {
+
+        private static final int BATCH_ROWS = 10_000;
+
+        private PostgreSQLContainer<?> container;
+        private HikariDataSource dataSource;
+        private CostAggregateRepository repository;
+
+        @Setup
+        public void start(CostCubeBenchmark benchmark) {
+            container = new PostgreSQLContainer<>(DockerImageName.parse("postgres:16-alpine"));
+            container.start();
+            dataSource = new HikariDataSource();
+            dataSource.setJdbcUrl(container.getJdbcUrl());
+            dataSource.setUsername(container.getUsername());
+            dataSource.setPassword(container.getPassword());
+            Flyway.configure().dataSource(dataSource).load().migrate();
+
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            DailyCostRollupWriter writer = new DailyCostRollupWriter(jdbcTemplate);
+            for (int from = 0; from < benchmark.rollup.size(); from += BATCH_ROWS) {
+                writer.applyDeltas(benchmark.rollup.subList(from, Math.min(from + BATCH_ROWS, benchmark.rollup.size())));
+            }
+            jdbcTemplate.execute("VACUUM ANALYZE daily_cost_rollup");
+            repository = new CostAggregateRepository(new NamedParameterJdbcTemplate(dataSource));
+        }
+
+        @TearDown
+        public void stop() {
+            dataSource.close();
+            container.stop();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package finops.cost_service.service;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import finops.cost_service.dto.CostRecordRequest;
+import finops.cost_service.entity.CostRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+// NDJSON (what /stream returns and /bulk accepts) against the Arrow IPC export format:
+// encode and decode time per run, with the encoded sizes printed once per trial.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g", "--add-opens=java.base/java.nio=ALL-UNNAMED"})
+public class CostRecordExportBenchmark {
+
+    @Param({"100000", "1000000"})
+    int recordCount;
+
+    private final CostRecordMapper mapper = new CostRecordMapper();
+    private ObjectWriter responseWriter;
+    private ObjectReader requestReader;
+    private List<CostRecord> records;
+    private Map<String, Set<String>> dictionaries;
+    private byte[] ndjson;
+    private byte[] arrow;
+
+    @Setup
+    public void setUp() throws IOException {
+        // Same settings Spring Boot applies to its ObjectMapper
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        responseWriter = objectMapper.writer();
+        requestReader = objectMapper.readerFor(CostRecordRequest.class);
+
+        records = BenchmarkData.costRecords(recordCount);
+        dictionaries = Map.of(
+                CostRecordArrowFormat.CLOUD_PROVIDER, distinct(CostRecord::getCloudProvider),
+                CostRecordArrowFormat.SERVICE_NAME, distinct(CostRecord::getServiceName),
+                CostRecordArrowFormat.REGION, distinct(CostRecord::getRegion),
+                CostRecordArrowFormat.ACCOUNT_ID, distinct(CostRecord::getAccountId),
+                CostRecordArrowFormat.DEPARTMENT, distinct(CostRecord::getDepartment),
+                CostRecordArrowFormat.ENVIRONMENT, distinct(CostRecord::getEnvironment)
+        );
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writeNdjson(out);
+        ndjson = out.toByteArray();
+        out = new ByteArrayOutputStream();
+        writeArrow(out);
+        arrow = out.toByteArray();
+
+        System.out.printf("%n%,d records: NDJSON %,d bytes, Arrow (ZSTD) %,d bytes, %.1fx smaller%n",
+                recordCount, ndjson.length, arrow.length, (double) ndjson.length / arrow.length);
+    }
+
+    @Benchmark
+    public void encodeNdjson() throws IOException {
+        writeNdjson(OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public void encodeArrow() throws IOException {
+        writeArrow(OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public void decodeNdjson(Blackhole blackhole) throws IOException {
+        try (MappingIterator<CostRecordRequest> requests = requestReader.readValues(ndjson)) {
+            while (requests.hasNextValue()) {
+                blackhole.consume(requests.nextValue());
+            }
+        }
+    }
+
+    @Benchmark
+    public void decodeArrow(Blackhole blackhole) throws IOException {
+        try (CostRecordArrowReader reader = new CostRecordArrowReader(new ByteArrayInputStream(arrow))) {
+            reader.forEach(blackhole::consume);
+        }
+    }
+
+    private void writeNdjson(OutputStream out) throws IOException {
+        for (CostRecord costRecord : records) {
+            out.write(responseWriter.writeValueAsBytes(mapper.toResponse(costRecord)));
+            out.write('\n');
+        }
+    }
+
+    private void writeArrow(OutputStream out) throws IOException {
+        try (CostRecordArrowWriter writer =
+                     new CostRecordArrowWriter(out, dictionaries, CostRecordArrowWriter.DEFAULT_BATCH_SIZE)) {
+            for (CostRecord costRecord : records) {
+                writer.write(costRecord);
+            }
+        }
+    }
+
+    private Set<String> distinct(Function<CostRecord, String> dimension) {
+        Set<String> values = new TreeSet<>();
+        for (CostRecord costRecord : records) {
+            values.add(dimension.apply(costRecord));
+        }
+        return values;
+    }
+}
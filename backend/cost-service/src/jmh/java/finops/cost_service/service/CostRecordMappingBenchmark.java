@@ -0,0 +1,54 @@
+package finops.cost_service.service;
+
+import finops.cost_service.entity.CostRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Entity -> response mapping, the per-row cost of every list, page and stream endpoint.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class CostRecordMappingBenchmark {
+
+    @Param({"10000", "1000000", "10000000"})
+    int recordCount;
+
+    private final CostRecordMapper mapper = new CostRecordMapper();
+    private List<CostRecord> records;
+
+    @Setup
+    public void setUp() {
+        records = BenchmarkData.costRecords(recordCount);
+    }
+
+    @Benchmark
+    public void toResponse(Blackhole blackhole) {
+        for (CostRecord costRecord : records) {
+            blackhole.consume(mapper.toResponse(costRecord));
+        }
+    }
+
+    // What the old list endpoints did before streaming: map everything into one list first
+    @Benchmark
+    public Object toResponseList() {
+        return records.stream()
+                .map(mapper::toResponse)
+                .toList();
+    }
+}
@@ -0,0 +1,71 @@
+package finops.cost_service.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import finops.cost_service.dto.CostRecordResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Jackson serialization of List<CostRecordResponse>, configured the way Spring Boot configures
+// its ObjectMapper (ISO dates, not timestamps). Output goes to a null stream so only encoding is measured.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class CostRecordSerializationBenchmark {
+
+    @Param({"10000", "1000000", "10000000"})
+    int recordCount;
+
+    private ObjectWriter listWriter;
+    private ObjectWriter recordWriter;
+    private List<CostRecordResponse> responses;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        listWriter = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, CostRecordResponse.class));
+        recordWriter = objectMapper.writerFor(CostRecordResponse.class);
+        CostRecordMapper mapper = new CostRecordMapper();
+        responses = BenchmarkData.costRecords(recordCount).stream()
+                .map(mapper::toResponse)
+                .toList();
+    }
+
+    // One JSON array, what the list endpoints return
+    @Benchmark
+    public void jsonArray() throws IOException {
+        listWriter.writeValue(OutputStream.nullOutputStream(), responses);
+    }
+
+    // One object per line, the way the /stream endpoints write them
+    @Benchmark
+    public void ndjson() throws IOException {
+        OutputStream out = OutputStream.nullOutputStream();
+        for (CostRecordResponse response : responses) {
+            out.write(recordWriter.writeValueAsBytes(response));
+            out.write('\n');
+        }
+    }
+}
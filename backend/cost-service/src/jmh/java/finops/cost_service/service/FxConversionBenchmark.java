@@ -0,0 +1,100 @@
+package finops.cost_service.service;
+
+import finops.cost_service.config.CacheConfig;
+import finops.cost_service.entity.CostRecord;
+import finops.cost_service.repository.DataVersionRepository;
+import finops.cost_service.repository.FxRateRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// What USD conversion adds to ingest: rates come from the fxRates cache (the table is stubbed, so
+// only its first lookup per currency and day would reach the database) and the rollup deltas of the
+// converted batch are computed as before. Ingest converts each record twice, as it is accepted and again
+// inside the write transaction. Compare normalizeAndRollUp with rollupDeltas per million rows.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class FxConversionBenchmark {
+
+    private static final Map<String, BigDecimal> RATES = Map.of(
+            "EUR", new BigDecimal("1.0842"),
+            "GBP", new BigDecimal("1.2671"),
+            "JPY", new BigDecimal("0.0066"));
+
+    @Param({"1000000"})
+    int recordCount;
+
+    // Share of records billed in EUR, GBP or JPY rather than USD
+    @Param({"0", "0.3", "1"})
+    double foreignShare;
+
+    private List<CostRecord> records;
+    private CurrencyNormalizer normalizer;
+
+    @Setup
+    public void setUp() {
+        records = BenchmarkData.costRecords(recordCount);
+        List<String> currencies = List.copyOf(RATES.keySet());
+        Random random = new Random(42);
+        for (CostRecord costRecord : records) {
+            if (random.nextDouble() < foreignShare) {
+                costRecord.setCurrency(currencies.get(random.nextInt(currencies.size())));
+            }
+        }
+
+        FxRateRepository table = new FxRateRepository(null) {
+            @Override
+            public Optional<BigDecimal> findRateOnOrBefore(String currency, LocalDate day) {
+                return Optional.ofNullable(RATES.get(currency));
+            }
+        };
+        DataVersionRepository ratesVersion = new DataVersionRepository(null) {
+            @Override
+            public long lockShared(String name) {
+                return 0;
+            }
+        };
+        normalizer = new CurrencyNormalizer(table, ratesVersion, new CaffeineCacheManager(CacheConfig.FX_RATES));
+        records.forEach(normalizer::normalize);
+    }
+
+    // Baseline: the deltas every ingested batch already computes from its USD costs
+    @Benchmark
+    public Object rollupDeltas() {
+        return DailyCostRollupService.toDeltas(records, false);
+    }
+
+    @Benchmark
+    public Object normalize() {
+        records.forEach(normalizer::normalize);
+        return records;
+    }
+
+    @Benchmark
+    public Object normalizeAndRollUp() {
+        records.forEach(normalizer::normalize);
+        normalizer.normalizeForWrite(records);
+        return DailyCostRollupService.toDeltas(records, false);
+    }
+}
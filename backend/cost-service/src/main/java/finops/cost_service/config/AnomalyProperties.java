@@ -0,0 +1,21 @@
+package finops.cost_service.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "finops.anomalies")
+public record AnomalyProperties(
+        @DefaultValue("1000000") long maxSeries,
+        @DefaultValue("0.3") double smoothing,
+        @DefaultValue("3.0") double deviationThreshold,
+        @DefaultValue("2.0") double dayOverDayRatio,
+        @DefaultValue("10.00") BigDecimal minDailyCost,
+        @DefaultValue("7") int minHistoryDays,
+        @DefaultValue("30") int warmupDays,
+        @DefaultValue("7d") Duration retention,
+        @DefaultValue("10000") long maxAnomalies
+) {
+}
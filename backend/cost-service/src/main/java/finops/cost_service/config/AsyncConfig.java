@@ -0,0 +1,11 @@
+package finops.cost_service.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+// @Async methods and MVC async work (StreamingResponseBody) run on Boot's applicationTaskExecutor,
+// which is backed by virtual threads when spring.threads.virtual.enabled=true
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+}
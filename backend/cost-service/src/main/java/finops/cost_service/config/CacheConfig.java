@@ -0,0 +1,53 @@
+package finops.cost_service.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+
+import java.time.Duration;
+
+// Cost caches are keyed by the data version first (see CostDataVersion), so after a change commits no
+// request can hit an entry read before it, whichever instance made the change. The version is the one
+// the caller's transaction reads at, so transactions wrap the cache lookup rather than the other way round
+@Configuration
+@EnableCaching
+@EnableTransactionManagement(proxyTargetClass = true, order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+
+    public static final String COST_SUMMARY = "costSummary";
+    public static final String COST_SUMMARY_BY_DATE_RANGE = "costSummaryByDateRange";
+    public static final String COST_AGGREGATES = "costAggregates";
+    public static final String COST_FORECASTS = "costForecasts";
+    public static final String COST_RECORD_PAGES = "costRecordPages";
+    // Keyed by the rates version (see CurrencyNormalizer), so cost changes leave it alone
+    public static final String FX_RATES = "fxRates";
+
+    // Caches are registered up front so their hit/miss/eviction stats are bound to Micrometer at startup
+    @Bean
+    public CacheManager cacheManager(CostCacheProperties properties) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setAllowNullValues(false);
+
+        for (String name : new String[]{COST_SUMMARY, COST_SUMMARY_BY_DATE_RANGE, COST_AGGREGATES, COST_FORECASTS}) {
+            cacheManager.registerCustomCache(name,
+                    caffeine(properties.summaryTtl(), properties.summaryMaximumSize()).build());
+        }
+        cacheManager.registerCustomCache(COST_RECORD_PAGES,
+                caffeine(properties.recordListTtl(), properties.recordListMaximumSize()).build());
+        cacheManager.registerCustomCache(FX_RATES,
+                caffeine(properties.fxRateTtl(), properties.fxRateMaximumSize()).build());
+        return cacheManager;
+    }
+
+    private static Caffeine<Object, Object> caffeine(Duration ttl, long maximumSize) {
+        return Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .recordStats();
+    }
+}
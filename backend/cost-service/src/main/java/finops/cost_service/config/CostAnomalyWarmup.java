@@ -0,0 +1,25 @@
+package finops.cost_service.config;
+
+import finops.cost_service.service.CostAnomalyService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+// Right after the rollup backfill and before DataInitializer, whose records reach the detector as
+// events; replaying them from the rollup as well would count them twice
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@RequiredArgsConstructor
+public class CostAnomalyWarmup implements ApplicationRunner {
+
+    private final CostAnomalyService costAnomalyService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        // Detector state is in memory only; replay recent days so it doesn't start blind after a restart
+        costAnomalyService.warmUp();
+    }
+}
@@ -0,0 +1,18 @@
+package finops.cost_service.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "finops.cache")
+public record CostCacheProperties(
+        @DefaultValue("10m") Duration summaryTtl,
+        @DefaultValue("500") long summaryMaximumSize,
+        @DefaultValue("1m") Duration recordListTtl,
+        @DefaultValue("100") long recordListMaximumSize,
+        @DefaultValue("1h") Duration fxRateTtl,
+        @DefaultValue("10000") long fxRateMaximumSize,
+        @DefaultValue("1s") Duration versionCheckInterval
+) {
+}
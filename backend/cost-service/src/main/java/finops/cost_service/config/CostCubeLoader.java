@@ -0,0 +1,24 @@
+package finops.cost_service.config;
+
+import finops.cost_service.service.CostCubeService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+// After the rollup backfill it reads from, before the generator and DataInitializer, whose records
+// reach the cube as events
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+@RequiredArgsConstructor
+public class CostCubeLoader implements ApplicationRunner {
+
+    private final CostCubeService costCubeService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        costCubeService.load();
+    }
+}
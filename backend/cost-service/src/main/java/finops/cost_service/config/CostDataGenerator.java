@@ -0,0 +1,53 @@
+package finops.cost_service.config;
+
+import finops.cost_service.dto.BulkIngestResponse;
+import finops.cost_service.repository.CostRecordRepository;
+import finops.cost_service.service.BulkIngestMode;
+import finops.cost_service.service.CostRecordGenerator;
+import finops.cost_service.service.CostRecordIngestService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.stereotype.Component;
+
+// Loads finops.generator.records synthetic records at startup, then keeps serving:
+//   java -jar cost-service.jar --spring.profiles.active=loadgen,prod --finops.generator.records=10000000
+// Runs before the dev profile's DataInitializer, which then finds data and adds none of its samples
+@Component
+@Profile("loadgen")
+@Order(Ordered.HIGHEST_PRECEDENCE + 3)
+@RequiredArgsConstructor
+@Slf4j
+public class CostDataGenerator implements ApplicationRunner {
+
+    private final GeneratorProperties properties;
+    private final CostRecordIngestService costRecordIngestService;
+    private final CostRecordRepository costRecordRepository;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        // The same seed produces the same natural keys, so a second COPY or INSERT run would only conflict
+        if (properties.mode() != BulkIngestMode.UPSERT
+                && !costRecordRepository.findAllByOrderByUsageDateAscIdAsc(ScrollPosition.offset(), Limit.of(1)).isEmpty()) {
+            log.info("cost_records already contains data; skipping generation. Truncate it first, "
+                    + "or set finops.generator.mode=UPSERT to replay the same records.");
+            return;
+        }
+
+        CostRecordGenerator generator = new CostRecordGenerator(properties);
+        log.info("Generating {} records: {} resources over {} days from {}, seed {}, skew {}, {} mode",
+                properties.records(), generator.resourceCount(), properties.days(), properties.firstDay(),
+                properties.seed(), properties.skew(), properties.mode());
+
+        // Generation runs inline with the writes, so the rate is what the bulk path sustains end to end
+        BulkIngestResponse response = costRecordIngestService.ingestRecords(generator, properties.mode());
+        log.info("Generated {} records in {} ms ({} rows/s)", response.getInserted() + response.getUpdated(),
+                response.getElapsedMillis(), Math.round(response.getRowsPerSecond()));
+    }
+}
@@ -0,0 +1,78 @@
+package finops.cost_service.config;
+
+import finops.cost_service.dto.BulkIngestResponse;
+import finops.cost_service.service.BulkIngestMode;
+import finops.cost_service.service.CostRecordExportService;
+import finops.cost_service.service.CostRecordIngestService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+// Command line export/import of Arrow files, without starting the web server:
+//   java -jar cost-service.jar --spring.profiles.active=cli export --start-date=2025-01-01 --end-date=2025-01-31 --file=jan.arrows
+//   java -jar cost-service.jar --spring.profiles.active=cli import --file=jan.arrows [--mode=INSERT]
+@Component
+@Profile("cli")
+@RequiredArgsConstructor
+@Slf4j
+public class CostRecordFileCommand implements ApplicationRunner {
+
+    private final CostRecordExportService costRecordExportService;
+    private final CostRecordIngestService costRecordIngestService;
+    private final ApplicationContext applicationContext;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        List<String> commands = args.getNonOptionArgs();
+        String command = commands.isEmpty() ? "" : commands.get(0);
+        Path file = Path.of(requiredOption(args, "file"));
+
+        switch (command) {
+            case "export" -> {
+                LocalDate startDate = LocalDate.parse(requiredOption(args, "start-date"));
+                LocalDate endDate = LocalDate.parse(requiredOption(args, "end-date"));
+                try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), 1 << 20)) {
+                    long rows = costRecordExportService.exportArrow(startDate, endDate, out);
+                    out.flush();
+                    log.info("Wrote {} records to {} ({} bytes)", rows, file, Files.size(file));
+                }
+            }
+            case "import" -> {
+                BulkIngestMode mode = args.containsOption("mode")
+                        ? BulkIngestMode.valueOf(args.getOptionValues("mode").get(0))
+                        : BulkIngestMode.COPY;
+                try (InputStream in = new BufferedInputStream(Files.newInputStream(file), 1 << 20)) {
+                    BulkIngestResponse response = costRecordIngestService.ingestArrow(in, mode);
+                    log.info("Imported {} of {} records from {} ({} rejected)",
+                            response.getInserted(), response.getReceived(), file, response.getRejected());
+                }
+            }
+            default -> throw new IllegalArgumentException("Expected 'export' or 'import', got '" + command + "'");
+        }
+
+        // The scheduler keeps the JVM alive otherwise
+        System.exit(SpringApplication.exit(applicationContext));
+    }
+
+    private static String requiredOption(ApplicationArguments args, String name) {
+        List<String> values = args.getOptionValues(name);
+        if (values == null || values.isEmpty()) {
+            throw new IllegalArgumentException("Missing --" + name);
+        }
+        return values.get(0);
+    }
+}
@@ -0,0 +1,20 @@
+package finops.cost_service.config;
+
+import finops.cost_service.service.CostRecordPartitionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class CostRecordPartitionMaintenance implements ApplicationRunner {
+
+    private final CostRecordPartitionService costRecordPartitionService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        // Don't wait for the nightly run to create upcoming months after a long downtime
+        costRecordPartitionService.maintain();
+    }
+}
@@ -0,0 +1,13 @@
+package finops.cost_service.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+@ConfigurationProperties(prefix = "finops.cube")
+public record CubeProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("90") int windowDays,
+        @DefaultValue("256MB") DataSize maxMemory
+) {
+}
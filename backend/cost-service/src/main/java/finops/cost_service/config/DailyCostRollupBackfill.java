@@ -0,0 +1,23 @@
+package finops.cost_service.config;
+
+import finops.cost_service.service.DailyCostRollupService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class DailyCostRollupBackfill implements ApplicationRunner {
+
+    private final DailyCostRollupService dailyCostRollupService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        // Databases that predate the rollup table get it populated once on startup
+        dailyCostRollupService.backfillIfEmpty();
+    }
+}
@@ -1,11 +1,22 @@
 package finops.cost_service.config;
 
 import finops.cost_service.entity.CostRecord;
+import finops.cost_service.event.CostDataChangedEvent;
 import finops.cost_service.repository.CostRecordRepository;
+import finops.cost_service.service.CostRecordPartitionService;
+import finops.cost_service.service.CurrencyNormalizer;
+import finops.cost_service.service.DailyCostRollupService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -13,20 +24,38 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 
+// Sample costs for local development, under the dev profile only (the default when no profile is
+// active). Seeded once the application is ready, on the application task executor, so requests are
+// served from the first moment instead of waiting for the inserts
 @Component
+@Profile("dev")
 @RequiredArgsConstructor
 @Slf4j
-public class DataInitializer implements CommandLineRunner {
+public class DataInitializer {
 
     private final CostRecordRepository costRecordRepository;
-
-    @Override
-    public void run(String... args) {
-        // Only initialize if database is empty
-        if (costRecordRepository.count() == 0) {
+    private final DailyCostRollupService dailyCostRollupService;
+    private final CostRecordPartitionService costRecordPartitionService;
+    private final CurrencyNormalizer currencyNormalizer;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    // Partitions are created before the write transaction, as in bulk ingest, so their DDL does not
+    // hold a second connection
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        // Only initialize if database is empty; one row is enough to tell, COUNT(*) would read them all
+        if (costRecordRepository.findAllByOrderByUsageDateAscIdAsc(ScrollPosition.offset(), Limit.of(1)).isEmpty()) {
             log.info("Initializing sample cost data...");
             List<CostRecord> sampleData = createSampleData();
-            costRecordRepository.saveAll(sampleData);
+            costRecordPartitionService.ensurePartitionsFor(sampleData);
+            transactionTemplate.executeWithoutResult(status -> {
+                currencyNormalizer.normalizeForWrite(sampleData);
+                costRecordRepository.saveAll(sampleData);
+                dailyCostRollupService.recordsAdded(sampleData);
+                eventPublisher.publishEvent(CostDataChangedEvent.added(sampleData));
+            });
             log.info("Successfully initialized {} cost records", sampleData.size());
         } else {
             log.info("Database already contains data. Skipping initialization.");
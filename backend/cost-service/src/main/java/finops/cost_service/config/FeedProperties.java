@@ -0,0 +1,16 @@
+package finops.cost_service.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "finops.feed")
+public record FeedProperties(
+        @DefaultValue("1000") int maxClients,
+        @DefaultValue("30m") Duration timeout,
+        @DefaultValue("15s") Duration heartbeat,
+        @DefaultValue("100") int maxRecordsPerEvent,
+        @DefaultValue("1000") int queueCapacity
+) {
+}
@@ -0,0 +1,13 @@
+package finops.cost_service.config;
+
+import finops.cost_service.service.ForecastMethod;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "finops.forecast")
+public record ForecastProperties(
+        @DefaultValue("SEASONAL") ForecastMethod method,
+        @DefaultValue("56") int historyDays,
+        @DefaultValue("0") int parallelism
+) {
+}
@@ -0,0 +1,23 @@
+package finops.cost_service.config;
+
+import finops.cost_service.service.BulkIngestMode;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.LocalDate;
+
+@ConfigurationProperties(prefix = "finops.generator")
+public record GeneratorProperties(
+        @DefaultValue("1000000") long records,
+        @DefaultValue("90") int days,
+        LocalDate startDate, // unset: the span ends yesterday
+        @DefaultValue("42") long seed,
+        @DefaultValue("300") int accounts,
+        @DefaultValue("1.1") double skew,
+        @DefaultValue("COPY") BulkIngestMode mode
+) {
+
+    public LocalDate firstDay() {
+        return startDate != null ? startDate : LocalDate.now().minusDays(days);
+    }
+}
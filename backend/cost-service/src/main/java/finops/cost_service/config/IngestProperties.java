@@ -0,0 +1,11 @@
+package finops.cost_service.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "finops.ingest")
+public record IngestProperties(
+        @DefaultValue("5000") int batchSize,
+        @DefaultValue("100") int maxReportedErrors
+) {
+}
@@ -0,0 +1,18 @@
+package finops.cost_service.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "finops.partitions")
+public record PartitionProperties(
+        @DefaultValue("3") int monthsAhead,
+        @DefaultValue("0") int retentionMonths,
+        @DefaultValue("ARCHIVE") RetentionAction retentionAction,
+        @DefaultValue("cost_archive") String archiveSchema
+) {
+
+    public enum RetentionAction {
+        DROP,
+        ARCHIVE
+    }
+}
@@ -0,0 +1,46 @@
+package finops.cost_service.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+// Only active with at least one finops.datasource.replicas entry; otherwise Spring Boot's single
+// DataSource is used as is
+@Configuration
+@ConditionalOnProperty(prefix = "finops.datasource", name = "replicas[0].url")
+public class ReplicaDataSourceConfig {
+
+    // The primary pool, built from spring.datasource.* the way Spring Boot builds it without replicas
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaDataSource(ReplicaProperties properties,
+                                                      DataSourceProperties dataSourceProperties,
+                                                      HikariDataSource primaryDataSource,
+                                                      MeterRegistry meterRegistry) {
+        return new ReplicaRoutingDataSource(properties, dataSourceProperties, primaryDataSource, meterRegistry);
+    }
+
+    // What JPA, JdbcTemplate and Flyway get. The proxy only takes a physical connection at the first
+    // statement, by which time a @Transactional(readOnly = true) method has marked it read-only, and
+    // then takes it from the replicas; everything else goes to the primary
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaRoutingDataSource replicaDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaDataSource);
+        return dataSource;
+    }
+}
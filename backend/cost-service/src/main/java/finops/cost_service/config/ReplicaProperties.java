@@ -0,0 +1,21 @@
+package finops.cost_service.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "finops.datasource")
+public record ReplicaProperties(
+        @DefaultValue List<Replica> replicas,
+        @DefaultValue("5s") Duration lagCheckInterval,
+        @DefaultValue("10s") Duration maxLag,
+        @DefaultValue("10") int replicaPoolSize,
+        @DefaultValue("1s") Duration replicaConnectionTimeout
+) {
+
+    // username and password default to spring.datasource's
+    public record Replica(String url, String username, String password) {
+    }
+}
@@ -0,0 +1,193 @@
+package finops.cost_service.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Connections for read-only transactions: the replicas in turn, skipping any that is unreachable or
+ * more than {@code finops.datasource.max-lag} behind, and the primary when none is usable.
+ * <p>
+ * Reads can be up to max-lag stale, and a cache filled from a replica keeps what it read for its TTL.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements Closeable {
+
+    // Seconds since the last replayed transaction, or 0 when the replica has replayed all it received
+    // (an idle primary sends nothing, so the replay timestamp alone would keep growing)
+    private static final String LAG_SQL = "SELECT CASE "
+            + "WHEN pg_last_wal_receive_lsn() IS NOT DISTINCT FROM pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) END";
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final double maxLagSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter primaryReads;
+
+    public ReplicaRoutingDataSource(ReplicaProperties properties, DataSourceProperties primaryProperties,
+                                    DataSource primary, MeterRegistry meterRegistry) {
+        this(primary, pools(properties, primaryProperties, meterRegistry), properties.maxLag(), meterRegistry);
+    }
+
+    // Replicas by name, in the order reads rotate through them
+    ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicaDataSources, Duration maxLag,
+                             MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        this.primaryReads = readConnections("primary", meterRegistry);
+
+        replicaDataSources.forEach((name, dataSource) -> {
+            Replica replica = new Replica(name, dataSource, readConnections(name, meterRegistry));
+            Gauge.builder("finops.datasource.replica.lag", replica, r -> r.lagSeconds)
+                    .description("Replication lag of a read replica, NaN while it cannot be measured")
+                    .baseUnit("seconds")
+                    .tag("replica", name)
+                    .register(meterRegistry);
+            Gauge.builder("finops.datasource.replica.available", replica, r -> r.available ? 1 : 0)
+                    .description("Whether read-only transactions are sent to the replica")
+                    .tag("replica", name)
+                    .register(meterRegistry);
+            replicas.add(replica);
+        });
+    }
+
+    private static Map<String, DataSource> pools(ReplicaProperties properties, DataSourceProperties primaryProperties,
+                                                 MeterRegistry meterRegistry) {
+        Map<String, DataSource> pools = new LinkedHashMap<>();
+        for (ReplicaProperties.Replica settings : properties.replicas()) {
+            String name = "replica-" + (pools.size() + 1);
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("cost-service-" + name);
+            dataSource.setJdbcUrl(settings.url());
+            dataSource.setUsername(settings.username() != null ? settings.username() : primaryProperties.determineUsername());
+            dataSource.setPassword(settings.password() != null ? settings.password() : primaryProperties.determinePassword());
+            dataSource.setReadOnly(true);
+            dataSource.setMaximumPoolSize(properties.replicaPoolSize());
+            dataSource.setConnectionTimeout(properties.replicaConnectionTimeout().toMillis());
+            // A replica that is down at startup is skipped like one that goes down later
+            dataSource.setInitializationFailTimeout(-1);
+            dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            pools.put(name, dataSource);
+            log.info("Read-only transactions may use {} at {}", name, settings.url());
+        }
+        return pools;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (!replica.available) {
+                continue;
+            }
+            try {
+                Connection connection = replica.dataSource.getConnection();
+                replica.reads.increment();
+                return connection;
+            } catch (SQLException ex) {
+                replica.available = false;
+                log.warn("{} is unreachable, reading elsewhere until the next lag check: {}",
+                        replica.name, ex.getMessage());
+            }
+        }
+        primaryReads.increment();
+        return primary.getConnection();
+    }
+
+    // The replica pools are bound to their configured credentials, so other ones go to the primary
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        primaryReads.increment();
+        return primary.getConnection(username, password);
+    }
+
+    @Scheduled(fixedDelayString = "${finops.datasource.lag-check-interval:5s}",
+            initialDelayString = "${finops.datasource.lag-check-interval:5s}")
+    public void checkLag() {
+        for (Replica replica : replicas) {
+            double lag;
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery(LAG_SQL)) {
+                rs.next();
+                lag = rs.getDouble(1);
+                if (rs.wasNull()) {
+                    lag = Double.NaN; // nothing replayed yet
+                }
+            } catch (SQLException ex) {
+                lag = Double.NaN;
+                log.debug("Could not measure the lag of {}", replica.name, ex);
+            }
+
+            boolean available = lag <= maxLagSeconds; // false for NaN
+            if (available != replica.available) {
+                if (available) {
+                    log.info("{} is back within {}s of the primary ({}s), sending reads to it again",
+                            replica.name, maxLagSeconds, lag);
+                } else {
+                    log.warn("{} is {} behind the primary, reading elsewhere until it catches up", replica.name,
+                            Double.isNaN(lag) ? "an unknown time" : lag + "s");
+                }
+            }
+            replica.lagSeconds = lag;
+            replica.available = available;
+        }
+    }
+
+    @Override
+    public void close() {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof Closeable pool) {
+                try {
+                    pool.close();
+                } catch (IOException ex) {
+                    log.warn("Could not close the {} pool", replica.name, ex);
+                }
+            }
+        }
+    }
+
+    private static Counter readConnections(String target, MeterRegistry meterRegistry) {
+        return Counter.builder("finops.datasource.read.connections")
+                .description("Connections handed to read-only transactions, by database")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+
+    private static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private final Counter reads;
+        private volatile boolean available = true; // until a check or a connection attempt says otherwise
+        private volatile double lagSeconds = Double.NaN;
+
+        private Replica(String name, DataSource dataSource, Counter reads) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.reads = reads;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package finops.cost_service.config;
+
+import finops.cost_service.repository.CostRecordPartitionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+// Printing every statement is fine for a few sample rows and a measurable cost under real load
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SqlLoggingCheck implements ApplicationRunner {
+
+    private static final long LARGE_TABLE_ROWS = 100_000;
+
+    private final Environment environment;
+    private final CostRecordPartitionRepository partitionRepository;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        boolean showSql = environment.getProperty("spring.jpa.show-sql", Boolean.class, false);
+        boolean sqlDebug = LoggerFactory.getLogger("org.hibernate.SQL").isDebugEnabled();
+        if (!showSql && !sqlDebug) {
+            return;
+        }
+
+        long rows;
+        try {
+            rows = partitionRepository.estimateRowCount();
+        } catch (DataAccessException ex) {
+            log.debug("Could not estimate the size of cost_records", ex);
+            return;
+        }
+        if (rows >= LARGE_TABLE_ROWS) {
+            log.warn("SQL statement logging is on (spring.jpa.show-sql={}, org.hibernate.SQL at DEBUG={}) "
+                    + "while cost_records holds about {} rows. Every query pays for formatting and writing "
+                    + "its SQL; run with --spring.profiles.active=prod to turn it off.", showSql, sqlDebug, rows);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package finops.cost_service.controller;
+
+import finops.cost_service.dto.BudgetBurnResponse;
+import finops.cost_service.dto.BudgetRequest;
+import finops.cost_service.dto.BudgetResponse;
+import finops.cost_service.service.BudgetService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/budgets")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class BudgetController {
+
+    private final BudgetService budgetService;
+
+    @GetMapping
+    public ResponseEntity<List<BudgetResponse>> getAllBudgets() {
+        return ResponseEntity.ok(budgetService.getAllBudgets());
+    }
+
+    @PostMapping
+    public ResponseEntity<BudgetResponse> createBudget(@Valid @RequestBody BudgetRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(budgetService.createBudget(request));
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<BudgetResponse> updateBudget(@PathVariable Long id, @Valid @RequestBody BudgetRequest request) {
+        return ResponseEntity.ok(budgetService.updateBudget(id, request));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteBudget(@PathVariable Long id) {
+        budgetService.deleteBudget(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    // Spend so far and the month-end forecast against each budget
+    @GetMapping("/burn")
+    public ResponseEntity<BudgetBurnResponse> getBudgetBurn() {
+        return ResponseEntity.ok(budgetService.getBudgetBurn());
+    }
+}
@@ -0,0 +1,27 @@
+package finops.cost_service.controller;
+
+import finops.cost_service.service.CostFeedService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/costs/feed")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class CostFeedController {
+
+    private final CostFeedService costFeedService;
+
+    // Server-sent events: "costs" carries a CostFeedEvent per committed change, "resync" asks the
+    // client to reload everything. Load the current state after the connection opens, not before
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> subscribe() {
+        return costFeedService.subscribe()
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+    }
+}
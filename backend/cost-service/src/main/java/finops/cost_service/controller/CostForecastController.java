@@ -0,0 +1,26 @@
+package finops.cost_service.controller;
+
+import finops.cost_service.dto.CostForecastResponse;
+import finops.cost_service.service.CostForecastService;
+import finops.cost_service.service.ForecastMethod;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/costs/forecast")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class CostForecastController {
+
+    private final CostForecastService costForecastService;
+
+    // e.g. ?groupBy=department&method=LINEAR&limit=20; biggest month-end forecast first
+    @GetMapping
+    public ResponseEntity<CostForecastResponse> getForecast(
+            @RequestParam(defaultValue = "account") String groupBy,
+            @RequestParam(required = false) ForecastMethod method,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(costForecastService.getForecast(groupBy, method, limit));
+    }
+}
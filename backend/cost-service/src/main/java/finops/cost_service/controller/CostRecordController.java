@@ -1,18 +1,42 @@
 package finops.cost_service.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import finops.cost_service.dto.BulkIngestResponse;
+import finops.cost_service.dto.CostAggregateRequest;
+import finops.cost_service.dto.CostAggregateResponse;
+import finops.cost_service.dto.CostAnomalyResponse;
+import finops.cost_service.dto.CostRecordPage;
 import finops.cost_service.dto.CostRecordRequest;
 import finops.cost_service.dto.CostRecordResponse;
 import finops.cost_service.dto.CostSummaryResponse;
+import finops.cost_service.service.BulkIngestMode;
+import finops.cost_service.service.CostAggregateService;
+import finops.cost_service.service.CostAnomalyService;
+import finops.cost_service.service.CostDataVersion;
+import finops.cost_service.service.CostRecordArrowFormat;
+import finops.cost_service.service.CostRecordExportService;
+import finops.cost_service.service.CostRecordIngestService;
 import finops.cost_service.service.CostRecordService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/costs")
@@ -20,7 +44,15 @@ import java.util.List;
 @CrossOrigin(origins = "*")
 public class CostRecordController {
 
+    private static final String DEFAULT_PAGE_SIZE = "100";
+
     private final CostRecordService costRecordService;
+    private final CostRecordIngestService costRecordIngestService;
+    private final CostAggregateService costAggregateService;
+    private final CostRecordExportService costRecordExportService;
+    private final CostAnomalyService costAnomalyService;
+    private final CostDataVersion costDataVersion;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public ResponseEntity<CostRecordResponse> createCostRecord(@Valid @RequestBody CostRecordRequest request) {
@@ -28,42 +60,149 @@ public class CostRecordController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BulkIngestResponse> bulkIngest(
+            @RequestParam(defaultValue = "COPY") BulkIngestMode mode,
+            InputStream body) throws IOException {
+        BulkIngestResponse response = costRecordIngestService.ingest(body, mode);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping(value = "/bulk", consumes = CostRecordArrowFormat.MEDIA_TYPE)
+    public ResponseEntity<BulkIngestResponse> bulkIngestArrow(
+            @RequestParam(defaultValue = "COPY") BulkIngestMode mode,
+            InputStream body) {
+        BulkIngestResponse response = costRecordIngestService.ingestArrow(body, mode);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping(value = "/export", produces = CostRecordArrowFormat.MEDIA_TYPE)
+    public ResponseEntity<StreamingResponseBody> exportCostRecords(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("startDate must not be after endDate");
+        }
+        StreamingResponseBody body = out -> costRecordExportService.exportArrow(startDate, endDate, out);
+        String fileName = "cost-records-" + startDate + "-to-" + endDate + CostRecordArrowFormat.FILE_EXTENSION;
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(CostRecordArrowFormat.MEDIA_TYPE))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(body);
+    }
+
     @GetMapping
-    public ResponseEntity<List<CostRecordResponse>> getAllCostRecords() {
-        List<CostRecordResponse> records = costRecordService.getAllCostRecords();
-        return ResponseEntity.ok(records);
+    public ResponseEntity<List<CostRecordResponse>> getAllCostRecords(WebRequest webRequest) {
+        return versioned(webRequest, costRecordService::getAllCostRecords);
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<CostRecordPage> getCostRecordPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int size,
+            WebRequest webRequest) {
+        return versioned(webRequest, () -> costRecordService.getCostRecordPage(cursor, size));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllCostRecords() {
+        return ndjson(costRecordService::streamAllCostRecords);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<CostRecordResponse> getCostRecordById(@PathVariable Long id) {
-        CostRecordResponse response = costRecordService.getCostRecordById(id);
-        return ResponseEntity.ok(response);
+    public ResponseEntity<CostRecordResponse> getCostRecordById(@PathVariable Long id, WebRequest webRequest) {
+        return versioned(webRequest, () -> costRecordService.getCostRecordById(id));
     }
 
     @GetMapping("/provider/{provider}")
-    public ResponseEntity<List<CostRecordResponse>> getCostRecordsByProvider(@PathVariable String provider) {
-        List<CostRecordResponse> records = costRecordService.getCostRecordsByProvider(provider);
-        return ResponseEntity.ok(records);
+    public ResponseEntity<List<CostRecordResponse>> getCostRecordsByProvider(@PathVariable String provider,
+                                                                             WebRequest webRequest) {
+        return versioned(webRequest, () -> costRecordService.getCostRecordsByProvider(provider));
+    }
+
+    @GetMapping("/provider/{provider}/page")
+    public ResponseEntity<CostRecordPage> getCostRecordPageByProvider(
+            @PathVariable String provider,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int size,
+            WebRequest webRequest) {
+        return versioned(webRequest, () -> costRecordService.getCostRecordPageByProvider(provider, cursor, size));
+    }
+
+    @GetMapping(value = "/provider/{provider}/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamCostRecordsByProvider(@PathVariable String provider) {
+        return ndjson(sink -> costRecordService.streamCostRecordsByProvider(provider, sink));
     }
 
     @GetMapping("/service/{service}")
-    public ResponseEntity<List<CostRecordResponse>> getCostRecordsByService(@PathVariable String service) {
-        List<CostRecordResponse> records = costRecordService.getCostRecordsByService(service);
-        return ResponseEntity.ok(records);
+    public ResponseEntity<List<CostRecordResponse>> getCostRecordsByService(@PathVariable String service,
+                                                                            WebRequest webRequest) {
+        return versioned(webRequest, () -> costRecordService.getCostRecordsByService(service));
+    }
+
+    @GetMapping("/service/{service}/page")
+    public ResponseEntity<CostRecordPage> getCostRecordPageByService(
+            @PathVariable String service,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int size,
+            WebRequest webRequest) {
+        return versioned(webRequest, () -> costRecordService.getCostRecordPageByService(service, cursor, size));
+    }
+
+    @GetMapping(value = "/service/{service}/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamCostRecordsByService(@PathVariable String service) {
+        return ndjson(sink -> costRecordService.streamCostRecordsByService(service, sink));
     }
 
     @GetMapping("/date-range")
     public ResponseEntity<List<CostRecordResponse>> getCostRecordsByDateRange(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            WebRequest webRequest) {
+        return versioned(webRequest, () -> costRecordService.getCostRecordsByDateRange(startDate, endDate));
+    }
+
+    @GetMapping("/date-range/page")
+    public ResponseEntity<CostRecordPage> getCostRecordPageByDateRange(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int size,
+            WebRequest webRequest) {
+        return versioned(webRequest,
+                () -> costRecordService.getCostRecordPageByDateRange(startDate, endDate, cursor, size));
+    }
+
+    @GetMapping(value = "/date-range/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamCostRecordsByDateRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
-        List<CostRecordResponse> records = costRecordService.getCostRecordsByDateRange(startDate, endDate);
-        return ResponseEntity.ok(records);
+        return ndjson(sink -> costRecordService.streamCostRecordsByDateRange(startDate, endDate, sink));
     }
 
     @GetMapping("/summary")
-    public ResponseEntity<CostSummaryResponse> getCostSummary() {
-        CostSummaryResponse summary = costRecordService.getCostSummary();
-        return ResponseEntity.ok(summary);
+    public ResponseEntity<CostSummaryResponse> getCostSummary(WebRequest webRequest) {
+        return versioned(webRequest, costRecordService::getCostSummary);
+    }
+
+    @GetMapping("/summary/date-range")
+    public ResponseEntity<CostSummaryResponse> getCostSummaryByDateRange(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            WebRequest webRequest) {
+        return versioned(webRequest, () -> costRecordService.getCostSummaryByDateRange(startDate, endDate));
+    }
+
+    @GetMapping("/aggregate")
+    public ResponseEntity<CostAggregateResponse> aggregateCosts(CostAggregateRequest request, WebRequest webRequest) {
+        return versioned(webRequest, () -> costAggregateService.aggregate(request));
+    }
+
+    @GetMapping("/anomalies")
+    public ResponseEntity<List<CostAnomalyResponse>> getAnomalies(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate since,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(costAnomalyService.getAnomalies(since, limit));
     }
 
     @DeleteMapping("/{id}")
@@ -71,4 +210,32 @@ public class CostRecordController {
         costRecordService.deleteCostRecord(id);
         return ResponseEntity.noContent().build();
     }
+
+    // On a match with the latest version the response is a 304 and the supplier never runs: no query,
+    // no mapping, no serialization. Otherwise the body is tagged with the version its own transaction
+    // read first (see CostDataVersion), so the tag never claims more than the body holds.
+    // no-cache makes browsers revalidate every time instead of guessing how long the data stays fresh
+    private <T> ResponseEntity<T> versioned(WebRequest webRequest, Supplier<T> body) {
+        if (webRequest.checkNotModified(costDataVersion.eTag())) {
+            return null;
+        }
+        CostDataVersion.Versioned<T> versioned = costDataVersion.read(body);
+        return ResponseEntity.ok()
+                .eTag(versioned.eTag())
+                .cacheControl(CacheControl.noCache())
+                .body(versioned.body());
+    }
+
+    // Writes one JSON document per line as rows come off the database cursor
+    private ResponseEntity<StreamingResponseBody> ndjson(Consumer<Consumer<CostRecordResponse>> producer) {
+        StreamingResponseBody body = out -> producer.accept(record -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(record));
+                out.write('\n');
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,32 @@
+package finops.cost_service.controller;
+
+import finops.cost_service.dto.RollupRebuildResponse;
+import finops.cost_service.service.DailyCostRollupService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/costs/rollup")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class DailyCostRollupController {
+
+    private final DailyCostRollupService dailyCostRollupService;
+
+    @PostMapping("/rebuild")
+    public ResponseEntity<RollupRebuildResponse> rebuild(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        if (startDate == null || endDate == null) {
+            return ResponseEntity.ok(dailyCostRollupService.rebuildAll());
+        }
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("endDate must not be before startDate");
+        }
+        return ResponseEntity.ok(dailyCostRollupService.rebuild(startDate, endDate));
+    }
+}
@@ -0,0 +1,32 @@
+package finops.cost_service.controller;
+
+import finops.cost_service.dto.FxRateBatchRequest;
+import finops.cost_service.dto.FxRateResponse;
+import finops.cost_service.dto.FxRateUpdateResponse;
+import finops.cost_service.service.FxRateService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/fx-rates")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class FxRateController {
+
+    private final FxRateService fxRateService;
+
+    @GetMapping
+    public ResponseEntity<List<FxRateResponse>> getRates(@RequestParam(required = false) String currency) {
+        return ResponseEntity.ok(fxRateService.getRates(currency));
+    }
+
+    // Adds or replaces rates; records in those currencies are converted again from the earliest new rate on
+    @PutMapping
+    public ResponseEntity<FxRateUpdateResponse> saveRates(@Valid @RequestBody FxRateBatchRequest request) {
+        return ResponseEntity.ok(fxRateService.saveRates(request.getRates()));
+    }
+}
@@ -0,0 +1,19 @@
+package finops.cost_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetBurnResponse {
+    private LocalDate asOf;
+    private LocalDate monthEnd;
+    private String method;
+    private String currency;
+    private List<BudgetStatus> budgets;
+}
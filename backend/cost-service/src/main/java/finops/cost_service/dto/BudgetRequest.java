@@ -0,0 +1,27 @@
+package finops.cost_service.dto;
+
+import finops.cost_service.entity.Budget;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetRequest {
+
+    @NotNull(message = "Scope is required")
+    private Budget.Scope scope;
+
+    @NotBlank(message = "Scope value is required")
+    private String scopeValue;
+
+    @NotNull(message = "Monthly amount is required")
+    @Positive(message = "Monthly amount must be positive")
+    private BigDecimal monthlyAmount;
+}
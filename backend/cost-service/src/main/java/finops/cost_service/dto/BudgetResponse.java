@@ -0,0 +1,20 @@
+package finops.cost_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetResponse {
+    private Long id;
+    private String scope;
+    private String scopeValue;
+    private BigDecimal monthlyAmount;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
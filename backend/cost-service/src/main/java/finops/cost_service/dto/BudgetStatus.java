@@ -0,0 +1,29 @@
+package finops.cost_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetStatus {
+
+    public enum State {
+        ON_TRACK,    // the month-end forecast stays within the budget
+        AT_RISK,     // spend so far is within the budget, the forecast is not
+        OVER_BUDGET  // spend so far already exceeds it
+    }
+
+    private Long budgetId;
+    private String scope;
+    private String scopeValue;
+    private BigDecimal monthlyAmount;
+    private BigDecimal monthToDate;
+    private BigDecimal forecast;
+    private BigDecimal percentUsed;
+    private BigDecimal percentForecast;
+    private State state;
+}
@@ -0,0 +1,15 @@
+package finops.cost_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkIngestError {
+    private long index; // zero-based position of the record in the request body
+    private Map<String, String> errors;
+}
@@ -0,0 +1,22 @@
+package finops.cost_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkIngestResponse {
+    private String mode;
+    private long received;
+    private long inserted;
+    private long updated;   // UPSERT only: existing rows whose values changed
+    private long unchanged; // UPSERT only: records identical to a stored row or repeated within the request
+    private long rejected;
+    private List<BulkIngestError> errors; // capped at finops.ingest.max-reported-errors
+    private long elapsedMillis;
+    private double rowsPerSecond;
+}
@@ -0,0 +1,17 @@
+package finops.cost_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CostAggregateGroup {
+    private Map<String, String> dimensions;
+    private BigDecimal totalCost;
+    private Long recordCount;
+}
@@ -0,0 +1,28 @@
+package finops.cost_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Bound from query parameters, e.g. ?groupBy=provider,month&environment=production&startDate=2025-01-01
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CostAggregateRequest {
+    private List<String> groupBy;
+    private List<String> provider;
+    private List<String> service;
+    private List<String> account;
+    private List<String> department;
+    private List<String> environment;
+    private List<String> region;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate startDate;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate endDate;
+    private Integer limit;
+}
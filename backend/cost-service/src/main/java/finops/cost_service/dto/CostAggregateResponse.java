@@ -0,0 +1,21 @@
+package finops.cost_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CostAggregateResponse {
+    private List<String> groupBy;
+    private List<CostAggregateGroup> groups;
+    private BigDecimal totalCost;
+    private String currency;
+    private Long totalRecords;
+    private Long totalGroups;
+    private boolean truncated;
+}
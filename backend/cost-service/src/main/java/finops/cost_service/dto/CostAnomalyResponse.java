@@ -0,0 +1,25 @@
+package finops.cost_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CostAnomalyResponse {
+    private String cloudProvider;
+    private String accountId;       // "" when the records have no account
+    private String serviceName;
+    private LocalDate day;
+    private BigDecimal actualCost;  // the day's total so far
+    private BigDecimal expectedCost; // EWMA of earlier days; null until the series has enough history
+    private BigDecimal previousDayCost;
+    private Double deviations;      // (actual - expected) in EWMA standard deviations
+    private Double dayOverDayRatio; // actual / previous day
+    private List<String> reasons;   // DEVIATION, DAY_OVER_DAY
+}
@@ -0,0 +1,25 @@
+package finops.cost_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// One committed change, as pushed to /api/costs/feed clients
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CostFeedEvent {
+    private long addedCount;
+    private long removedCount;
+    // The added records and removed ids, unless recordsTruncated: then clients re-fetch the record list
+    private List<CostRecordResponse> added;
+    private List<Long> removedIds;
+    private boolean recordsTruncated;
+    // Amounts to add to the current summary; always complete
+    private CostSummaryResponse summaryDelta;
+    // Version of the cost data the change committed as, null if unknown. Responses tagged with this
+    // version or a later one (ETag) already include it
+    private Long dataVersion;
+}
@@ -0,0 +1,25 @@
+package finops.cost_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CostForecastResponse {
+    private String groupBy;
+    private String method;
+    private LocalDate asOf;
+    private LocalDate monthEnd;
+    private String currency;
+    private BigDecimal monthToDate;
+    private BigDecimal forecast;
+    private List<CostSeriesForecast> series;
+    private Long totalSeries;
+    private boolean truncated;
+}
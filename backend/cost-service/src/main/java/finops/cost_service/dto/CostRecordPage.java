@@ -0,0 +1,15 @@
+package finops.cost_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CostRecordPage {
+    private List<CostRecordResponse> items;
+    private String nextCursor; // null when there are no more records
+}
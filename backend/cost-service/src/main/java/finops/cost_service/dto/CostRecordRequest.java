@@ -1,8 +1,10 @@
 package finops.cost_service.dto;
 
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -16,30 +18,40 @@ import java.time.LocalDateTime;
 public class CostRecordRequest {
 
     @NotBlank(message = "Cloud provider is required")
+    @Size(max = 255, message = "Cloud provider must be at most 255 characters")
     private String cloudProvider;
 
     @NotBlank(message = "Service name is required")
+    @Size(max = 255, message = "Service name must be at most 255 characters")
     private String serviceName;
 
     @NotBlank(message = "Resource ID is required")
+    @Size(max = 255, message = "Resource ID must be at most 255 characters")
     private String resourceId;
 
     @NotBlank(message = "Resource name is required")
+    @Size(max = 255, message = "Resource name must be at most 255 characters")
     private String resourceName;
 
     @NotNull(message = "Cost is required")
     @Positive(message = "Cost must be positive")
+    @Digits(integer = 8, fraction = 2, message = "Cost must have at most 8 digits before the decimal point and 2 after")
     private BigDecimal cost;
 
     @NotBlank(message = "Currency is required")
+    @Size(max = 255, message = "Currency must be at most 255 characters")
     private String currency;
 
+    @Size(max = 255, message = "Region must be at most 255 characters")
     private String region;
 
+    @Size(max = 255, message = "Account ID must be at most 255 characters")
     private String accountId;
 
+    @Size(max = 255, message = "Department must be at most 255 characters")
     private String department;
 
+    @Size(max = 255, message = "Environment must be at most 255 characters")
     private String environment;
 
     @NotNull(message = "Usage date is required")
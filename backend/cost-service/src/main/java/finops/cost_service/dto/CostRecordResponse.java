@@ -18,6 +18,7 @@ public class CostRecordResponse {
     private String resourceName;
     private BigDecimal cost;
     private String currency;
+    private BigDecimal costUsd;
     private String region;
     private String accountId;
     private String department;
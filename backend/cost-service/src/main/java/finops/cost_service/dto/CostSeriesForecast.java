@@ -0,0 +1,17 @@
+package finops.cost_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CostSeriesForecast {
+    private String value; // null for records without this dimension
+    private BigDecimal monthToDate;
+    private BigDecimal projectedRemaining;
+    private BigDecimal forecast;
+}
@@ -0,0 +1,18 @@
+package finops.cost_service.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FxRateBatchRequest {
+
+    @NotEmpty(message = "At least one rate is required")
+    private List<@Valid FxRateRequest> rates;
+}
@@ -0,0 +1,29 @@
+package finops.cost_service.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FxRateRequest {
+
+    @NotNull(message = "Currency is required")
+    @Pattern(regexp = "[A-Za-z]{3}", message = "Currency must be a three-letter ISO 4217 code")
+    private String currency;
+
+    @NotNull(message = "Rate date is required")
+    private LocalDate rateDate;
+
+    // USD for one unit of the currency, e.g. 1.0842 for EUR
+    @NotNull(message = "USD rate is required")
+    @Positive(message = "USD rate must be positive")
+    private BigDecimal usdRate;
+}
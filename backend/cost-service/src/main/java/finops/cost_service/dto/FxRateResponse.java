@@ -0,0 +1,17 @@
+package finops.cost_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FxRateResponse {
+    private String currency;
+    private LocalDate rateDate;
+    private BigDecimal usdRate;
+}
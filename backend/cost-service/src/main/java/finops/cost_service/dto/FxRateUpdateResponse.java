@@ -0,0 +1,18 @@
+package finops.cost_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FxRateUpdateResponse {
+    private int rates;
+    private long convertedRecords; // cost records whose USD cost was recomputed
+    private LocalDate startDate;   // usage days of the converted records; null when there were none
+    private LocalDate endDate;
+    private long elapsedMillis;
+}
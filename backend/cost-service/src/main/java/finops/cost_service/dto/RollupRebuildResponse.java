@@ -0,0 +1,17 @@
+package finops.cost_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RollupRebuildResponse {
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private long groups; // rollup rows written
+    private long elapsedMillis;
+}
@@ -0,0 +1,64 @@
+package finops.cost_service.entity;
+
+import finops.cost_service.repository.CostDimension;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "budgets")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Budget {
+
+    public enum Scope {
+        ACCOUNT(CostDimension.ACCOUNT),
+        DEPARTMENT(CostDimension.DEPARTMENT);
+
+        private final CostDimension dimension;
+
+        Scope(CostDimension dimension) {
+            this.dimension = dimension;
+        }
+
+        public CostDimension dimension() {
+            return dimension;
+        }
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Scope scope;
+
+    @Column(nullable = false)
+    private String scopeValue; // account id or department name
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal monthlyAmount;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -4,11 +4,15 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "cost_records")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE) // only used when the second-level cache is enabled (prod profile)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -36,6 +40,9 @@ public class CostRecord {
     @Column(nullable = false)
     private String currency; // USD, EUR, etc.
 
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal costUsd; // cost converted at ingest (CurrencyNormalizer); what every total adds up
+
     private String region;
 
     private String accountId;
@@ -0,0 +1,28 @@
+package finops.cost_service.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Entity
+@Table(name = "daily_cost_rollup")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyCostRollup {
+
+    @EmbeddedId
+    private DailyCostRollupKey id; // day, provider, service, account, department, environment, region
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalCost;
+
+    @Column(nullable = false)
+    private Long recordCount;
+}
@@ -0,0 +1,56 @@
+package finops.cost_service.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyCostRollupKey implements Serializable {
+
+    // Optional dimensions are stored as '' rather than NULL so they can be part of the primary key
+    public static final String UNASSIGNED = "";
+
+    @Column(nullable = false)
+    private LocalDate usageDay;
+
+    @Column(nullable = false)
+    private String cloudProvider;
+
+    @Column(nullable = false)
+    private String serviceName;
+
+    @Column(nullable = false)
+    private String accountId;
+
+    @Column(nullable = false)
+    private String department;
+
+    @Column(nullable = false)
+    private String environment;
+
+    @Column(nullable = false)
+    private String region;
+
+    public static DailyCostRollupKey of(CostRecord costRecord) {
+        return new DailyCostRollupKey(
+                costRecord.getUsageDate().toLocalDate(),
+                costRecord.getCloudProvider(),
+                costRecord.getServiceName(),
+                orUnassigned(costRecord.getAccountId()),
+                orUnassigned(costRecord.getDepartment()),
+                orUnassigned(costRecord.getEnvironment()),
+                orUnassigned(costRecord.getRegion()));
+    }
+
+    private static String orUnassigned(String value) {
+        return value != null ? value : UNASSIGNED;
+    }
+}
@@ -0,0 +1,25 @@
+package finops.cost_service.event;
+
+import finops.cost_service.entity.CostRecord;
+
+import java.util.List;
+
+/**
+ * Published inside the transaction that added or removed cost records; listeners that react to
+ * committed data use {@code @TransactionalEventListener}.
+ */
+public record CostDataChangedEvent(List<CostRecord> added, List<CostRecord> removed) {
+
+    public static CostDataChangedEvent added(List<CostRecord> records) {
+        return new CostDataChangedEvent(List.copyOf(records), List.of());
+    }
+
+    public static CostDataChangedEvent removed(List<CostRecord> records) {
+        return new CostDataChangedEvent(List.of(), List.copyOf(records));
+    }
+
+    // Upserts: the new versions of rows are added, the versions they overwrote are removed
+    public static CostDataChangedEvent replaced(List<CostRecord> added, List<CostRecord> removed) {
+        return new CostDataChangedEvent(List.copyOf(added), List.copyOf(removed));
+    }
+}
@@ -0,0 +1,6 @@
+package finops.cost_service.event;
+
+import java.time.LocalDate;
+
+public record DailyCostRollupRebuiltEvent(LocalDate startDate, LocalDate endDate) {
+}
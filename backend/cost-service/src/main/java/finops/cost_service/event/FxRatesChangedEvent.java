@@ -0,0 +1,9 @@
+package finops.cost_service.event;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+// Rates were stored for these currencies and their records converted again from startDate on;
+// startDate is null when none of their records was affected
+public record FxRatesChangedEvent(Set<String> currencies, LocalDate startDate) {
+}
@@ -0,0 +1,13 @@
+package finops.cost_service.repository;
+
+import finops.cost_service.entity.Budget;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface BudgetRepository extends JpaRepository<Budget, Long> {
+
+    List<Budget> findAllByOrderByScopeAscScopeValueAsc();
+}
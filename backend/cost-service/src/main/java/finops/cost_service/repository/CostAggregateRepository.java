@@ -0,0 +1,93 @@
+package finops.cost_service.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Compiles a group-by request into one aggregate over daily_cost_rollup, so the result
+// size is the number of groups no matter how many raw rows sit underneath.
+@Repository
+@RequiredArgsConstructor
+public class CostAggregateRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public record Row(List<String> dimensionValues, BigDecimal totalCost, long recordCount,
+                      BigDecimal overallCost, long overallRecordCount, long groupCount) {
+    }
+
+    public List<Row> aggregate(List<CostDimension> groupBy, Map<CostDimension, List<String>> filters,
+                               LocalDate startDay, LocalDate endDay, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        StringBuilder sql = new StringBuilder("SELECT ");
+        for (int i = 0; i < groupBy.size(); i++) {
+            sql.append(groupBy.get(i).selectExpression()).append(" AS d").append(i).append(", ");
+        }
+        // Window totals over the grouped rows so a truncated result still reports the full picture
+        sql.append("COALESCE(SUM(total_cost), 0) AS total_cost, COALESCE(SUM(record_count), 0) AS record_count, ")
+                .append("COALESCE(SUM(SUM(total_cost)) OVER (), 0) AS overall_cost, ")
+                .append("COALESCE(SUM(SUM(record_count)) OVER (), 0) AS overall_record_count, ")
+                .append("COUNT(*) OVER () AS group_count ")
+                .append("FROM daily_cost_rollup WHERE 1 = 1");
+
+        if (startDay != null) {
+            sql.append(" AND usage_day >= :startDay");
+            params.addValue("startDay", startDay);
+        }
+        if (endDay != null) {
+            sql.append(" AND usage_day <= :endDay");
+            params.addValue("endDay", endDay);
+        }
+        filters.forEach((dimension, values) -> {
+            sql.append(" AND ").append(dimension.column()).append(" IN (:").append(dimension.parameterName()).append(')');
+            params.addValue(dimension.parameterName(), values);
+        });
+
+        if (!groupBy.isEmpty()) {
+            sql.append(" GROUP BY ");
+            appendPositions(sql, groupBy.size());
+        }
+
+        // Time buckets read best in chronological order, everything else biggest spend first
+        List<String> orderBy = new ArrayList<>();
+        for (int i = 0; i < groupBy.size(); i++) {
+            if (groupBy.get(i).isTimeBucket()) {
+                orderBy.add("d" + i);
+            }
+        }
+        orderBy.add("total_cost DESC");
+        for (int i = 0; i < groupBy.size(); i++) {
+            if (!groupBy.get(i).isTimeBucket()) {
+                orderBy.add("d" + i);
+            }
+        }
+        sql.append(" ORDER BY ").append(String.join(", ", orderBy)).append(" LIMIT :limit");
+        params.addValue("limit", limit);
+
+        return jdbcTemplate.query(sql.toString(), params, (rs, rowNum) -> {
+            List<String> dimensionValues = new ArrayList<>(groupBy.size());
+            for (int i = 0; i < groupBy.size(); i++) {
+                dimensionValues.add(rs.getString("d" + i));
+            }
+            return new Row(dimensionValues,
+                    rs.getBigDecimal("total_cost"),
+                    rs.getLong("record_count"),
+                    rs.getBigDecimal("overall_cost"),
+                    rs.getLong("overall_record_count"),
+                    rs.getLong("group_count"));
+        });
+    }
+
+    private static void appendPositions(StringBuilder sql, int count) {
+        for (int i = 1; i <= count; i++) {
+            sql.append(i).append(i < count ? ", " : "");
+        }
+    }
+}
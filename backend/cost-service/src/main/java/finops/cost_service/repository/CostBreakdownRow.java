@@ -0,0 +1,17 @@
+package finops.cost_service.repository;
+
+import java.math.BigDecimal;
+
+public interface CostBreakdownRow {
+
+    // GROUPING(cloud_provider, service_name): 1 = per provider, 2 = per service, 3 = grand total
+    Integer getGroupingId();
+
+    String getCloudProvider();
+
+    String getServiceName();
+
+    BigDecimal getTotalCost();
+
+    Long getRecordCount();
+}
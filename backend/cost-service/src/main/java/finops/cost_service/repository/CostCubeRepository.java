@@ -0,0 +1,43 @@
+package finops.cost_service.repository;
+
+import finops.cost_service.entity.DailyCostRollupKey;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.function.Consumer;
+
+// Reads daily_cost_rollup for the in-memory cost cube: the same rows the aggregate query runs over,
+// so both answer alike, including for months whose raw records retention has already removed
+@Repository
+@RequiredArgsConstructor
+public class CostCubeRepository {
+
+    private static final int FETCH_SIZE = 10_000;
+
+    private static final String ROWS_SQL = "SELECT usage_day, cloud_provider, service_name, account_id, "
+            + "department, environment, region, total_cost, record_count FROM daily_cost_rollup WHERE usage_day >= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Must run inside a transaction so PostgreSQL honours the fetch size
+    public void forEachRow(LocalDate fromDay, Consumer<DailyCostRollupWriter.Delta> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(ROWS_SQL);
+            ps.setFetchSize(FETCH_SIZE);
+            ps.setObject(1, fromDay);
+            return ps;
+        }, (RowCallbackHandler) rs -> consumer.accept(new DailyCostRollupWriter.Delta(
+                new DailyCostRollupKey(rs.getObject(1, LocalDate.class), rs.getString(2), rs.getString(3),
+                        rs.getString(4), rs.getString(5), rs.getString(6), rs.getString(7)),
+                rs.getBigDecimal(8), rs.getLong(9))));
+    }
+
+    public boolean hasRowsBefore(LocalDate day) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM daily_cost_rollup WHERE usage_day < ?)", Boolean.class, day));
+    }
+}
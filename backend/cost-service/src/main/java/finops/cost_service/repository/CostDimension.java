@@ -0,0 +1,58 @@
+package finops.cost_service.repository;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+// Everything the aggregate endpoint can group by. The SQL expressions are fixed here, so
+// user input only ever selects an enum constant and never reaches the query text.
+public enum CostDimension {
+    PROVIDER("cloud_provider"),
+    SERVICE("service_name"),
+    ACCOUNT("account_id"),
+    DEPARTMENT("department"),
+    ENVIRONMENT("environment"),
+    REGION("region"),
+    DAY(null),
+    WEEK(null),
+    MONTH(null);
+
+    // daily_cost_rollup column, null for the time buckets
+    private final String column;
+
+    CostDimension(String column) {
+        this.column = column;
+    }
+
+    public String parameterName() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public boolean isTimeBucket() {
+        return column == null;
+    }
+
+    String column() {
+        return column;
+    }
+
+    // Missing dimensions are stored as '' in the rollup, report them as null again
+    String selectExpression() {
+        return switch (this) {
+            case DAY -> "usage_day";
+            case WEEK -> "CAST(date_trunc('week', usage_day) AS date)";
+            case MONTH -> "CAST(date_trunc('month', usage_day) AS date)";
+            default -> "NULLIF(" + column + ", '')";
+        };
+    }
+
+    public static CostDimension fromParameter(String value) {
+        return Arrays.stream(values())
+                .filter(dimension -> dimension.parameterName().equalsIgnoreCase(value.trim()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown dimension '" + value
+                        + "', expected one of " + Arrays.stream(values())
+                        .map(CostDimension::parameterName)
+                        .collect(Collectors.joining(", "))));
+    }
+}
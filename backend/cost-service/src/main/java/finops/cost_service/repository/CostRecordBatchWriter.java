@@ -0,0 +1,264 @@
+package finops.cost_service.repository;
+
+import finops.cost_service.entity.CostRecord;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+@Repository
+@RequiredArgsConstructor
+public class CostRecordBatchWriter {
+
+    private static final String COLUMNS = "cloud_provider, service_name, resource_id, resource_name, cost, currency, "
+            + "region, account_id, department, environment, usage_date, cost_usd, created_at";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO cost_records (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String COPY_SQL = "COPY cost_records (" + COLUMNS + ") FROM STDIN WITH (FORMAT csv)";
+
+    // Columns of uq_cost_records_natural_key; a billing export line is identified by these
+    private static final String NATURAL_KEY = "resource_id, usage_date, service_name, cloud_provider, account_id";
+
+    // Whole batches travel as one array per column, so each statement is a single round trip
+    private static final String LOCK_EXISTING_SQL = "SELECT c.id, c.cloud_provider, c.service_name, c.resource_id, "
+            + "c.resource_name, c.cost, c.currency, c.region, c.account_id, c.department, c.environment, "
+            + "c.usage_date, c.created_at, c.cost_usd FROM cost_records c "
+            + "JOIN unnest(CAST(? AS text[]), CAST(? AS text[])::timestamp[], CAST(? AS text[]), CAST(? AS text[]), "
+            + "CAST(? AS text[])) AS k(" + NATURAL_KEY + ") "
+            + "ON c.resource_id = k.resource_id AND c.usage_date = k.usage_date AND c.service_name = k.service_name "
+            + "AND c.cloud_provider = k.cloud_provider AND c.account_id IS NOT DISTINCT FROM k.account_id "
+            + "FOR UPDATE OF c";
+
+    private static final String INSERT_NEW_SQL = "INSERT INTO cost_records (" + COLUMNS + ") "
+            + "SELECT n.*, ? FROM unnest(CAST(? AS text[]), CAST(? AS text[]), CAST(? AS text[]), CAST(? AS text[]), "
+            + "CAST(? AS text[])::numeric[], CAST(? AS text[]), CAST(? AS text[]), CAST(? AS text[]), "
+            + "CAST(? AS text[]), CAST(? AS text[]), CAST(? AS text[])::timestamp[], CAST(? AS text[])::numeric[]) AS n "
+            + "ON CONFLICT (" + NATURAL_KEY + ") DO NOTHING";
+
+    private static final String UPDATE_CHANGED_SQL = "UPDATE cost_records c SET resource_name = n.resource_name, "
+            + "cost = n.cost, currency = n.currency, region = n.region, department = n.department, "
+            + "environment = n.environment, cost_usd = n.cost_usd "
+            + "FROM unnest(CAST(? AS bigint[]), CAST(? AS text[])::timestamp[], CAST(? AS text[]), "
+            + "CAST(? AS text[])::numeric[], CAST(? AS text[]), CAST(? AS text[]), CAST(? AS text[]), "
+            + "CAST(? AS text[]), CAST(? AS text[])::numeric[]) "
+            + "AS n(id, usage_date, resource_name, cost, currency, region, department, environment, cost_usd) "
+            + "WHERE c.id = n.id AND c.usage_date = n.usage_date";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Outcome of {@link #upsert}: the rows written with their new values, and the previous versions of
+     * {@code updated} so callers can reverse what those rows contributed before.
+     */
+    public record UpsertResult(List<CostRecord> inserted, List<CostRecord> updated, List<CostRecord> replaced) {
+
+        public List<CostRecord> written() {
+            List<CostRecord> written = new ArrayList<>(inserted.size() + updated.size());
+            written.addAll(inserted);
+            written.addAll(updated);
+            return written;
+        }
+    }
+
+    public int insert(List<CostRecord> records) {
+        LocalDateTime createdAt = LocalDateTime.now();
+        jdbcTemplate.batchUpdate(INSERT_SQL, records, records.size(), (ps, record) -> {
+            ps.setString(1, record.getCloudProvider());
+            ps.setString(2, record.getServiceName());
+            ps.setString(3, record.getResourceId());
+            ps.setString(4, record.getResourceName());
+            ps.setBigDecimal(5, record.getCost());
+            ps.setString(6, record.getCurrency());
+            ps.setString(7, record.getRegion());
+            ps.setString(8, record.getAccountId());
+            ps.setString(9, record.getDepartment());
+            ps.setString(10, record.getEnvironment());
+            ps.setObject(11, record.getUsageDate());
+            ps.setBigDecimal(12, record.getCostUsd());
+            ps.setObject(13, createdAt);
+        });
+        return records.size();
+    }
+
+    public int copy(List<CostRecord> records) {
+        LocalDateTime createdAt = LocalDateTime.now();
+        StringBuilder csv = new StringBuilder(records.size() * 192);
+        for (CostRecord record : records) {
+            appendField(csv, record.getCloudProvider()).append(',');
+            appendField(csv, record.getServiceName()).append(',');
+            appendField(csv, record.getResourceId()).append(',');
+            appendField(csv, record.getResourceName()).append(',');
+            csv.append(record.getCost().toPlainString()).append(',');
+            appendField(csv, record.getCurrency()).append(',');
+            appendField(csv, record.getRegion()).append(',');
+            appendField(csv, record.getAccountId()).append(',');
+            appendField(csv, record.getDepartment()).append(',');
+            appendField(csv, record.getEnvironment()).append(',');
+            csv.append(record.getUsageDate()).append(',');
+            csv.append(record.getCostUsd().toPlainString()).append(',');
+            csv.append(createdAt).append('\n');
+        }
+
+        Long copied = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try {
+                return connection.unwrap(PGConnection.class).getCopyAPI()
+                        .copyIn(COPY_SQL, new StringReader(csv.toString()));
+            } catch (IOException ex) {
+                throw new DataAccessResourceFailureException("COPY into cost_records failed", ex);
+            }
+        });
+        return copied != null ? copied.intValue() : 0;
+    }
+
+    /**
+     * Inserts records whose natural key is new and updates those whose values changed; rows identical
+     * to what is stored are left alone, so replaying an export writes nothing. Later records win over
+     * earlier ones with the same key. Must run in a transaction: existing rows stay locked until it ends.
+     *
+     * @throws ConcurrencyFailureException if another transaction inserted one of the keys in the meantime;
+     *                                     the transaction should be rolled back and retried
+     */
+    public UpsertResult upsert(List<CostRecord> records) {
+        Map<NaturalKey, CostRecord> latest = new LinkedHashMap<>();
+        records.forEach(record -> latest.put(NaturalKey.of(record), record));
+        List<CostRecord> unique = new ArrayList<>(latest.values());
+
+        Map<NaturalKey, CostRecord> existing = new HashMap<>();
+        lockExisting(unique).forEach(record -> existing.put(NaturalKey.of(record), record));
+
+        List<CostRecord> inserted = new ArrayList<>();
+        List<CostRecord> updated = new ArrayList<>();
+        List<CostRecord> replaced = new ArrayList<>();
+        for (CostRecord record : unique) {
+            CostRecord previous = existing.get(NaturalKey.of(record));
+            if (previous == null) {
+                inserted.add(record);
+            } else if (!sameValues(previous, record)) {
+                record.setId(previous.getId());
+                record.setCreatedAt(previous.getCreatedAt());
+                updated.add(record);
+                replaced.add(previous);
+            }
+        }
+
+        if (!inserted.isEmpty()) {
+            int rows = insertNew(inserted);
+            if (rows != inserted.size()) {
+                throw new ConcurrencyFailureException((inserted.size() - rows)
+                        + " cost records were inserted by a concurrent transaction");
+            }
+        }
+        if (!updated.isEmpty()) {
+            updateChanged(updated);
+        }
+        return new UpsertResult(inserted, updated, replaced);
+    }
+
+    private List<CostRecord> lockExisting(List<CostRecord> records) {
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(LOCK_EXISTING_SQL);
+            ps.setArray(1, textArray(connection, records, CostRecord::getResourceId));
+            ps.setArray(2, textArray(connection, records, CostRecord::getUsageDate));
+            ps.setArray(3, textArray(connection, records, CostRecord::getServiceName));
+            ps.setArray(4, textArray(connection, records, CostRecord::getCloudProvider));
+            ps.setArray(5, textArray(connection, records, CostRecord::getAccountId));
+            return ps;
+        }, (rs, rowNum) -> CostRecordExportRepository.toCostRecord(rs));
+    }
+
+    private int insertNew(List<CostRecord> records) {
+        LocalDateTime createdAt = LocalDateTime.now();
+        records.forEach(record -> record.setCreatedAt(createdAt));
+        return jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(INSERT_NEW_SQL);
+            ps.setObject(1, createdAt);
+            ps.setArray(2, textArray(connection, records, CostRecord::getCloudProvider));
+            ps.setArray(3, textArray(connection, records, CostRecord::getServiceName));
+            ps.setArray(4, textArray(connection, records, CostRecord::getResourceId));
+            ps.setArray(5, textArray(connection, records, CostRecord::getResourceName));
+            ps.setArray(6, textArray(connection, records, record -> record.getCost().toPlainString()));
+            ps.setArray(7, textArray(connection, records, CostRecord::getCurrency));
+            ps.setArray(8, textArray(connection, records, CostRecord::getRegion));
+            ps.setArray(9, textArray(connection, records, CostRecord::getAccountId));
+            ps.setArray(10, textArray(connection, records, CostRecord::getDepartment));
+            ps.setArray(11, textArray(connection, records, CostRecord::getEnvironment));
+            ps.setArray(12, textArray(connection, records, CostRecord::getUsageDate));
+            ps.setArray(13, textArray(connection, records, record -> record.getCostUsd().toPlainString()));
+            return ps;
+        });
+    }
+
+    private void updateChanged(List<CostRecord> records) {
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(UPDATE_CHANGED_SQL);
+            ps.setArray(1, connection.createArrayOf("bigint",
+                    records.stream().map(CostRecord::getId).toArray(Long[]::new)));
+            ps.setArray(2, textArray(connection, records, CostRecord::getUsageDate));
+            ps.setArray(3, textArray(connection, records, CostRecord::getResourceName));
+            ps.setArray(4, textArray(connection, records, record -> record.getCost().toPlainString()));
+            ps.setArray(5, textArray(connection, records, CostRecord::getCurrency));
+            ps.setArray(6, textArray(connection, records, CostRecord::getRegion));
+            ps.setArray(7, textArray(connection, records, CostRecord::getDepartment));
+            ps.setArray(8, textArray(connection, records, CostRecord::getEnvironment));
+            ps.setArray(9, textArray(connection, records, record -> record.getCostUsd().toPlainString()));
+            return ps;
+        });
+    }
+
+    private static boolean sameValues(CostRecord stored, CostRecord incoming) {
+        return stored.getCost().compareTo(incoming.getCost()) == 0
+                && Objects.equals(stored.getResourceName(), incoming.getResourceName())
+                && Objects.equals(stored.getCurrency(), incoming.getCurrency())
+                && Objects.equals(stored.getRegion(), incoming.getRegion())
+                && Objects.equals(stored.getDepartment(), incoming.getDepartment())
+                && Objects.equals(stored.getEnvironment(), incoming.getEnvironment());
+    }
+
+    // Values are sent as text and cast in SQL, which keeps NULLs and the driver's array support simple
+    private static Array textArray(Connection connection, List<CostRecord> records,
+                                   Function<CostRecord, ?> column) throws SQLException {
+        String[] values = new String[records.size()];
+        for (int i = 0; i < values.length; i++) {
+            Object value = column.apply(records.get(i));
+            values[i] = value != null ? value.toString() : null;
+        }
+        return connection.createArrayOf("text", values);
+    }
+
+    private record NaturalKey(String resourceId, LocalDateTime usageDate, String serviceName,
+                              String cloudProvider, String accountId) {
+
+        static NaturalKey of(CostRecord record) {
+            return new NaturalKey(record.getResourceId(), record.getUsageDate(), record.getServiceName(),
+                    record.getCloudProvider(), record.getAccountId());
+        }
+    }
+
+    // CSV: quoted values with embedded quotes doubled; an unquoted empty field is NULL
+    private static StringBuilder appendField(StringBuilder csv, String value) {
+        if (value != null) {
+            csv.append('"').append(value.replace("\"", "\"\"")).append('"');
+        }
+        return csv;
+    }
+}
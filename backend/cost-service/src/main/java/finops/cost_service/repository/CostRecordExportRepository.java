@@ -0,0 +1,67 @@
+package finops.cost_service.repository;
+
+import finops.cost_service.entity.CostRecord;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+// Plain JDBC reads for the columnar export: no persistence context, rows fetched in chunks through a cursor
+@Repository
+@RequiredArgsConstructor
+public class CostRecordExportRepository {
+
+    private static final int FETCH_SIZE = 10_000;
+
+    private static final String SELECT_SQL = "SELECT id, cloud_provider, service_name, resource_id, resource_name, "
+            + "cost, currency, region, account_id, department, environment, usage_date, created_at, cost_usd "
+            + "FROM cost_records WHERE usage_date >= ? AND usage_date < ? ORDER BY usage_date, id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Distinct values of a dimension in the range, read from the much smaller daily rollup.
+    // The rollup stores both NULL and '' as '', so '' stays in: a raw '' needs its entry, a NULL is
+    // written as an Arrow null and leaves it unused.
+    public List<String> findDistinctValues(CostDimension dimension, LocalDate startDay, LocalDate endDay) {
+        return jdbcTemplate.queryForList("SELECT DISTINCT " + dimension.column() + " FROM daily_cost_rollup "
+                + "WHERE usage_day BETWEEN ? AND ?", String.class, startDay, endDay);
+    }
+
+    // Must run inside a transaction, otherwise PostgreSQL ignores the fetch size and buffers every row
+    public void forEachRecord(LocalDateTime from, LocalDateTime toExclusive, Consumer<CostRecord> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(SELECT_SQL);
+            ps.setFetchSize(FETCH_SIZE);
+            ps.setObject(1, from);
+            ps.setObject(2, toExclusive);
+            return ps;
+        }, (RowCallbackHandler) rs -> consumer.accept(toCostRecord(rs)));
+    }
+
+    static CostRecord toCostRecord(ResultSet rs) throws SQLException {
+        CostRecord costRecord = new CostRecord();
+        costRecord.setId(rs.getLong(1));
+        costRecord.setCloudProvider(rs.getString(2));
+        costRecord.setServiceName(rs.getString(3));
+        costRecord.setResourceId(rs.getString(4));
+        costRecord.setResourceName(rs.getString(5));
+        costRecord.setCost(rs.getBigDecimal(6));
+        costRecord.setCurrency(rs.getString(7));
+        costRecord.setRegion(rs.getString(8));
+        costRecord.setAccountId(rs.getString(9));
+        costRecord.setDepartment(rs.getString(10));
+        costRecord.setEnvironment(rs.getString(11));
+        costRecord.setUsageDate(rs.getObject(12, LocalDateTime.class));
+        costRecord.setCreatedAt(rs.getObject(13, LocalDateTime.class));
+        costRecord.setCostUsd(rs.getBigDecimal(14));
+        return costRecord;
+    }
+}
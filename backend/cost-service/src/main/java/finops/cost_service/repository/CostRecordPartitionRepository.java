@@ -0,0 +1,73 @@
+package finops.cost_service.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.YearMonth;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Monthly partitions of cost_records, named cost_records_YYYY_MM (see V3 migration)
+@Repository
+@RequiredArgsConstructor
+public class CostRecordPartitionRepository {
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("cost_records_(\\d{4})_(\\d{2})");
+    private static final Pattern IDENTIFIER = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public String ensurePartition(YearMonth month) {
+        return jdbcTemplate.queryForObject("SELECT ensure_cost_records_partition(?)", String.class, month.atDay(1));
+    }
+
+    public Map<YearMonth, String> findPartitions() {
+        Map<YearMonth, String> partitions = new TreeMap<>();
+        jdbcTemplate.query("""
+                SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+                WHERE i.inhparent = CAST('cost_records' AS regclass)
+                """, rs -> {
+            Matcher matcher = PARTITION_NAME.matcher(rs.getString(1));
+            if (matcher.matches()) {
+                YearMonth month = YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+                partitions.put(month, matcher.group());
+            }
+        });
+        return partitions;
+    }
+
+    // Planner statistics, not COUNT(*): free to read, accurate to within the last ANALYZE/autovacuum
+    public long estimateRowCount() {
+        Long rows = jdbcTemplate.queryForObject("""
+                SELECT CAST(COALESCE(SUM(GREATEST(c.reltuples, 0)), 0) AS BIGINT)
+                FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+                WHERE i.inhparent = CAST('cost_records' AS regclass)
+                """, Long.class);
+        return rows != null ? rows : 0;
+    }
+
+    // Detaching and dropping are catalog changes: O(1) no matter how many rows the month holds
+    public void detach(String partition) {
+        jdbcTemplate.execute("ALTER TABLE cost_records DETACH PARTITION " + identifier(partition));
+    }
+
+    public void drop(String table) {
+        jdbcTemplate.execute("DROP TABLE " + identifier(table));
+    }
+
+    public void moveToSchema(String table, String schema) {
+        jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS " + identifier(schema));
+        jdbcTemplate.execute("ALTER TABLE " + identifier(table) + " SET SCHEMA " + identifier(schema));
+    }
+
+    // Names end up in DDL, which cannot take bind parameters
+    private static String identifier(String name) {
+        if (!IDENTIFIER.matcher(name).matches()) {
+            throw new IllegalArgumentException("Not a plain SQL identifier: " + name);
+        }
+        return "\"" + name + "\"";
+    }
+}
@@ -1,29 +1,80 @@
 package finops.cost_service.repository;
 
 import finops.cost_service.entity.CostRecord;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface CostRecordRepository extends JpaRepository<CostRecord, Long> {
 
+    String STREAM_FETCH_SIZE = "1000";
+
     List<CostRecord> findByCloudProvider(String cloudProvider);
 
     List<CostRecord> findByServiceName(String serviceName);
 
     List<CostRecord> findByUsageDateBetween(LocalDateTime startDate, LocalDateTime endDate);
 
-    @Query("SELECT SUM(c.cost) FROM CostRecord c")
+    // Keyset pagination: seek on (usageDate, id) instead of OFFSET
+    Window<CostRecord> findAllByOrderByUsageDateAscIdAsc(ScrollPosition position, Limit limit);
+
+    Window<CostRecord> findByCloudProviderOrderByUsageDateAscIdAsc(String cloudProvider, ScrollPosition position, Limit limit);
+
+    Window<CostRecord> findByServiceNameOrderByUsageDateAscIdAsc(String serviceName, ScrollPosition position, Limit limit);
+
+    Window<CostRecord> findByUsageDateBetweenOrderByUsageDateAscIdAsc(LocalDateTime startDate, LocalDateTime endDate,
+                                                                      ScrollPosition position, Limit limit);
+
+    // Streaming variants: rows are fetched from the cursor STREAM_FETCH_SIZE at a time
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c FROM CostRecord c ORDER BY c.usageDate, c.id")
+    Stream<CostRecord> streamAll();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c FROM CostRecord c WHERE c.cloudProvider = :cloudProvider ORDER BY c.usageDate, c.id")
+    Stream<CostRecord> streamByCloudProvider(String cloudProvider);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c FROM CostRecord c WHERE c.serviceName = :serviceName ORDER BY c.usageDate, c.id")
+    Stream<CostRecord> streamByServiceName(String serviceName);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c FROM CostRecord c WHERE c.usageDate BETWEEN :startDate AND :endDate ORDER BY c.usageDate, c.id")
+    Stream<CostRecord> streamByUsageDateBetween(LocalDateTime startDate, LocalDateTime endDate);
+
+    @Query("SELECT SUM(c.costUsd) FROM CostRecord c")
     BigDecimal getTotalCost();
 
-    @Query("SELECT SUM(c.cost) FROM CostRecord c WHERE c.cloudProvider = :provider")
+    @Query("SELECT SUM(c.costUsd) FROM CostRecord c WHERE c.cloudProvider = :provider")
     BigDecimal getTotalCostByProvider(String provider);
 
-    @Query("SELECT c.serviceName, SUM(c.cost) FROM CostRecord c GROUP BY c.serviceName")
-    List<Object[]> getCostByService();
+    @Query("SELECT MIN(c.usageDate) FROM CostRecord c")
+    LocalDateTime findEarliestUsageDate();
+
+    @Query("SELECT MAX(c.usageDate) FROM CostRecord c")
+    LocalDateTime findLatestUsageDate();
 }
\ No newline at end of file
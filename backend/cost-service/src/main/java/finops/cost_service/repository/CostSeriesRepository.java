@@ -0,0 +1,60 @@
+package finops.cost_service.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.function.Consumer;
+
+// Daily totals per series, read from the rollup rather than cost_records
+@Repository
+@RequiredArgsConstructor
+public class CostSeriesRepository {
+
+    private static final int FETCH_SIZE = 10_000;
+
+    private static final String DAILY_TOTALS_SQL = "SELECT usage_day, cloud_provider, account_id, service_name, "
+            + "SUM(total_cost) FROM daily_cost_rollup WHERE usage_day >= ? "
+            + "GROUP BY usage_day, cloud_provider, account_id, service_name ORDER BY usage_day";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record DimensionDailyTotal(LocalDate day, String value, BigDecimal totalCost) {
+    }
+
+    public record DailyTotal(LocalDate day, String cloudProvider, String accountId, String serviceName,
+                             BigDecimal totalCost) {
+    }
+
+    // Oldest day first. Must run inside a transaction so PostgreSQL honours the fetch size
+    public void forEachDailyTotal(LocalDate fromDay, Consumer<DailyTotal> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(DAILY_TOTALS_SQL);
+            ps.setFetchSize(FETCH_SIZE);
+            ps.setObject(1, fromDay);
+            return ps;
+        }, (RowCallbackHandler) rs -> consumer.accept(new DailyTotal(rs.getObject(1, LocalDate.class),
+                rs.getString(2), rs.getString(3), rs.getString(4), rs.getBigDecimal(5))));
+    }
+
+    // One series per value of a single dimension; unassigned values come back as ''.
+    // Must run inside a transaction so PostgreSQL honours the fetch size
+    public void forEachDailyTotal(CostDimension dimension, LocalDate fromDay, Consumer<DimensionDailyTotal> consumer) {
+        if (dimension.isTimeBucket()) {
+            throw new IllegalArgumentException("Series cannot be split by " + dimension.parameterName());
+        }
+        String sql = "SELECT usage_day, " + dimension.column() + ", SUM(total_cost) FROM daily_cost_rollup "
+                + "WHERE usage_day >= ? GROUP BY usage_day, " + dimension.column();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql);
+            ps.setFetchSize(FETCH_SIZE);
+            ps.setObject(1, fromDay);
+            return ps;
+        }, (RowCallbackHandler) rs -> consumer.accept(new DimensionDailyTotal(rs.getObject(1, LocalDate.class),
+                rs.getString(2), rs.getBigDecimal(3))));
+    }
+}
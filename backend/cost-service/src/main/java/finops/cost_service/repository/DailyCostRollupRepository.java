@@ -0,0 +1,37 @@
+package finops.cost_service.repository;
+
+import finops.cost_service.entity.DailyCostRollup;
+import finops.cost_service.entity.DailyCostRollupKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailyCostRollupRepository extends JpaRepository<DailyCostRollup, DailyCostRollupKey> {
+
+    @Query(value = """
+            SELECT GROUPING(r.cloud_provider, r.service_name) AS groupingId,
+                   r.cloud_provider AS cloudProvider,
+                   r.service_name AS serviceName,
+                   SUM(r.total_cost) AS totalCost,
+                   COALESCE(SUM(r.record_count), 0) AS recordCount
+            FROM daily_cost_rollup r
+            GROUP BY GROUPING SETS ((r.cloud_provider), (r.service_name), ())
+            """, nativeQuery = true)
+    List<CostBreakdownRow> getCostBreakdown();
+
+    @Query(value = """
+            SELECT GROUPING(r.cloud_provider, r.service_name) AS groupingId,
+                   r.cloud_provider AS cloudProvider,
+                   r.service_name AS serviceName,
+                   SUM(r.total_cost) AS totalCost,
+                   COALESCE(SUM(r.record_count), 0) AS recordCount
+            FROM daily_cost_rollup r
+            WHERE r.usage_day BETWEEN :startDay AND :endDay
+            GROUP BY GROUPING SETS ((r.cloud_provider), (r.service_name), ())
+            """, nativeQuery = true)
+    List<CostBreakdownRow> getCostBreakdownBetween(LocalDate startDay, LocalDate endDay);
+}
@@ -0,0 +1,79 @@
+package finops.cost_service.repository;
+
+import finops.cost_service.entity.DailyCostRollupKey;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class DailyCostRollupWriter {
+
+    private static final String KEY_COLUMNS =
+            "usage_day, cloud_provider, service_name, account_id, department, environment, region";
+
+    private static final String UPSERT_SQL = "INSERT INTO daily_cost_rollup AS r (" + KEY_COLUMNS
+            + ", total_cost, record_count) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?) "
+            + "ON CONFLICT (" + KEY_COLUMNS + ") DO UPDATE SET "
+            + "total_cost = r.total_cost + EXCLUDED.total_cost, "
+            + "record_count = r.record_count + EXCLUDED.record_count";
+
+    private static final String DELETE_EMPTY_SQL = "DELETE FROM daily_cost_rollup WHERE usage_day = ? "
+            + "AND cloud_provider = ? AND service_name = ? AND account_id = ? AND department = ? "
+            + "AND environment = ? AND region = ? AND record_count <= 0";
+
+    private static final String REBUILD_SQL = "INSERT INTO daily_cost_rollup (" + KEY_COLUMNS
+            + ", total_cost, record_count) "
+            + "SELECT CAST(c.usage_date AS date), c.cloud_provider, c.service_name, "
+            + "COALESCE(c.account_id, ''), COALESCE(c.department, ''), COALESCE(c.environment, ''), "
+            + "COALESCE(c.region, ''), SUM(c.cost_usd), COUNT(*) "
+            + "FROM cost_records c WHERE c.usage_date >= ? AND c.usage_date < ? "
+            + "GROUP BY 1, 2, 3, 4, 5, 6, 7";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record Delta(DailyCostRollupKey key, BigDecimal cost, long count) {
+    }
+
+    public void applyDeltas(List<Delta> deltas) {
+        jdbcTemplate.batchUpdate(UPSERT_SQL, deltas, deltas.size(), (ps, delta) -> {
+            setKey(ps, delta.key());
+            ps.setBigDecimal(8, delta.cost());
+            ps.setLong(9, delta.count());
+        });
+
+        List<DailyCostRollupKey> shrunk = new ArrayList<>();
+        deltas.stream().filter(delta -> delta.count() < 0).forEach(delta -> shrunk.add(delta.key()));
+        if (!shrunk.isEmpty()) {
+            jdbcTemplate.batchUpdate(DELETE_EMPTY_SQL, shrunk, shrunk.size(), DailyCostRollupWriter::setKey);
+        }
+    }
+
+    // The lock conflicts with the row locks of applyDeltas and with itself, so rollup writes wait for
+    // the rest of the rebuild's transaction, and the rebuild waits for those already running: a key
+    // upserted between the DELETE and the INSERT would make it fail on a unique violation. Both
+    // statements run after the lock, so they see every record whose delta committed before it
+    public int rebuild(LocalDate startDay, LocalDate endDayExclusive) {
+        jdbcTemplate.execute("LOCK TABLE daily_cost_rollup IN SHARE ROW EXCLUSIVE MODE");
+        jdbcTemplate.update("DELETE FROM daily_cost_rollup WHERE usage_day >= ? AND usage_day < ?",
+                startDay, endDayExclusive);
+        return jdbcTemplate.update(REBUILD_SQL, startDay.atStartOfDay(), endDayExclusive.atStartOfDay());
+    }
+
+    private static void setKey(PreparedStatement ps, DailyCostRollupKey key) throws SQLException {
+        ps.setObject(1, key.getUsageDay());
+        ps.setString(2, key.getCloudProvider());
+        ps.setString(3, key.getServiceName());
+        ps.setString(4, key.getAccountId());
+        ps.setString(5, key.getDepartment());
+        ps.setString(6, key.getEnvironment());
+        ps.setString(7, key.getRegion());
+    }
+}
@@ -0,0 +1,36 @@
+package finops.cost_service.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+// Counters in data_versions; an increment holds the row lock until its transaction ends
+@Repository
+@RequiredArgsConstructor
+public class DataVersionRepository {
+
+    public static final String COST_DATA = "cost_data";
+    public static final String FX_RATES = "fx_rates";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public long current(String name) {
+        Long version = jdbcTemplate.queryForObject("SELECT version FROM data_versions WHERE name = ?",
+                Long.class, name);
+        return version != null ? version : 0;
+    }
+
+    // Waits for a transaction that incremented it, and keeps others from incrementing it until this one ends
+    public long lockShared(String name) {
+        Long version = jdbcTemplate.queryForObject("SELECT version FROM data_versions WHERE name = ? FOR SHARE",
+                Long.class, name);
+        return version != null ? version : 0;
+    }
+
+    // The new version
+    public long increment(String name) {
+        Long version = jdbcTemplate.queryForObject(
+                "UPDATE data_versions SET version = version + 1 WHERE name = ? RETURNING version", Long.class, name);
+        return version != null ? version : 0;
+    }
+}
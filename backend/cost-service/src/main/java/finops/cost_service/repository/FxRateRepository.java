@@ -0,0 +1,87 @@
+package finops.cost_service.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+// Rates into USD per currency (upper-case ISO code) and day; a day without a row uses the latest
+// earlier rate. Records are matched on their currency in any case, as they were ingested
+@Repository
+@RequiredArgsConstructor
+public class FxRateRepository {
+
+    private static final String RATE_ON_OR_BEFORE_SQL = "SELECT usd_rate FROM fx_rates "
+            + "WHERE currency = ? AND rate_date <= ? ORDER BY rate_date DESC LIMIT 1";
+
+    private static final String UPSERT_SQL = "INSERT INTO fx_rates (currency, rate_date, usd_rate) VALUES (?, ?, ?) "
+            + "ON CONFLICT (currency, rate_date) DO UPDATE SET usd_rate = EXCLUDED.usd_rate";
+
+    // Converts the currency's records from a day on again and adds each one's difference to its
+    // daily_cost_rollup row in the same statement. Rows without any rate on or before their day keep the
+    // amount they have. Rollup rows of days no longer in cost_records (see retention) are never touched
+    private static final String CONVERT_SQL = "WITH previous AS ("
+            + "SELECT id, usage_date, cost_usd FROM cost_records WHERE UPPER(currency) = ? AND usage_date >= ?), "
+            + "converted AS (UPDATE cost_records c SET cost_usd = COALESCE(ROUND(c.cost * "
+            + "(SELECT f.usd_rate FROM fx_rates f WHERE f.currency = UPPER(c.currency) "
+            + "AND f.rate_date <= CAST(c.usage_date AS date) ORDER BY f.rate_date DESC LIMIT 1), 2), c.cost_usd) "
+            + "FROM previous p WHERE c.id = p.id AND c.usage_date = p.usage_date "
+            + "RETURNING c.usage_date, c.cloud_provider, c.service_name, c.account_id, c.department, "
+            + "c.environment, c.region, c.cost_usd - p.cost_usd AS difference), "
+            + "rolled_up AS (INSERT INTO daily_cost_rollup AS r (usage_day, cloud_provider, service_name, "
+            + "account_id, department, environment, region, total_cost, record_count) "
+            + "SELECT CAST(usage_date AS date), cloud_provider, service_name, COALESCE(account_id, ''), "
+            + "COALESCE(department, ''), COALESCE(environment, ''), COALESCE(region, ''), SUM(difference), 0 "
+            + "FROM converted GROUP BY 1, 2, 3, 4, 5, 6, 7 HAVING SUM(difference) <> 0 "
+            + "ON CONFLICT (usage_day, cloud_provider, service_name, account_id, department, environment, region) "
+            + "DO UPDATE SET total_cost = r.total_cost + EXCLUDED.total_cost) "
+            + "SELECT COUNT(*), CAST(MIN(usage_date) AS date), CAST(MAX(usage_date) AS date) FROM converted";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record FxRate(String currency, LocalDate rateDate, BigDecimal usdRate) {
+    }
+
+    // Records converted and the first and last of their usage days (null when there were none)
+    public record Conversion(long records, LocalDate firstDay, LocalDate lastDay) {
+    }
+
+    public Optional<BigDecimal> findRateOnOrBefore(String currency, LocalDate day) {
+        return jdbcTemplate.query(RATE_ON_OR_BEFORE_SQL, (rs, rowNum) -> rs.getBigDecimal(1), currency, day)
+                .stream()
+                .findFirst();
+    }
+
+    public List<FxRate> findAll() {
+        return jdbcTemplate.query("SELECT currency, rate_date, usd_rate FROM fx_rates ORDER BY currency, rate_date",
+                FxRateRepository::toFxRate);
+    }
+
+    public List<FxRate> findByCurrency(String currency) {
+        return jdbcTemplate.query("SELECT currency, rate_date, usd_rate FROM fx_rates WHERE currency = ? "
+                + "ORDER BY rate_date", FxRateRepository::toFxRate, currency);
+    }
+
+    public void upsert(List<FxRate> rates) {
+        jdbcTemplate.batchUpdate(UPSERT_SQL, rates, rates.size(), (ps, rate) -> {
+            ps.setString(1, rate.currency());
+            ps.setObject(2, rate.rateDate());
+            ps.setBigDecimal(3, rate.usdRate());
+        });
+    }
+
+    public Conversion convertCostRecords(String currency, LocalDate fromDay) {
+        return jdbcTemplate.queryForObject(CONVERT_SQL, (rs, rowNum) -> new Conversion(rs.getLong(1),
+                rs.getObject(2, LocalDate.class), rs.getObject(3, LocalDate.class)), currency, fromDay.atStartOfDay());
+    }
+
+    private static FxRate toFxRate(ResultSet rs, int rowNum) throws SQLException {
+        return new FxRate(rs.getString(1), rs.getObject(2, LocalDate.class), rs.getBigDecimal(3));
+    }
+}
@@ -0,0 +1,116 @@
+package finops.cost_service.service;
+
+import finops.cost_service.config.ForecastProperties;
+import finops.cost_service.dto.BudgetBurnResponse;
+import finops.cost_service.dto.BudgetRequest;
+import finops.cost_service.dto.BudgetResponse;
+import finops.cost_service.dto.BudgetStatus;
+import finops.cost_service.entity.Budget;
+import finops.cost_service.repository.BudgetRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+@Timed("finops.service")
+public class BudgetService {
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private final BudgetRepository budgetRepository;
+    private final CostSeriesForecaster costSeriesForecaster;
+    private final ForecastProperties properties;
+
+    @Transactional(readOnly = true)
+    public List<BudgetResponse> getAllBudgets() {
+        return budgetRepository.findAllByOrderByScopeAscScopeValueAsc().stream()
+                .map(BudgetService::toResponse)
+                .toList();
+    }
+
+    @Transactional
+    public BudgetResponse createBudget(BudgetRequest request) {
+        Budget budget = new Budget();
+        apply(budget, request);
+        return toResponse(budgetRepository.save(budget));
+    }
+
+    @Transactional
+    public BudgetResponse updateBudget(Long id, BudgetRequest request) {
+        Budget budget = budgetRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Budget not found with id: " + id));
+        apply(budget, request);
+        return toResponse(budgetRepository.saveAndFlush(budget));
+    }
+
+    @Transactional
+    public void deleteBudget(Long id) {
+        if (!budgetRepository.existsById(id)) {
+            throw new RuntimeException("Budget not found with id: " + id);
+        }
+        budgetRepository.deleteById(id);
+    }
+
+    // One cached forecast per scope serves every budget of that scope, however many there are
+    @Transactional(readOnly = true)
+    public BudgetBurnResponse getBudgetBurn() {
+        LocalDate asOf = LocalDate.now();
+        ForecastMethod method = properties.method();
+        Map<Budget.Scope, CostSeriesForecaster.SeriesForecasts> forecasts = new EnumMap<>(Budget.Scope.class);
+
+        List<BudgetStatus> statuses = budgetRepository.findAllByOrderByScopeAscScopeValueAsc().stream()
+                .map(budget -> {
+                    CostSeriesForecaster.SeriesForecast forecast = forecasts
+                            .computeIfAbsent(budget.getScope(),
+                                    scope -> costSeriesForecaster.forecast(scope.dimension(), method, asOf))
+                            .byValue()
+                            .get(budget.getScopeValue());
+                    return toStatus(budget, forecast);
+                })
+                .toList();
+
+        return new BudgetBurnResponse(asOf, asOf.withDayOfMonth(asOf.lengthOfMonth()), method.name(), "USD", statuses);
+    }
+
+    private static BudgetStatus toStatus(Budget budget, CostSeriesForecaster.SeriesForecast forecast) {
+        // A scope value without spend in the history window simply has none
+        BigDecimal monthToDate = BigDecimal.valueOf(forecast != null ? forecast.monthToDateCents() : 0, 2);
+        BigDecimal monthEnd = BigDecimal.valueOf(forecast != null ? forecast.monthEndCents() : 0, 2);
+        BigDecimal amount = budget.getMonthlyAmount();
+
+        BudgetStatus.State state;
+        if (monthToDate.compareTo(amount) > 0) {
+            state = BudgetStatus.State.OVER_BUDGET;
+        } else if (monthEnd.compareTo(amount) > 0) {
+            state = BudgetStatus.State.AT_RISK;
+        } else {
+            state = BudgetStatus.State.ON_TRACK;
+        }
+        return new BudgetStatus(budget.getId(), budget.getScope().name(), budget.getScopeValue(), amount,
+                monthToDate, monthEnd, percentOf(monthToDate, amount), percentOf(monthEnd, amount), state);
+    }
+
+    private static BigDecimal percentOf(BigDecimal value, BigDecimal amount) {
+        return value.multiply(HUNDRED).divide(amount, 1, RoundingMode.HALF_UP);
+    }
+
+    private static void apply(Budget budget, BudgetRequest request) {
+        budget.setScope(request.getScope());
+        budget.setScopeValue(request.getScopeValue().trim());
+        budget.setMonthlyAmount(request.getMonthlyAmount());
+    }
+
+    private static BudgetResponse toResponse(Budget budget) {
+        return new BudgetResponse(budget.getId(), budget.getScope().name(), budget.getScopeValue(),
+                budget.getMonthlyAmount(), budget.getCreatedAt(), budget.getUpdatedAt());
+    }
+}
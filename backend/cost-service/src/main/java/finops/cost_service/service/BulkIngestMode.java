@@ -0,0 +1,7 @@
+package finops.cost_service.service;
+
+public enum BulkIngestMode {
+    INSERT, // JDBC batch inserts, rewritten into multi-row INSERTs by the driver
+    COPY,   // PostgreSQL COPY FROM STDIN
+    UPSERT  // INSERT ... ON CONFLICT on the natural key; replayed records update or skip existing rows
+}
@@ -0,0 +1,74 @@
+package finops.cost_service.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Sums costs per group in whole cents instead of BigDecimal::add, which allocates a new
+// BigDecimal for every row. Each group key gets a dense slot number the first time it is seen,
+// and totals and counts live in primitive arrays indexed by that slot.
+// cost_records.cost is numeric(10, 2), so long cents is exact; BigDecimal only comes back in total().
+final class CostAccumulator<K> {
+
+    private static final int COST_SCALE = 2;
+
+    private final Map<K, Integer> slots = new HashMap<>();
+    private final List<K> keys = new ArrayList<>();
+    private long[] cents = new long[16];
+    private long[] counts = new long[16];
+
+    void add(K key, BigDecimal cost) {
+        add(key, toCents(cost));
+    }
+
+    void add(K key, long costCents) {
+        int slot = slotOf(key);
+        // addExact throws instead of silently wrapping around past ~92 quadrillion dollars
+        cents[slot] = Math.addExact(cents[slot], costCents);
+        counts[slot]++;
+    }
+
+    int size() {
+        return keys.size();
+    }
+
+    K key(int slot) {
+        return keys.get(slot);
+    }
+
+    long totalCents(int slot) {
+        return cents[slot];
+    }
+
+    BigDecimal total(int slot) {
+        return BigDecimal.valueOf(cents[slot], COST_SCALE);
+    }
+
+    long count(int slot) {
+        return counts[slot];
+    }
+
+    // Rounds the same way PostgreSQL does when it stores into numeric(10, 2)
+    static long toCents(BigDecimal cost) {
+        return cost.setScale(COST_SCALE, RoundingMode.HALF_UP).scaleByPowerOfTen(COST_SCALE).longValueExact();
+    }
+
+    private int slotOf(K key) {
+        Integer slot = slots.get(key);
+        if (slot != null) {
+            return slot;
+        }
+        int next = keys.size();
+        if (next == cents.length) {
+            cents = Arrays.copyOf(cents, next * 2);
+            counts = Arrays.copyOf(counts, next * 2);
+        }
+        slots.put(key, next);
+        keys.add(key);
+        return next;
+    }
+}
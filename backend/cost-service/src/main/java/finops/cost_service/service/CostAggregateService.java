@@ -0,0 +1,99 @@
+package finops.cost_service.service;
+
+import finops.cost_service.config.CacheConfig;
+import finops.cost_service.dto.CostAggregateGroup;
+import finops.cost_service.dto.CostAggregateRequest;
+import finops.cost_service.dto.CostAggregateResponse;
+import finops.cost_service.repository.CostAggregateRepository;
+import finops.cost_service.repository.CostDimension;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+@Timed("finops.service")
+public class CostAggregateService {
+
+    static final int DEFAULT_LIMIT = 1000;
+    static final int MAX_LIMIT = 10_000;
+
+    private final CostAggregateRepository costAggregateRepository;
+    private final CostCubeService costCubeService;
+
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.COST_AGGREGATES, key = "{@costDataVersion.snapshot(), #request}")
+    public CostAggregateResponse aggregate(CostAggregateRequest request) {
+        if (request.getStartDate() != null && request.getEndDate() != null
+                && request.getStartDate().isAfter(request.getEndDate())) {
+            throw new IllegalArgumentException("startDate must not be after endDate");
+        }
+
+        Set<CostDimension> groupBy = new LinkedHashSet<>();
+        if (request.getGroupBy() != null) {
+            request.getGroupBy().stream()
+                    .filter(value -> !value.isBlank())
+                    .map(CostDimension::fromParameter)
+                    .forEach(groupBy::add);
+        }
+        List<CostDimension> dimensions = List.copyOf(groupBy);
+
+        Map<CostDimension, List<String>> filters = new EnumMap<>(CostDimension.class);
+        addFilter(filters, CostDimension.PROVIDER, request.getProvider());
+        addFilter(filters, CostDimension.SERVICE, request.getService());
+        addFilter(filters, CostDimension.ACCOUNT, request.getAccount());
+        addFilter(filters, CostDimension.DEPARTMENT, request.getDepartment());
+        addFilter(filters, CostDimension.ENVIRONMENT, request.getEnvironment());
+        addFilter(filters, CostDimension.REGION, request.getRegion());
+
+        int limit = request.getLimit() == null ? DEFAULT_LIMIT : Math.clamp(request.getLimit(), 1, MAX_LIMIT);
+        List<CostAggregateRepository.Row> rows = costCubeService
+                .aggregate(dimensions, filters, request.getStartDate(), request.getEndDate(), limit)
+                .orElseGet(() -> costAggregateRepository.aggregate(
+                        dimensions, filters, request.getStartDate(), request.getEndDate(), limit));
+
+        List<CostAggregateGroup> groups = rows.stream()
+                .map(row -> {
+                    Map<String, String> values = new LinkedHashMap<>();
+                    for (int i = 0; i < dimensions.size(); i++) {
+                        values.put(dimensions.get(i).parameterName(), row.dimensionValues().get(i));
+                    }
+                    return new CostAggregateGroup(values, row.totalCost(), row.recordCount());
+                })
+                .toList();
+
+        CostAggregateResponse response = new CostAggregateResponse();
+        response.setGroupBy(dimensions.stream().map(CostDimension::parameterName).toList());
+        response.setGroups(groups);
+        response.setCurrency("USD");
+        if (rows.isEmpty()) {
+            response.setTotalCost(BigDecimal.ZERO);
+            response.setTotalRecords(0L);
+            response.setTotalGroups(0L);
+        } else {
+            CostAggregateRepository.Row first = rows.get(0);
+            response.setTotalCost(first.overallCost());
+            response.setTotalRecords(first.overallRecordCount());
+            response.setTotalGroups(first.groupCount());
+            response.setTruncated(first.groupCount() > rows.size());
+        }
+        return response;
+    }
+
+    private static void addFilter(Map<CostDimension, List<String>> filters, CostDimension dimension,
+                                  List<String> values) {
+        if (values != null && !values.isEmpty()) {
+            filters.put(dimension, values);
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package finops.cost_service.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import finops.cost_service.config.AnomalyProperties;
+import finops.cost_service.entity.CostRecord;
+import finops.cost_service.entity.DailyCostRollupKey;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+// Streaming spike detection over the daily cost of each series (provider, account, service).
+// A series keeps constant-size state: the running total of its latest day, the total of the day
+// before and an exponentially weighted mean/variance (EWMA) of the days before that. Each new
+// record updates that state in O(1), so nothing is ever re-read from cost_records.
+// Series and anomalies live in bounded Caffeine caches: the least recently updated series are
+// dropped past finops.anomalies.max-series and start over if they show up again.
+final class CostAnomalyDetector {
+
+    // Without a floor, a perfectly flat series would flag any increase at all as infinitely unusual
+    private static final double MIN_RELATIVE_DEVIATION = 0.05;
+
+    enum Reason {
+        DEVIATION,   // the day is more than deviation-threshold EWMA standard deviations above the EWMA
+        DAY_OVER_DAY // the day is at least day-over-day-ratio times the previous day
+    }
+
+    record SeriesKey(String cloudProvider, String accountId, String serviceName) {
+
+        static SeriesKey of(CostRecord costRecord) {
+            String accountId = costRecord.getAccountId();
+            return new SeriesKey(costRecord.getCloudProvider(),
+                    accountId != null ? accountId : DailyCostRollupKey.UNASSIGNED, costRecord.getServiceName());
+        }
+    }
+
+    // Cent amounts; expected and the ratios are null when the series has too little history
+    record Anomaly(SeriesKey series, LocalDate day, long actualCents, Double expectedCents,
+                   Long previousDayCents, Double deviations, Double dayOverDayRatio, Set<Reason> reasons) {
+    }
+
+    private record SeriesDay(SeriesKey series, LocalDate day) {
+    }
+
+    private final AnomalyProperties properties;
+    private final long minDailyCents;
+    private final Cache<SeriesKey, SeriesState> series;
+    private final Cache<SeriesDay, Anomaly> anomalies;
+
+    CostAnomalyDetector(AnomalyProperties properties) {
+        this.properties = properties;
+        this.minDailyCents = CostAccumulator.toCents(properties.minDailyCost());
+        this.series = Caffeine.newBuilder()
+                .maximumSize(properties.maxSeries())
+                .executor(Runnable::run) // evict on the writing thread, so the bound holds under bursts
+                .build();
+        this.anomalies = Caffeine.newBuilder()
+                .maximumSize(properties.maxAnomalies())
+                .expireAfterWrite(properties.retention())
+                .executor(Runnable::run)
+                .build();
+    }
+
+    void recordsAdded(Collection<CostRecord> records) {
+        apply(records, 1);
+    }
+
+    void recordsRemoved(Collection<CostRecord> records) {
+        apply(records, -1);
+    }
+
+    // Records are summed per series and day first, then fed oldest day first so a batch that
+    // spans several days closes them in order
+    private void apply(Collection<CostRecord> records, int sign) {
+        CostAccumulator<SeriesDay> totals = new CostAccumulator<>();
+        for (CostRecord costRecord : records) {
+            totals.add(new SeriesDay(SeriesKey.of(costRecord), costRecord.getUsageDate().toLocalDate()),
+                    costRecord.getCostUsd());
+        }
+        IntStream.range(0, totals.size())
+                .boxed()
+                .sorted(Comparator.comparing(slot -> totals.key(slot).day()))
+                .forEach(slot -> observe(totals.key(slot).series(), totals.key(slot).day(),
+                        sign * totals.totalCents(slot)));
+    }
+
+    void observe(SeriesKey key, LocalDate day, long cents) {
+        SeriesState state = series.get(key, k -> new SeriesState());
+        synchronized (state) {
+            if (!state.add(day, cents, properties.smoothing())) {
+                return;
+            }
+            Anomaly anomaly = evaluate(key, state);
+            if (anomaly != null) {
+                anomalies.put(new SeriesDay(key, state.day), anomaly);
+                state.flagged = true;
+            } else if (state.flagged) {
+                anomalies.invalidate(new SeriesDay(key, state.day));
+                state.flagged = false;
+            }
+        }
+    }
+
+    // Most recent first, then the strongest deviation
+    List<Anomaly> anomalies(LocalDate since, int limit) {
+        return anomalies.asMap().values().stream()
+                .filter(anomaly -> since == null || !anomaly.day().isBefore(since))
+                .sorted(Comparator.comparing(Anomaly::day).reversed()
+                        .thenComparingDouble(anomaly -> anomaly.deviations() != null ? -anomaly.deviations() : 0))
+                .limit(limit)
+                .toList();
+    }
+
+    long seriesCount() {
+        return series.estimatedSize();
+    }
+
+    long anomalyCount() {
+        return anomalies.estimatedSize();
+    }
+
+    // The open day is judged as it grows, so a spike is reported as soon as it crosses a threshold
+    private Anomaly evaluate(SeriesKey key, SeriesState state) {
+        long actual = state.dayCents;
+        if (actual < minDailyCents) {
+            return null;
+        }
+        Set<Reason> reasons = EnumSet.noneOf(Reason.class);
+
+        Double expected = null;
+        Double deviations = null;
+        if (state.days >= properties.minHistoryDays()) {
+            expected = state.mean;
+            double deviation = Math.max(Math.sqrt(state.variance), Math.max(state.mean * MIN_RELATIVE_DEVIATION, 1));
+            deviations = (actual - state.mean) / deviation;
+            if (deviations >= properties.deviationThreshold()) {
+                reasons.add(Reason.DEVIATION);
+            }
+        }
+
+        Long previous = null;
+        Double ratio = null;
+        if (state.previousDay != null && state.previousDay.plusDays(1).equals(state.day) && state.previousCents > 0) {
+            previous = state.previousCents;
+            ratio = actual / (double) state.previousCents;
+            if (ratio >= properties.dayOverDayRatio()) {
+                reasons.add(Reason.DAY_OVER_DAY);
+            }
+        }
+
+        return reasons.isEmpty() ? null
+                : new Anomaly(key, state.day, actual, expected, previous, deviations, ratio, reasons);
+    }
+
+    // Guarded by its own monitor; updates for different series never contend
+    private static final class SeriesState {
+
+        private LocalDate day;         // latest day seen, still open
+        private long dayCents;
+        private LocalDate previousDay; // last closed day
+        private long previousCents;
+        private double mean;           // EWMA of closed days, in cents
+        private double variance;
+        private int days;              // closed days folded into mean and variance
+        private boolean flagged;       // the open day is currently reported
+
+        // Returns false for records too old to matter: the EWMA has already moved past their day.
+        // Only the open day is ever judged; a late record for yesterday just corrects day-over-day.
+        boolean add(LocalDate recordDay, long cents, double smoothing) {
+            if (day == null || recordDay.equals(day)) {
+                day = recordDay;
+                dayCents += cents;
+                return true;
+            }
+            if (recordDay.isAfter(day)) {
+                close(smoothing);
+                day = recordDay;
+                dayCents = cents;
+                flagged = false;
+                return true;
+            }
+            if (recordDay.equals(previousDay)) {
+                previousCents += cents;
+                return true;
+            }
+            return false;
+        }
+
+        // Incremental EWMA mean and variance (West 1979), no history kept
+        private void close(double smoothing) {
+            double value = dayCents;
+            if (days == 0) {
+                mean = value;
+                variance = 0;
+            } else {
+                double diff = value - mean;
+                double increment = smoothing * diff;
+                mean += increment;
+                variance = (1 - smoothing) * (variance + diff * increment);
+            }
+            days++;
+            previousDay = day;
+            previousCents = dayCents;
+        }
+    }
+}
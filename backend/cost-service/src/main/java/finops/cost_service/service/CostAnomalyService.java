@@ -0,0 +1,136 @@
+package finops.cost_service.service;
+
+import finops.cost_service.config.AnomalyProperties;
+import finops.cost_service.dto.CostAnomalyResponse;
+import finops.cost_service.event.CostDataChangedEvent;
+import finops.cost_service.event.DailyCostRollupRebuiltEvent;
+import finops.cost_service.repository.CostSeriesRepository;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Service
+@Timed("finops.service")
+@Slf4j
+public class CostAnomalyService {
+
+    static final int DEFAULT_LIMIT = 100;
+    static final int MAX_LIMIT = 10_000;
+    private static final int MAX_WARMUP_ATTEMPTS = 3;
+
+    private final CostSeriesRepository costSeriesRepository;
+    private final AnomalyProperties properties;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Object warmUpLock = new Object();
+
+    // Swapped by each warm-up and fed committed changes under this service's monitor, read without it
+    private volatile CostAnomalyDetector detector;
+    // Changes seen so far, so a warm-up that overlapped one can tell it may have missed it
+    private long changes;
+
+    public CostAnomalyService(AnomalyProperties properties, CostSeriesRepository costSeriesRepository,
+                              PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.detector = new CostAnomalyDetector(properties);
+        this.costSeriesRepository = costSeriesRepository;
+        this.properties = properties;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        Gauge.builder("finops.anomalies.series", this, service -> service.detector.seriesCount())
+                .description("Cost series tracked by the anomaly detector")
+                .register(meterRegistry);
+        Gauge.builder("finops.anomalies.active", this, service -> service.detector.anomalyCount())
+                .description("Anomalies currently reported")
+                .register(meterRegistry);
+    }
+
+    // After commit, like the cache invalidation: rolled back writes never reach the detector.
+    // Removed rows go first, so an upserted row's old version leaves its day before the new one arrives.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCostDataChanged(CostDataChangedEvent event) {
+        synchronized (this) {
+            changes++;
+            if (!event.removed().isEmpty()) {
+                detector.recordsRemoved(event.removed());
+            }
+            if (!event.added().isEmpty()) {
+                detector.recordsAdded(event.added());
+            }
+        }
+    }
+
+    // Rebuilds, and new exchange rates converting stored costs again, change daily totals in SQL. The
+    // detector would keep the old amounts while later removals subtract the new ones, so it starts over
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRollupRebuilt(DailyCostRollupRebuiltEvent event) {
+        warmUp();
+    }
+
+    // Replays recent daily totals into a new detector, which replaces the current one
+    public void warmUp() {
+        synchronized (warmUpLock) {
+            LocalDate fromDay = LocalDate.now().minusDays(properties.warmupDays());
+            for (int attempt = 1; attempt <= MAX_WARMUP_ATTEMPTS; attempt++) {
+                long start = System.nanoTime();
+                long changesBefore;
+                synchronized (this) {
+                    changesBefore = changes;
+                }
+                CostAnomalyDetector warmed = new CostAnomalyDetector(properties);
+                Long rows = readOnlyTransaction.execute(status -> replay(warmed, fromDay));
+                synchronized (this) {
+                    // A change committed after the replay began may be missing from it; replay again
+                    if (changes == changesBefore) {
+                        detector = warmed;
+                        log.info("Anomaly detector warmed up from {} daily totals since {} ({} series, "
+                                        + "{} anomalies) in {} ms", rows, fromDay, warmed.seriesCount(),
+                                warmed.anomalyCount(), (System.nanoTime() - start) / 1_000_000);
+                        return;
+                    }
+                }
+                log.debug("Cost data changed while the anomaly detector was warming up (attempt {})", attempt);
+            }
+            log.warn("Cost data kept changing while the anomaly detector was warming up; it keeps its "
+                    + "current state until the next rollup rebuild or restart");
+        }
+    }
+
+    private long replay(CostAnomalyDetector target, LocalDate fromDay) {
+        long[] rows = {0};
+        costSeriesRepository.forEachDailyTotal(fromDay, total -> {
+            target.observe(new CostAnomalyDetector.SeriesKey(total.cloudProvider(), total.accountId(),
+                    total.serviceName()), total.day(), CostAccumulator.toCents(total.totalCost()));
+            rows[0]++;
+        });
+        return rows[0];
+    }
+
+    public List<CostAnomalyResponse> getAnomalies(LocalDate since, Integer limit) {
+        int max = limit == null ? DEFAULT_LIMIT : Math.clamp(limit, 1, MAX_LIMIT);
+        return detector.anomalies(since, max).stream()
+                .map(CostAnomalyService::toResponse)
+                .toList();
+    }
+
+    private static CostAnomalyResponse toResponse(CostAnomalyDetector.Anomaly anomaly) {
+        return new CostAnomalyResponse(
+                anomaly.series().cloudProvider(),
+                anomaly.series().accountId(),
+                anomaly.series().serviceName(),
+                anomaly.day(),
+                BigDecimal.valueOf(anomaly.actualCents(), 2),
+                anomaly.expectedCents() != null ? BigDecimal.valueOf(Math.round(anomaly.expectedCents()), 2) : null,
+                anomaly.previousDayCents() != null ? BigDecimal.valueOf(anomaly.previousDayCents(), 2) : null,
+                anomaly.deviations(),
+                anomaly.dayOverDayRatio(),
+                anomaly.reasons().stream().map(Enum::name).toList());
+    }
+}
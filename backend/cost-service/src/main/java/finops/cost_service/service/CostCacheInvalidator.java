@@ -0,0 +1,72 @@
+package finops.cost_service.service;
+
+import finops.cost_service.config.CacheConfig;
+import finops.cost_service.entity.CostRecord;
+import finops.cost_service.event.CostDataChangedEvent;
+import finops.cost_service.event.DailyCostRollupRebuiltEvent;
+import finops.cost_service.event.FxRatesChangedEvent;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Objects;
+
+// Cached results are keyed by the data version they were read at, so once a change commits no request
+// asks for them again, not even one put back by a read that started before the commit. Clearing them
+// here only frees the memory before they expire; the version is what keeps responses current.
+@Component
+@RequiredArgsConstructor
+public class CostCacheInvalidator {
+
+    private final CacheManager cacheManager;
+    private final EntityManagerFactory entityManagerFactory;
+    private final CostDataVersion costDataVersion;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCostDataChanged(CostDataChangedEvent event) {
+        clearTotals();
+        clear(CacheConfig.COST_RECORD_PAGES);
+
+        // Bulk writes bypass Hibernate, so removed or upserted rows must also leave the second-level cache
+        event.removed().stream()
+                .map(CostRecord::getId)
+                .filter(Objects::nonNull)
+                .forEach(id -> entityManagerFactory.getCache().evict(CostRecord.class, id));
+        costDataVersion.changed();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRollupRebuilt(DailyCostRollupRebuiltEvent event) {
+        clearTotals();
+        costDataVersion.changed();
+    }
+
+    // Converted USD costs are written in SQL, so every cached record may hold a stale one; the totals
+    // follow from the rollup rebuild that comes with the conversion
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFxRatesChanged(FxRatesChangedEvent event) {
+        if (event.startDate() == null) {
+            return; // no record was converted
+        }
+        clear(CacheConfig.COST_RECORD_PAGES);
+        entityManagerFactory.getCache().evict(CostRecord.class);
+        costDataVersion.changed();
+    }
+
+    private void clearTotals() {
+        clear(CacheConfig.COST_SUMMARY);
+        clear(CacheConfig.COST_SUMMARY_BY_DATE_RANGE);
+        clear(CacheConfig.COST_AGGREGATES);
+        clear(CacheConfig.COST_FORECASTS);
+    }
+
+    private void clear(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+}
@@ -0,0 +1,505 @@
+package finops.cost_service.service;
+
+import finops.cost_service.entity.DailyCostRollupKey;
+import finops.cost_service.repository.CostAggregateRepository;
+import finops.cost_service.repository.CostDimension;
+import finops.cost_service.repository.DailyCostRollupWriter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+// Columnar in-memory copy of the recent part of daily_cost_rollup, answering the aggregate endpoint
+// without a database round trip. Each row is a rollup delta: a day, six dictionary-encoded dimension
+// codes, long cents and a record count. Rows are only ever appended - a removed record appends a
+// negative row - so a reader that snapshots the row count sees a stable prefix without locking.
+// Rows live in fixed-size chunks that are scanned in parallel a column at a time, one partial group
+// table per task.
+final class CostCube {
+
+    static final int CHUNK_ROWS = 1 << 14;
+    // day, six dimension codes and count as ints, cents as a long
+    static final int BYTES_PER_ROW = 8 * Integer.BYTES + Long.BYTES;
+
+    // Indexed by CostDimension ordinal: the six dimensions that are columns come first
+    private static final int COLUMNS = 6;
+    // Epoch day 0 was a Thursday; weeks start on Monday like date_trunc('week')
+    private static final int MONDAY_OFFSET = 3;
+
+    private final int firstDay;
+    private final long maxChunks;
+    private final Dictionary[] dictionaries = new Dictionary[COLUMNS];
+
+    // Written under this cube's monitor only. size is published last, so every row, chunk and
+    // dictionary entry below it is visible to a reader that read size first
+    private volatile Chunk[] chunks = new Chunk[0];
+    private volatile int minDay = Integer.MAX_VALUE;
+    private volatile int maxDay = Integer.MIN_VALUE;
+    private volatile boolean complete;
+    private volatile int size;
+
+    // complete: nothing older than firstDay exists, so queries without a start date can be answered too
+    CostCube(LocalDate firstDay, boolean complete, long maxMemoryBytes) {
+        this.firstDay = Math.toIntExact(firstDay.toEpochDay());
+        this.complete = complete;
+        this.maxChunks = Math.max(1, maxMemoryBytes / ((long) CHUNK_ROWS * BYTES_PER_ROW));
+        for (int column = 0; column < COLUMNS; column++) {
+            dictionaries[column] = new Dictionary();
+        }
+    }
+
+    // False once the memory budget is used up; the cube must then be dropped, it is missing rows
+    boolean addAll(List<DailyCostRollupWriter.Delta> deltas) {
+        for (DailyCostRollupWriter.Delta delta : deltas) {
+            if (!add(delta)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    synchronized boolean add(DailyCostRollupWriter.Delta delta) {
+        DailyCostRollupKey key = delta.key();
+        int day = Math.toIntExact(key.getUsageDay().toEpochDay());
+        if (day < firstDay) {
+            complete = false; // a day the cube does not hold has changed
+            return true;
+        }
+        int row = size;
+        if (row == chunks.length * CHUNK_ROWS) {
+            if (chunks.length >= maxChunks) {
+                return false;
+            }
+            Chunk[] grown = Arrays.copyOf(chunks, chunks.length + 1);
+            grown[chunks.length] = new Chunk();
+            chunks = grown;
+        }
+        Chunk chunk = chunks[row / CHUNK_ROWS];
+        int offset = row % CHUNK_ROWS;
+        chunk.days[offset] = day;
+        encode(chunk, offset, CostDimension.PROVIDER, key.getCloudProvider());
+        encode(chunk, offset, CostDimension.SERVICE, key.getServiceName());
+        encode(chunk, offset, CostDimension.ACCOUNT, key.getAccountId());
+        encode(chunk, offset, CostDimension.DEPARTMENT, key.getDepartment());
+        encode(chunk, offset, CostDimension.ENVIRONMENT, key.getEnvironment());
+        encode(chunk, offset, CostDimension.REGION, key.getRegion());
+        chunk.cents[offset] = CostAccumulator.toCents(delta.cost());
+        chunk.counts[offset] = Math.toIntExact(delta.count());
+        minDay = Math.min(minDay, day);
+        maxDay = Math.max(maxDay, day);
+        size = row + 1;
+        return true;
+    }
+
+    private void encode(Chunk chunk, int offset, CostDimension dimension, String value) {
+        chunk.codes[dimension.ordinal()][offset] = dictionaries[dimension.ordinal()].code(value);
+    }
+
+    boolean covers(LocalDate startDay) {
+        return complete || (startDay != null && startDay.toEpochDay() >= firstDay);
+    }
+
+    LocalDate firstDay() {
+        return LocalDate.ofEpochDay(firstDay);
+    }
+
+    int rows() {
+        return size;
+    }
+
+    long memoryBytes() {
+        return (long) chunks.length * CHUNK_ROWS * BYTES_PER_ROW;
+    }
+
+    // Same rows, totals and order as CostAggregateRepository; empty when the groups cannot be
+    // numbered in a long, which takes an absurd number of distinct values
+    Optional<List<CostAggregateRepository.Row>> aggregate(List<CostDimension> groupBy,
+                                                          Map<CostDimension, List<String>> filters,
+                                                          LocalDate startDay, LocalDate endDay, int limit) {
+        int rows = size;
+        Chunk[] snapshot = chunks;
+        int lowDay = minDay;
+        int highDay = maxDay;
+
+        int from = startDay != null ? Math.clamp(startDay.toEpochDay(), Integer.MIN_VALUE, Integer.MAX_VALUE)
+                : Integer.MIN_VALUE;
+        int to = endDay != null ? Math.clamp(endDay.toEpochDay(), Integer.MIN_VALUE, Integer.MAX_VALUE)
+                : Integer.MAX_VALUE;
+
+        // One flag per dictionary code; values the cube has never seen match nothing
+        boolean[][] masks = new boolean[COLUMNS][];
+        filters.forEach((dimension, values) -> {
+            Dictionary dictionary = dictionaries[dimension.ordinal()];
+            boolean[] mask = new boolean[dictionary.size()];
+            for (String value : values) {
+                Integer code = dictionary.find(value);
+                if (code != null && code < mask.length) {
+                    mask[code] = true;
+                }
+            }
+            masks[dimension.ordinal()] = mask;
+        });
+
+        // A group is numbered in mixed radix over its dimensions; time buckets come from a per-day table
+        Grouping grouping;
+        try {
+            grouping = new Grouping(groupBy, lowDay, highDay);
+        } catch (ArithmeticException ex) {
+            return Optional.empty();
+        }
+
+        int chunkCount = (rows + CHUNK_ROWS - 1) / CHUNK_ROWS;
+        GroupTable groups = IntStream.range(0, chunkCount)
+                .parallel()
+                .collect(() -> new Scan(from, to, masks, grouping),
+                        (scan, c) -> scan.chunk(snapshot[c], Math.min(CHUNK_ROWS, rows - c * CHUNK_ROWS)),
+                        Scan::merge)
+                .groups;
+
+        return Optional.of(toRows(groupBy, grouping, groups, limit));
+    }
+
+    private List<CostAggregateRepository.Row> toRows(List<CostDimension> groupBy, Grouping grouping,
+                                                     GroupTable groups, int limit) {
+        // Groups whose records were all removed are gone from the rollup too
+        List<Group> kept = new ArrayList<>();
+        long overallCents = 0;
+        long overallCount = 0;
+        for (int slot = 0; slot < groups.capacity(); slot++) {
+            if (groups.used(slot) && (groups.count(slot) != 0 || groupBy.isEmpty())) {
+                kept.add(new Group(grouping.decode(groups.key(slot)), groups.cents(slot), groups.count(slot)));
+                overallCents += groups.cents(slot);
+                overallCount += groups.count(slot);
+            }
+        }
+        // Without GROUP BY, SQL returns its single row even when nothing matches
+        if (groupBy.isEmpty() && kept.isEmpty()) {
+            kept.add(new Group(new int[0], 0, 0));
+        }
+
+        // Time buckets in chronological order, then the biggest spend, then dimension values, nulls last
+        Comparator<Group> order = (a, b) -> 0;
+        for (int i = 0; i < groupBy.size(); i++) {
+            int part = i;
+            if (groupBy.get(i).isTimeBucket()) {
+                order = order.thenComparingInt(group -> group.parts[part]);
+            }
+        }
+        order = order.thenComparing(Comparator.comparingLong((Group group) -> group.cents).reversed());
+        for (int i = 0; i < groupBy.size(); i++) {
+            int part = i;
+            CostDimension dimension = groupBy.get(i);
+            if (!dimension.isTimeBucket()) {
+                order = order.thenComparing(group -> value(dimension, grouping, group.parts[part]),
+                        Comparator.nullsLast(Comparator.naturalOrder()));
+            }
+        }
+
+        BigDecimal overallCost = BigDecimal.valueOf(overallCents, 2);
+        kept.sort(order);
+        List<CostAggregateRepository.Row> rows = new ArrayList<>(Math.min(limit, kept.size()));
+        for (Group group : kept.subList(0, Math.min(limit, kept.size()))) {
+            List<String> values = new ArrayList<>(groupBy.size());
+            for (int i = 0; i < groupBy.size(); i++) {
+                values.add(value(groupBy.get(i), grouping, group.parts[i]));
+            }
+            rows.add(new CostAggregateRepository.Row(values, BigDecimal.valueOf(group.cents, 2),
+                    group.count, overallCost, overallCount, kept.size()));
+        }
+        return rows;
+    }
+
+    // Formatted like the SQL path: ISO dates for time buckets, null for unassigned dimensions
+    private String value(CostDimension dimension, Grouping grouping, int code) {
+        if (dimension.isTimeBucket()) {
+            return LocalDate.ofEpochDay(grouping.bucketStart(dimension, code)).toString();
+        }
+        String value = dictionaries[dimension.ordinal()].value(code);
+        return value.equals(DailyCostRollupKey.UNASSIGNED) ? null : value;
+    }
+
+    private static int week(int day) {
+        return Math.floorDiv(day + MONDAY_OFFSET, 7);
+    }
+
+    private static int month(int day) {
+        LocalDate date = LocalDate.ofEpochDay(day);
+        return date.getYear() * 12 + date.getMonthValue() - 1;
+    }
+
+    private record Group(int[] parts, long cents, long count) {
+    }
+
+    private final class Grouping {
+
+        private final int[] columns;      // dictionary column per group-by dimension, -1 for time buckets
+        private final int[][] buckets;    // bucket per day since lowDay, for time buckets
+        private final long[] multipliers;
+        private final long[] radixes;
+        private final int lowDay;
+
+        Grouping(List<CostDimension> groupBy, int lowDay, int highDay) {
+            int dimensions = groupBy.size();
+            this.columns = new int[dimensions];
+            this.buckets = new int[dimensions][];
+            this.multipliers = new long[dimensions];
+            this.radixes = new long[dimensions];
+            this.lowDay = lowDay;
+            int dayCount = highDay >= lowDay ? highDay - lowDay + 1 : 0;
+
+            long multiplier = 1;
+            for (int i = dimensions - 1; i >= 0; i--) {
+                CostDimension dimension = groupBy.get(i);
+                long radix;
+                if (dimension.isTimeBucket()) {
+                    columns[i] = -1;
+                    buckets[i] = new int[dayCount];
+                    for (int d = 0; d < dayCount; d++) {
+                        buckets[i][d] = bucket(dimension, lowDay + d) - bucket(dimension, lowDay);
+                    }
+                    radix = dayCount == 0 ? 1 : buckets[i][dayCount - 1] + 1L;
+                } else {
+                    columns[i] = dimension.ordinal();
+                    radix = Math.max(1, dictionaries[columns[i]].size());
+                }
+                radixes[i] = radix;
+                multipliers[i] = multiplier;
+                multiplier = Math.multiplyExact(multiplier, radix);
+            }
+        }
+
+        // Adds each dimension's code times its multiplier to the keys of the selected rows
+        void keys(Chunk chunk, int[] selection, int selected, long[] keys) {
+            Arrays.fill(keys, 0, selected, 0);
+            for (int i = 0; i < columns.length; i++) {
+                long multiplier = multipliers[i];
+                if (columns[i] >= 0) {
+                    int[] codes = chunk.codes[columns[i]];
+                    for (int k = 0; k < selected; k++) {
+                        keys[k] += codes[selection[k]] * multiplier;
+                    }
+                } else {
+                    int[] bucket = buckets[i];
+                    int[] days = chunk.days;
+                    for (int k = 0; k < selected; k++) {
+                        keys[k] += bucket[days[selection[k]] - lowDay] * multiplier;
+                    }
+                }
+            }
+        }
+
+        int[] decode(long key) {
+            int[] parts = new int[columns.length];
+            for (int i = 0; i < columns.length; i++) {
+                parts[i] = (int) (key / multipliers[i] % radixes[i]);
+            }
+            return parts;
+        }
+
+        int bucketStart(CostDimension dimension, int code) {
+            return switch (dimension) {
+                case DAY -> lowDay + code;
+                case WEEK -> (week(lowDay) + code) * 7 - MONDAY_OFFSET;
+                default -> Math.toIntExact(LocalDate.of(0, 1, 1).plusMonths(month(lowDay) + code).toEpochDay());
+            };
+        }
+
+        private static int bucket(CostDimension dimension, int day) {
+            return switch (dimension) {
+                case DAY -> day;
+                case WEEK -> week(day);
+                default -> month(day);
+            };
+        }
+    }
+
+    // One per parallel task: filters a chunk a column at a time into a selection of row numbers,
+    // computes their group keys the same way, then adds them to the task's own group table
+    private static final class Scan {
+
+        private final int from;
+        private final int to;
+        private final int[] filterColumns;
+        private final boolean[][] filterMasks;
+        private final Grouping grouping;
+        private final int[] selection = new int[CHUNK_ROWS];
+        private final long[] keys = new long[CHUNK_ROWS];
+        private final GroupTable groups = new GroupTable();
+
+        Scan(int from, int to, boolean[][] masks, Grouping grouping) {
+            this.from = from;
+            this.to = to;
+            this.grouping = grouping;
+            this.filterColumns = IntStream.range(0, COLUMNS).filter(column -> masks[column] != null).toArray();
+            this.filterMasks = new boolean[filterColumns.length][];
+            for (int f = 0; f < filterColumns.length; f++) {
+                filterMasks[f] = masks[filterColumns[f]];
+            }
+        }
+
+        void chunk(Chunk chunk, int rows) {
+            int[] days = chunk.days;
+            int selected = 0;
+            for (int row = 0; row < rows; row++) {
+                int day = days[row];
+                if (day >= from && day <= to) {
+                    selection[selected++] = row;
+                }
+            }
+            for (int f = 0; f < filterColumns.length; f++) {
+                int[] codes = chunk.codes[filterColumns[f]];
+                boolean[] mask = filterMasks[f];
+                int kept = 0;
+                for (int k = 0; k < selected; k++) {
+                    int row = selection[k];
+                    if (mask[codes[row]]) {
+                        selection[kept++] = row;
+                    }
+                }
+                selected = kept;
+            }
+            grouping.keys(chunk, selection, selected, keys);
+            long[] cents = chunk.cents;
+            int[] counts = chunk.counts;
+            for (int k = 0; k < selected; k++) {
+                int row = selection[k];
+                groups.add(keys[k], cents[row], counts[row]);
+            }
+        }
+
+        void merge(Scan other) {
+            groups.addAll(other.groups);
+        }
+    }
+
+    private static final class Chunk {
+
+        private final int[] days = new int[CHUNK_ROWS];
+        private final int[][] codes = new int[COLUMNS][CHUNK_ROWS];
+        private final long[] cents = new long[CHUNK_ROWS];
+        private final int[] counts = new int[CHUNK_ROWS];
+    }
+
+    // Values are only added, under the cube's monitor; a code is visible before any row that uses it
+    private static final class Dictionary {
+
+        private final Map<String, Integer> codes = new ConcurrentHashMap<>();
+        private volatile String[] values = new String[16];
+        private volatile int size;
+
+        int code(String value) {
+            Integer code = codes.get(value);
+            if (code != null) {
+                return code;
+            }
+            int next = size;
+            String[] current = values;
+            if (next == current.length) {
+                current = Arrays.copyOf(current, next * 2);
+            }
+            current[next] = value;
+            values = current;
+            codes.put(value, next);
+            size = next + 1;
+            return next;
+        }
+
+        Integer find(String value) {
+            return codes.get(value);
+        }
+
+        String value(int code) {
+            return values[code];
+        }
+
+        int size() {
+            return size;
+        }
+    }
+
+    // Open addressing from group number to running cents and record count
+    private static final class GroupTable {
+
+        private static final long EMPTY = -1;
+
+        private long[] keys = newKeys(64);
+        private long[] cents = new long[64];
+        private long[] counts = new long[64];
+        private int used;
+
+        void add(long key, long groupCents, long groupCount) {
+            int mask = keys.length - 1;
+            int slot = Long.hashCode(key * 0x9E3779B97F4A7C15L) & mask;
+            while (keys[slot] != EMPTY && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            if (keys[slot] != EMPTY) {
+                cents[slot] += groupCents;
+                counts[slot] += groupCount;
+                return;
+            }
+            keys[slot] = key;
+            cents[slot] = groupCents;
+            counts[slot] = groupCount;
+            if (++used * 2 > keys.length) {
+                grow();
+            }
+        }
+
+        void addAll(GroupTable other) {
+            for (int slot = 0; slot < other.keys.length; slot++) {
+                if (other.keys[slot] != EMPTY) {
+                    add(other.keys[slot], other.cents[slot], other.counts[slot]);
+                }
+            }
+        }
+
+        int capacity() {
+            return keys.length;
+        }
+
+        boolean used(int slot) {
+            return keys[slot] != EMPTY;
+        }
+
+        long key(int slot) {
+            return keys[slot];
+        }
+
+        long cents(int slot) {
+            return cents[slot];
+        }
+
+        long count(int slot) {
+            return counts[slot];
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            long[] oldCents = cents;
+            long[] oldCounts = counts;
+            keys = newKeys(oldKeys.length * 2);
+            cents = new long[oldKeys.length * 2];
+            counts = new long[oldKeys.length * 2];
+            used = 0;
+            for (int slot = 0; slot < oldKeys.length; slot++) {
+                if (oldKeys[slot] != EMPTY) {
+                    add(oldKeys[slot], oldCents[slot], oldCounts[slot]);
+                }
+            }
+        }
+
+        private static long[] newKeys(int capacity) {
+            long[] keys = new long[capacity];
+            Arrays.fill(keys, EMPTY);
+            return keys;
+        }
+    }
+}
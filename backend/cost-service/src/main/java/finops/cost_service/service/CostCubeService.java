@@ -0,0 +1,177 @@
+package finops.cost_service.service;
+
+import finops.cost_service.config.CubeProperties;
+import finops.cost_service.event.CostDataChangedEvent;
+import finops.cost_service.event.DailyCostRollupRebuiltEvent;
+import finops.cost_service.repository.CostAggregateRepository;
+import finops.cost_service.repository.CostCubeRepository;
+import finops.cost_service.repository.CostDimension;
+import finops.cost_service.repository.DailyCostRollupWriter;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// Owns the in-memory cost cube: loads it at startup, keeps it current from committed changes and
+// answers aggregates from it when it holds every day a query asks for. Anything it cannot answer
+// goes to SQL, so turning it off or running out of memory budget only costs speed.
+@Service
+@Timed("finops.service")
+@Slf4j
+public class CostCubeService {
+
+    private static final int MAX_LOAD_ATTEMPTS = 3;
+
+    private final CubeProperties properties;
+    private final CostCubeRepository costCubeRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Counter answeredFromCube;
+    private final Counter answeredFromSql;
+    private final Object loadLock = new Object();
+
+    // Swapped and appended to under this service's monitor, read without it
+    private volatile CostCube cube;
+    // Changes seen so far, so a load that overlapped one can tell it may have missed it
+    private long changes;
+
+    public CostCubeService(CubeProperties properties, CostCubeRepository costCubeRepository,
+                           PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.costCubeRepository = costCubeRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.answeredFromCube = queries(meterRegistry, "cube");
+        this.answeredFromSql = queries(meterRegistry, "sql");
+        Gauge.builder("finops.cube.rows", this, service -> service.cube != null ? service.cube.rows() : 0)
+                .description("Rows held by the in-memory cost cube")
+                .baseUnit("rows")
+                .register(meterRegistry);
+        Gauge.builder("finops.cube.memory", this, service -> service.cube != null ? service.cube.memoryBytes() : 0)
+                .description("Memory allocated to cost cube columns")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    // Empty when the cube is off, not loaded, or does not reach back to startDay; the caller asks SQL
+    public Optional<List<CostAggregateRepository.Row>> aggregate(List<CostDimension> groupBy,
+                                                                 Map<CostDimension, List<String>> filters,
+                                                                 LocalDate startDay, LocalDate endDay, int limit) {
+        if (!properties.enabled()) {
+            return Optional.empty();
+        }
+        CostCube current = cube;
+        Optional<List<CostAggregateRepository.Row>> rows = current != null && current.covers(startDay)
+                ? current.aggregate(groupBy, filters, startDay, endDay, limit)
+                : Optional.empty();
+        (rows.isPresent() ? answeredFromCube : answeredFromSql).increment();
+        return rows;
+    }
+
+    public void load() {
+        if (properties.enabled()) {
+            load(false);
+        }
+    }
+
+    // Slides the window forward and folds the day's appended deltas into one row per rollup group
+    @Scheduled(cron = "${finops.cube.reload-cron:0 30 3 * * *}")
+    public void reload() {
+        load();
+    }
+
+    // Applied after commit, like the rollup they mirror; removed records become negative rows
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCostDataChanged(CostDataChangedEvent event) {
+        if (!properties.enabled()) {
+            return;
+        }
+        List<DailyCostRollupWriter.Delta> deltas = new ArrayList<>(DailyCostRollupService.toDeltas(event.removed(), true));
+        deltas.addAll(DailyCostRollupService.toDeltas(event.added(), false));
+        synchronized (this) {
+            changes++;
+            if (cube != null && !cube.addAll(deltas)) {
+                cube = null;
+                log.warn("Cost cube reached finops.cube.max-memory={}; aggregates are answered from SQL "
+                        + "until the next reload", properties.maxMemory());
+            }
+        }
+    }
+
+    // The rollup was rewritten behind the cube's back; stop answering from it until it is read again
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRollupRebuilt(DailyCostRollupRebuiltEvent event) {
+        if (properties.enabled()) {
+            load(true);
+        }
+    }
+
+    private void load(boolean dropCurrent) {
+        synchronized (loadLock) {
+            if (dropCurrent) {
+                synchronized (this) {
+                    cube = null;
+                }
+            }
+            LocalDate firstDay = LocalDate.now().minusDays(properties.windowDays());
+            for (int attempt = 1; attempt <= MAX_LOAD_ATTEMPTS; attempt++) {
+                long start = System.nanoTime();
+                long changesBefore;
+                synchronized (this) {
+                    changesBefore = changes;
+                }
+                CostCube loaded = readOnlyTransaction.execute(status -> read(firstDay));
+                synchronized (this) {
+                    if (loaded == null) {
+                        cube = null;
+                        return;
+                    }
+                    // A change committed after the read began may be missing from it; read again
+                    if (changes == changesBefore) {
+                        cube = loaded;
+                        log.info("Cost cube loaded {} rows since {} ({} KB) in {} ms", loaded.rows(), firstDay,
+                                loaded.memoryBytes() / 1024, (System.nanoTime() - start) / 1_000_000);
+                        return;
+                    }
+                }
+                log.debug("Cost data changed while the cube was loading (attempt {})", attempt);
+            }
+            log.warn("Cost data kept changing while the cube was loading; trying again at the next reload");
+        }
+    }
+
+    private CostCube read(LocalDate firstDay) {
+        CostCube loaded = new CostCube(firstDay, !costCubeRepository.hasRowsBefore(firstDay),
+                properties.maxMemory().toBytes());
+        boolean[] fits = {true};
+        costCubeRepository.forEachRow(firstDay, row -> {
+            if (fits[0]) {
+                fits[0] = loaded.add(row);
+            }
+        });
+        if (!fits[0]) {
+            log.warn("daily_cost_rollup rows since {} need more than finops.cube.max-memory={}; "
+                    + "aggregates are answered from SQL", firstDay, properties.maxMemory());
+            return null;
+        }
+        return loaded;
+    }
+
+    private static Counter queries(MeterRegistry meterRegistry, String answeredFrom) {
+        return Counter.builder("finops.cube.queries")
+                .description("Aggregate queries, by where they were answered")
+                .tag("answered_from", answeredFrom)
+                .register(meterRegistry);
+    }
+}
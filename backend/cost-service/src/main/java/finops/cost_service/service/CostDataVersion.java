@@ -0,0 +1,138 @@
+package finops.cost_service.service;
+
+import finops.cost_service.config.CostCacheProperties;
+import finops.cost_service.event.CostDataChangedEvent;
+import finops.cost_service.event.DailyCostRollupRebuiltEvent;
+import finops.cost_service.repository.DataVersionRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+/**
+ * Version of the cost data, shared by every instance: the cost_data row of data_versions, which each
+ * transaction that changes cost data increments just before it commits. GET endpoints use it as their
+ * ETag, so an unchanged If-None-Match is answered with 304 before any query runs or any response is
+ * serialized.
+ * <p>
+ * A body is labelled with the version its own transaction read before any data, on the same
+ * connection, so a replica's lag shows in the tag as well as in the body and a change committed
+ * meanwhile can only make the body newer than its tag, never older.
+ */
+@Component
+public class CostDataVersion {
+
+    private final DataVersionRepository dataVersionRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final long checkIntervalNanos;
+
+    // Bound to a writing transaction: the version its changes commit as
+    private final Object committedKey = new Object();
+
+    // Latest version seen on the primary, for If-None-Match checks; null when it must be read again
+    private volatile Checked latest;
+
+    private record Checked(long version, long checkedAt) {
+    }
+
+    public record Versioned<T>(String eTag, T body) {
+    }
+
+    public CostDataVersion(DataVersionRepository dataVersionRepository, PlatformTransactionManager transactionManager,
+                           CostCacheProperties properties) {
+        this.dataVersionRepository = dataVersionRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.checkIntervalNanos = properties.versionCheckInterval().toNanos();
+    }
+
+    // Tag of the latest version, at most the check interval old for changes made by other instances
+    public String eTag() {
+        Checked checked = latest;
+        long now = System.nanoTime();
+        if (checked == null || now - checked.checkedAt() > checkIntervalNanos) {
+            checked = new Checked(dataVersionRepository.current(DataVersionRepository.COST_DATA), now);
+            latest = checked;
+        }
+        return eTag(checked.version());
+    }
+
+    // Computes the body in one read-only transaction together with the version it is tagged with
+    public <T> Versioned<T> read(Supplier<T> body) {
+        return readOnlyTransaction.execute(status -> {
+            long version = snapshot();
+            return new Versioned<>(eTag(version), body.get());
+        });
+    }
+
+    // The version the current transaction reads at, queried once per transaction; outside one, the
+    // primary's current version
+    public long snapshot() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return dataVersionRepository.current(DataVersionRepository.COST_DATA);
+        }
+        Long version = (Long) TransactionSynchronizationManager.getResource(this);
+        if (version == null) {
+            version = dataVersionRepository.current(DataVersionRepository.COST_DATA);
+            TransactionSynchronizationManager.bindResource(this, version);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(CostDataVersion.this);
+                }
+            });
+        }
+        return version;
+    }
+
+    // Inside the writing transaction, so the new version commits together with the data it stands for.
+    // Without a transaction (rollup rebuilds in chunks) the data is already committed when this runs
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onCostDataChanged(CostDataChangedEvent event) {
+        increment();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onRollupRebuilt(DailyCostRollupRebuiltEvent event) {
+        increment();
+    }
+
+    // For changes made without an event, such as partitions leaving the table
+    void increment() {
+        long version = dataVersionRepository.increment(DataVersionRepository.COST_DATA);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            if (TransactionSynchronizationManager.unbindResourceIfPossible(committedKey) == null) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        TransactionSynchronizationManager.unbindResourceIfPossible(committedKey);
+                    }
+                });
+            }
+            TransactionSynchronizationManager.bindResource(committedKey, version);
+        }
+    }
+
+    // For after-commit listeners: the version the transaction's changes committed as, the last one it
+    // incremented to. A body tagged with this version or a later one includes every change of the
+    // transaction. Null outside a transaction that changed cost data
+    public Long committedVersion() {
+        return (Long) TransactionSynchronizationManager.getResource(committedKey);
+    }
+
+    // Call after the change is committed, so this instance's next If-None-Match check sees it at once
+    void changed() {
+        latest = null;
+    }
+
+    // Weak: Tomcat only gzips responses without a strong ETag, and the tag is the same for
+    // compressed and uncompressed bodies. If-None-Match compares weakly, so 304s are unaffected
+    private static String eTag(long version) {
+        return "W/\"" + version + "\"";
+    }
+}
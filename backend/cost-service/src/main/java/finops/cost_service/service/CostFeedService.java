@@ -0,0 +1,201 @@
+package finops.cost_service.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import finops.cost_service.config.FeedProperties;
+import finops.cost_service.dto.CostFeedEvent;
+import finops.cost_service.dto.CostRecordResponse;
+import finops.cost_service.dto.CostSummaryResponse;
+import finops.cost_service.entity.CostRecord;
+import finops.cost_service.event.CostDataChangedEvent;
+import finops.cost_service.event.DailyCostRollupRebuiltEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pushes committed changes to dashboards over server-sent events. Each change is turned into one
+ * delta (new records, removed ids, what to add to the summary totals) and serialized once, whatever
+ * the number of clients; clients load the full state once per connection and then apply the deltas
+ * with a newer data version than the ETag of their load.
+ * <p>
+ * Events are written by a single feed thread, so ingest never waits on a slow client. When its
+ * queue is full, changes are dropped and clients are told to reload ("resync") instead.
+ */
+@Service
+@Slf4j
+public class CostFeedService {
+
+    static final String CHANGE_EVENT = "costs";
+    static final String RESYNC_EVENT = "resync";
+
+    private final FeedProperties properties;
+    private final CostRecordMapper costRecordMapper;
+    private final ObjectMapper objectMapper;
+    private final CostDataVersion costDataVersion;
+    private final Set<SseEmitter> clients = new CopyOnWriteArraySet<>();
+    private final ThreadPoolExecutor sender;
+    private final AtomicBoolean resyncPending = new AtomicBoolean();
+    private final Counter droppedChanges;
+
+    public CostFeedService(FeedProperties properties, CostRecordMapper costRecordMapper, ObjectMapper objectMapper,
+                           CostDataVersion costDataVersion, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.costRecordMapper = costRecordMapper;
+        this.objectMapper = objectMapper;
+        this.costDataVersion = costDataVersion;
+        this.sender = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.queueCapacity()),
+                runnable -> Thread.ofPlatform().name("cost-feed").daemon().unstarted(runnable),
+                new ThreadPoolExecutor.AbortPolicy());
+        Gauge.builder("finops.feed.clients", clients, Set::size)
+                .description("Dashboards connected to the live cost feed")
+                .register(meterRegistry);
+        this.droppedChanges = Counter.builder("finops.feed.dropped")
+                .description("Changes not pushed because the feed queue was full; clients were told to resync")
+                .register(meterRegistry);
+    }
+
+    // Empty when max-clients are already connected
+    public Optional<SseEmitter> subscribe() {
+        if (clients.size() >= properties.maxClients()) {
+            return Optional.empty();
+        }
+        SseEmitter emitter = new SseEmitter(properties.timeout().toMillis());
+        emitter.onCompletion(() -> clients.remove(emitter));
+        emitter.onTimeout(() -> clients.remove(emitter));
+        emitter.onError(ex -> clients.remove(emitter));
+        clients.add(emitter);
+        return Optional.of(emitter);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCostDataChanged(CostDataChangedEvent event) {
+        if (clients.isEmpty()) {
+            return;
+        }
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(toFeedEvent(event, costDataVersion.committedVersion()));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize cost feed event", ex);
+        }
+        dispatch(SseEmitter.event().name(CHANGE_EVENT).data(json, MediaType.APPLICATION_JSON));
+    }
+
+    // A rebuild can change any total, so clients reload instead of applying a delta
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRollupRebuilt(DailyCostRollupRebuiltEvent event) {
+        if (!clients.isEmpty()) {
+            dispatch(resync());
+        }
+    }
+
+    // Also lets proxies see traffic on idle connections and finds clients that went away
+    @Scheduled(fixedRateString = "${finops.feed.heartbeat:15s}")
+    public void heartbeat() {
+        if (!clients.isEmpty()) {
+            dispatch(SseEmitter.event().comment("heartbeat"));
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        sender.shutdownNow();
+        clients.forEach(SseEmitter::complete);
+    }
+
+    CostFeedEvent toFeedEvent(CostDataChangedEvent event, Long dataVersion) {
+        CostAccumulator<String> byProvider = new CostAccumulator<>();
+        CostAccumulator<String> byService = new CostAccumulator<>();
+        long totalCents = 0;
+        for (CostRecord costRecord : event.added()) {
+            long cents = CostAccumulator.toCents(costRecord.getCostUsd());
+            totalCents = Math.addExact(totalCents, cents);
+            byProvider.add(costRecord.getCloudProvider(), cents);
+            byService.add(costRecord.getServiceName(), cents);
+        }
+        for (CostRecord costRecord : event.removed()) {
+            long cents = -CostAccumulator.toCents(costRecord.getCostUsd());
+            totalCents = Math.addExact(totalCents, cents);
+            byProvider.add(costRecord.getCloudProvider(), cents);
+            byService.add(costRecord.getServiceName(), cents);
+        }
+        CostSummaryResponse summaryDelta = new CostSummaryResponse(
+                BigDecimal.valueOf(totalCents, 2), "USD",
+                (long) event.added().size() - event.removed().size(),
+                totals(byProvider), totals(byService));
+
+        // Bulk COPY/INSERT rows come without generated ids, so clients could not delete them later
+        boolean truncated = event.added().size() + event.removed().size() > properties.maxRecordsPerEvent()
+                || event.added().stream().anyMatch(costRecord -> costRecord.getId() == null);
+        List<CostRecordResponse> added = new ArrayList<>();
+        List<Long> removedIds = new ArrayList<>();
+        if (!truncated) {
+            event.added().forEach(costRecord -> added.add(costRecordMapper.toResponse(costRecord)));
+            event.removed().forEach(costRecord -> removedIds.add(costRecord.getId()));
+        }
+        return new CostFeedEvent(event.added().size(), event.removed().size(), added, removedIds, truncated,
+                summaryDelta, dataVersion);
+    }
+
+    private static Map<String, BigDecimal> totals(CostAccumulator<String> accumulator) {
+        Map<String, BigDecimal> totals = new HashMap<>();
+        for (int slot = 0; slot < accumulator.size(); slot++) {
+            totals.put(accumulator.key(slot), accumulator.total(slot));
+        }
+        return totals;
+    }
+
+    private void dispatch(SseEmitter.SseEventBuilder event) {
+        try {
+            sender.execute(() -> {
+                if (resyncPending.getAndSet(false)) {
+                    sendToAll(resync());
+                }
+                sendToAll(event);
+            });
+        } catch (RejectedExecutionException ex) {
+            droppedChanges.increment();
+            resyncPending.set(true);
+        }
+    }
+
+    private void sendToAll(SseEmitter.SseEventBuilder event) {
+        for (SseEmitter client : clients) {
+            try {
+                client.send(event);
+            } catch (IOException | IllegalStateException ex) {
+                // Disconnected or already completed; the container reports it through onError too
+                clients.remove(client);
+                log.debug("Dropping cost feed client: {}", ex.getMessage());
+            }
+        }
+    }
+
+    private static SseEmitter.SseEventBuilder resync() {
+        return SseEmitter.event().name(RESYNC_EVENT).data("{}", MediaType.APPLICATION_JSON);
+    }
+}
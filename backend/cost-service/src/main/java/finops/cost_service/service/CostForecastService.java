@@ -0,0 +1,58 @@
+package finops.cost_service.service;
+
+import finops.cost_service.config.ForecastProperties;
+import finops.cost_service.dto.CostForecastResponse;
+import finops.cost_service.dto.CostSeriesForecast;
+import finops.cost_service.entity.DailyCostRollupKey;
+import finops.cost_service.repository.CostDimension;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Timed("finops.service")
+public class CostForecastService {
+
+    static final int DEFAULT_LIMIT = 100;
+    static final int MAX_LIMIT = 10_000;
+
+    private final CostSeriesForecaster costSeriesForecaster;
+    private final ForecastProperties properties;
+
+    // Every series is forecast (and cached) whatever the limit; the limit only trims the response
+    public CostForecastResponse getForecast(String groupBy, ForecastMethod method, Integer limit) {
+        CostDimension dimension = CostDimension.fromParameter(groupBy);
+        if (dimension.isTimeBucket()) {
+            throw new IllegalArgumentException("Forecasts are grouped by a dimension, not by " + groupBy);
+        }
+        ForecastMethod forecastMethod = method != null ? method : properties.method();
+        int max = limit == null ? DEFAULT_LIMIT : Math.clamp(limit, 1, MAX_LIMIT);
+        LocalDate asOf = LocalDate.now();
+
+        CostSeriesForecaster.SeriesForecasts forecasts = costSeriesForecaster.forecast(dimension, forecastMethod, asOf);
+        long monthToDate = 0;
+        long monthEnd = 0;
+        for (CostSeriesForecaster.SeriesForecast forecast : forecasts.series()) {
+            monthToDate += forecast.monthToDateCents();
+            monthEnd += forecast.monthEndCents();
+        }
+        List<CostSeriesForecast> series = forecasts.series().stream()
+                .limit(max)
+                .map(forecast -> new CostSeriesForecast(
+                        DailyCostRollupKey.UNASSIGNED.equals(forecast.value()) ? null : forecast.value(),
+                        BigDecimal.valueOf(forecast.monthToDateCents(), 2),
+                        BigDecimal.valueOf(forecast.remainingCents(), 2),
+                        BigDecimal.valueOf(forecast.monthEndCents(), 2)))
+                .toList();
+
+        return new CostForecastResponse(dimension.parameterName(), forecastMethod.name(), asOf,
+                asOf.withDayOfMonth(asOf.lengthOfMonth()), "USD", BigDecimal.valueOf(monthToDate, 2),
+                BigDecimal.valueOf(monthEnd, 2), series, (long) forecasts.series().size(),
+                forecasts.series().size() > series.size());
+    }
+}
@@ -0,0 +1,43 @@
+package finops.cost_service.service;
+
+import finops.cost_service.repository.CostDimension;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Column layout of the Arrow IPC stream used by /api/costs/export and /api/costs/bulk.
+// Names match the cost_records columns so the files read naturally in pyarrow, DuckDB or pandas.
+public final class CostRecordArrowFormat {
+
+    public static final String MEDIA_TYPE = "application/vnd.apache.arrow.stream";
+    public static final String FILE_EXTENSION = ".arrows";
+
+    static final String ID = "id";
+    static final String CLOUD_PROVIDER = "cloud_provider";
+    static final String SERVICE_NAME = "service_name";
+    static final String RESOURCE_ID = "resource_id";
+    static final String RESOURCE_NAME = "resource_name";
+    static final String COST = "cost";
+    static final String CURRENCY = "currency";
+    static final String REGION = "region";
+    static final String ACCOUNT_ID = "account_id";
+    static final String DEPARTMENT = "department";
+    static final String ENVIRONMENT = "environment";
+    static final String USAGE_DATE = "usage_date";
+    static final String CREATED_AT = "created_at";
+
+    // Low-cardinality columns are written as int32 codes into a per-stream dictionary
+    static final Map<String, CostDimension> DICTIONARY_COLUMNS = new LinkedHashMap<>();
+
+    static {
+        DICTIONARY_COLUMNS.put(CLOUD_PROVIDER, CostDimension.PROVIDER);
+        DICTIONARY_COLUMNS.put(SERVICE_NAME, CostDimension.SERVICE);
+        DICTIONARY_COLUMNS.put(REGION, CostDimension.REGION);
+        DICTIONARY_COLUMNS.put(ACCOUNT_ID, CostDimension.ACCOUNT);
+        DICTIONARY_COLUMNS.put(DEPARTMENT, CostDimension.DEPARTMENT);
+        DICTIONARY_COLUMNS.put(ENVIRONMENT, CostDimension.ENVIRONMENT);
+    }
+
+    private CostRecordArrowFormat() {
+    }
+}
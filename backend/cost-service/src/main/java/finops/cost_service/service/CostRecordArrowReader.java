@@ -0,0 +1,112 @@
+package finops.cost_service.service;
+
+import finops.cost_service.dto.CostRecordRequest;
+import org.apache.arrow.compression.CommonsCompressionFactory;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BaseIntVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.ValueVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowStreamReader;
+import org.apache.arrow.vector.types.pojo.DictionaryEncoding;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+import static finops.cost_service.service.CostRecordArrowFormat.*;
+
+// Reads an Arrow IPC stream back into CostRecordRequests. Besides our own export it accepts
+// files from other tools: string columns may be plain or dictionary encoded with any integer
+// index type, cost any decimal, timestamps any unit without time zone. id and created_at are ignored.
+final class CostRecordArrowReader implements AutoCloseable {
+
+    private final BufferAllocator allocator = new RootAllocator();
+    private final ArrowStreamReader reader;
+
+    CostRecordArrowReader(InputStream in) {
+        reader = new ArrowStreamReader(in, allocator, CommonsCompressionFactory.INSTANCE);
+    }
+
+    void forEach(Consumer<CostRecordRequest> consumer) throws IOException {
+        VectorSchemaRoot root = reader.getVectorSchemaRoot();
+        while (reader.loadNextBatch()) {
+            // Dictionaries may be replaced between batches, so columns are resolved per batch
+            IntFunction<String> cloudProvider = stringColumn(root, CLOUD_PROVIDER);
+            IntFunction<String> serviceName = stringColumn(root, SERVICE_NAME);
+            IntFunction<String> resourceId = stringColumn(root, RESOURCE_ID);
+            IntFunction<String> resourceName = stringColumn(root, RESOURCE_NAME);
+            IntFunction<BigDecimal> cost = typedColumn(root, COST, BigDecimal.class);
+            IntFunction<String> currency = stringColumn(root, CURRENCY);
+            IntFunction<String> region = stringColumn(root, REGION);
+            IntFunction<String> accountId = stringColumn(root, ACCOUNT_ID);
+            IntFunction<String> department = stringColumn(root, DEPARTMENT);
+            IntFunction<String> environment = stringColumn(root, ENVIRONMENT);
+            IntFunction<LocalDateTime> usageDate = typedColumn(root, USAGE_DATE, LocalDateTime.class);
+
+            for (int row = 0; row < root.getRowCount(); row++) {
+                consumer.accept(new CostRecordRequest(cloudProvider.apply(row), serviceName.apply(row),
+                        resourceId.apply(row), resourceName.apply(row), cost.apply(row), currency.apply(row),
+                        region.apply(row), accountId.apply(row), department.apply(row), environment.apply(row),
+                        usageDate.apply(row)));
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            reader.close();
+        } finally {
+            allocator.close();
+        }
+    }
+
+    // Missing optional columns read as null and are left to request validation
+    private IntFunction<String> stringColumn(VectorSchemaRoot root, String name) throws IOException {
+        FieldVector vector = root.getVector(name);
+        if (vector == null) {
+            return row -> null;
+        }
+        DictionaryEncoding encoding = vector.getField().getDictionary();
+        if (encoding != null) {
+            String[] values = decode(reader.getDictionaryVectors().get(encoding.getId()).getVector());
+            BaseIntVector codes = (BaseIntVector) vector;
+            return row -> vector.isNull(row) ? null : values[(int) codes.getValueAsLong(row)];
+        }
+        if (vector instanceof VarCharVector varChar) {
+            return row -> varChar.isNull(row) ? null : new String(varChar.get(row), StandardCharsets.UTF_8);
+        }
+        return row -> vector.isNull(row) ? null : String.valueOf(vector.getObject(row));
+    }
+
+    private static <T> IntFunction<T> typedColumn(VectorSchemaRoot root, String name, Class<T> type) {
+        FieldVector vector = root.getVector(name);
+        if (vector == null) {
+            return row -> null;
+        }
+        return row -> {
+            Object value = vector.getObject(row);
+            if (value == null || type.isInstance(value)) {
+                return type.cast(value);
+            }
+            throw new IllegalArgumentException("Column " + name + " has Arrow type " + vector.getField().getType()
+                    + ", expected a " + type.getSimpleName());
+        };
+    }
+
+    private static String[] decode(ValueVector dictionary) {
+        String[] values = new String[dictionary.getValueCount()];
+        for (int i = 0; i < values.length; i++) {
+            Object value = dictionary.getObject(i);
+            values[i] = value == null ? null : value.toString();
+        }
+        return values;
+    }
+}
@@ -0,0 +1,238 @@
+package finops.cost_service.service;
+
+import finops.cost_service.entity.CostRecord;
+import org.apache.arrow.compression.CommonsCompressionFactory;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.DecimalVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.TimeStampMicroVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.compression.CompressionUtil;
+import org.apache.arrow.vector.dictionary.Dictionary;
+import org.apache.arrow.vector.dictionary.DictionaryProvider;
+import org.apache.arrow.vector.ipc.ArrowStreamWriter;
+import org.apache.arrow.vector.ipc.message.IpcOption;
+import org.apache.arrow.vector.types.TimeUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.DictionaryEncoding;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.Schema;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static finops.cost_service.service.CostRecordArrowFormat.*;
+
+// Writes cost records as a ZSTD-compressed Arrow IPC stream, one record batch per batchSize rows.
+// Dictionary values have to be known up front because the stream carries them before the first batch.
+final class CostRecordArrowWriter implements AutoCloseable {
+
+    static final int DEFAULT_BATCH_SIZE = 65_536;
+
+    private static final Map<String, Function<CostRecord, String>> DICTIONARY_VALUES = Map.of(
+            CLOUD_PROVIDER, CostRecord::getCloudProvider,
+            SERVICE_NAME, CostRecord::getServiceName,
+            REGION, CostRecord::getRegion,
+            ACCOUNT_ID, CostRecord::getAccountId,
+            DEPARTMENT, CostRecord::getDepartment,
+            ENVIRONMENT, CostRecord::getEnvironment
+    );
+
+    private record DictionaryColumn(String name, Function<CostRecord, String> value,
+                                    Map<String, Integer> codes, IntVector vector) {
+    }
+
+    private final BufferAllocator allocator = new RootAllocator();
+    private final DictionaryProvider.MapDictionaryProvider dictionaries = new DictionaryProvider.MapDictionaryProvider();
+    private final List<DictionaryColumn> dictionaryColumns = new ArrayList<>();
+    private final VectorSchemaRoot root;
+    private final ArrowStreamWriter writer;
+    private final int batchSize;
+
+    private final BigIntVector id;
+    private final VarCharVector resourceId;
+    private final VarCharVector resourceName;
+    private final DecimalVector cost;
+    private final VarCharVector currency;
+    private final TimeStampMicroVector usageDate;
+    private final TimeStampMicroVector createdAt;
+
+    private int batchRows;
+    private long rowCount;
+
+    CostRecordArrowWriter(OutputStream out, Map<String, ? extends Collection<String>> dictionaryValues,
+                          int batchSize) throws IOException {
+        this.batchSize = batchSize;
+        ArrowType timestamp = new ArrowType.Timestamp(TimeUnit.MICROSECOND, null);
+        Map<String, Map<String, Integer>> codes = new HashMap<>();
+
+        List<Field> fields = new ArrayList<>();
+        fields.add(field(ID, new ArrowType.Int(64, true), false));
+        fields.add(dictionaryField(CLOUD_PROVIDER, dictionaryValues, codes));
+        fields.add(dictionaryField(SERVICE_NAME, dictionaryValues, codes));
+        fields.add(field(RESOURCE_ID, ArrowType.Utf8.INSTANCE, false));
+        fields.add(field(RESOURCE_NAME, ArrowType.Utf8.INSTANCE, false));
+        fields.add(field(COST, new ArrowType.Decimal(10, 2, 128), false));
+        fields.add(field(CURRENCY, ArrowType.Utf8.INSTANCE, false));
+        fields.add(dictionaryField(REGION, dictionaryValues, codes));
+        fields.add(dictionaryField(ACCOUNT_ID, dictionaryValues, codes));
+        fields.add(dictionaryField(DEPARTMENT, dictionaryValues, codes));
+        fields.add(dictionaryField(ENVIRONMENT, dictionaryValues, codes));
+        fields.add(field(USAGE_DATE, timestamp, false));
+        fields.add(field(CREATED_AT, timestamp, false));
+
+        root = VectorSchemaRoot.create(new Schema(fields), allocator);
+        id = (BigIntVector) root.getVector(ID);
+        resourceId = (VarCharVector) root.getVector(RESOURCE_ID);
+        resourceName = (VarCharVector) root.getVector(RESOURCE_NAME);
+        cost = (DecimalVector) root.getVector(COST);
+        currency = (VarCharVector) root.getVector(CURRENCY);
+        usageDate = (TimeStampMicroVector) root.getVector(USAGE_DATE);
+        createdAt = (TimeStampMicroVector) root.getVector(CREATED_AT);
+        for (String name : DICTIONARY_COLUMNS.keySet()) {
+            dictionaryColumns.add(new DictionaryColumn(name, DICTIONARY_VALUES.get(name), codes.get(name),
+                    (IntVector) root.getVector(name)));
+        }
+
+        writer = new ArrowStreamWriter(root, dictionaries, new NonClosingChannel(out), IpcOption.DEFAULT,
+                CommonsCompressionFactory.INSTANCE, CompressionUtil.CodecType.ZSTD);
+        writer.start();
+    }
+
+    void write(CostRecord costRecord) throws IOException {
+        if (batchRows == 0) {
+            root.allocateNew();
+        }
+        int row = batchRows;
+
+        id.setSafe(row, costRecord.getId());
+        for (DictionaryColumn column : dictionaryColumns) {
+            String value = column.value().apply(costRecord);
+            if (value == null) {
+                column.vector().setNull(row);
+                continue;
+            }
+            Integer code = column.codes().get(value);
+            if (code == null) {
+                throw new IllegalStateException("'" + value + "' is missing from the " + column.name() + " dictionary");
+            }
+            column.vector().setSafe(row, code);
+        }
+        setString(resourceId, row, costRecord.getResourceId());
+        setString(resourceName, row, costRecord.getResourceName());
+        cost.setSafe(row, costRecord.getCost().setScale(2, RoundingMode.HALF_UP));
+        setString(currency, row, costRecord.getCurrency());
+        usageDate.setSafe(row, epochMicros(costRecord.getUsageDate()));
+        createdAt.setSafe(row, epochMicros(costRecord.getCreatedAt()));
+
+        rowCount++;
+        if (++batchRows == batchSize) {
+            flush();
+        }
+    }
+
+    long rowCount() {
+        return rowCount;
+    }
+
+    // Ends the stream but leaves the caller's OutputStream open
+    @Override
+    public void close() throws IOException {
+        try {
+            if (batchRows > 0) {
+                flush();
+            }
+            writer.close();
+        } finally {
+            root.close();
+            for (long dictionaryId : dictionaries.getDictionaryIds()) {
+                dictionaries.lookup(dictionaryId).getVector().close();
+            }
+            allocator.close();
+        }
+    }
+
+    private void flush() throws IOException {
+        root.setRowCount(batchRows);
+        writer.writeBatch();
+        batchRows = 0;
+    }
+
+    // ArrowStreamWriter.close() releases its buffers but also closes the channel it writes to
+    private static final class NonClosingChannel implements WritableByteChannel {
+
+        private final WritableByteChannel channel;
+
+        private NonClosingChannel(OutputStream out) {
+            this.channel = Channels.newChannel(out);
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            return channel.write(src);
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private Field dictionaryField(String name, Map<String, ? extends Collection<String>> dictionaryValues,
+                                  Map<String, Map<String, Integer>> codes) {
+        Collection<String> values = dictionaryValues.containsKey(name) ? dictionaryValues.get(name) : List.of();
+        VarCharVector vector = new VarCharVector(name + "_dictionary", allocator);
+        vector.allocateNew(values.size());
+        Map<String, Integer> columnCodes = new HashMap<>();
+        for (String value : values) {
+            int code = columnCodes.size();
+            columnCodes.put(value, code);
+            vector.setSafe(code, value.getBytes(StandardCharsets.UTF_8));
+        }
+        vector.setValueCount(columnCodes.size());
+        codes.put(name, columnCodes);
+
+        ArrowType.Int indexType = new ArrowType.Int(32, true);
+        DictionaryEncoding encoding = new DictionaryEncoding(dictionaries.getDictionaryIds().size(), false, indexType);
+        dictionaries.put(new Dictionary(vector, encoding));
+        // In memory the column holds the int32 codes; the stream schema declares it as utf8 with this dictionary
+        return new Field(name, new FieldType(true, indexType, encoding), null);
+    }
+
+    private static Field field(String name, ArrowType type, boolean nullable) {
+        return new Field(name, new FieldType(nullable, type, null), null);
+    }
+
+    private static void setString(VarCharVector vector, int row, String value) {
+        if (value == null) {
+            vector.setNull(row);
+        } else {
+            vector.setSafe(row, value.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static long epochMicros(LocalDateTime value) {
+        return value.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + value.getNano() / 1_000;
+    }
+}
@@ -0,0 +1,45 @@
+package finops.cost_service.service;
+
+import finops.cost_service.entity.CostRecord;
+import org.springframework.data.domain.ScrollPosition;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Map;
+
+/**
+ * Opaque keyset cursor over (usageDate, id), the sort order of every paginated cost record query.
+ */
+record CostRecordCursor(LocalDateTime usageDate, Long id) {
+
+    static CostRecordCursor of(CostRecord costRecord) {
+        return new CostRecordCursor(costRecord.getUsageDate(), costRecord.getId());
+    }
+
+    static ScrollPosition toScrollPosition(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        CostRecordCursor decoded = decode(cursor);
+        return ScrollPosition.forward(Map.of("usageDate", decoded.usageDate(), "id", decoded.id()));
+    }
+
+    static CostRecordCursor decode(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.indexOf('|');
+            return new CostRecordCursor(
+                    LocalDateTime.parse(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException ex) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    String encode() {
+        String value = usageDate + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
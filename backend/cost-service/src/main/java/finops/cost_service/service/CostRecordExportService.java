@@ -0,0 +1,60 @@
+package finops.cost_service.service;
+
+import finops.cost_service.repository.CostRecordExportRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Timed("finops.service")
+public class CostRecordExportService {
+
+    private final CostRecordExportRepository exportRepository;
+
+    /**
+     * Streams the records with usage dates from startDate to endDate (inclusive) as an Arrow IPC stream.
+     * Runs in one repeatable-read snapshot so the dictionaries taken from the rollup cover every row read.
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public long exportArrow(LocalDate startDate, LocalDate endDate, OutputStream out) throws IOException {
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("startDate must not be after endDate");
+        }
+        long start = System.nanoTime();
+
+        Map<String, List<String>> dictionaries = new HashMap<>();
+        CostRecordArrowFormat.DICTIONARY_COLUMNS.forEach((column, dimension) ->
+                dictionaries.put(column, exportRepository.findDistinctValues(dimension, startDate, endDate)));
+
+        long rows;
+        try (CostRecordArrowWriter writer =
+                     new CostRecordArrowWriter(out, dictionaries, CostRecordArrowWriter.DEFAULT_BATCH_SIZE)) {
+            exportRepository.forEachRecord(startDate.atStartOfDay(), endDate.plusDays(1).atStartOfDay(),
+                    costRecord -> {
+                        try {
+                            writer.write(costRecord);
+                        } catch (IOException ex) {
+                            throw new UncheckedIOException(ex);
+                        }
+                    });
+            rows = writer.rowCount();
+        }
+
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        log.info("Exported {} cost records ({} to {}) as Arrow in {} ms", rows, startDate, endDate, elapsedMillis);
+        return rows;
+    }
+}
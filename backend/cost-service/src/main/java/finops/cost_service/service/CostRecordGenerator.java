@@ -0,0 +1,213 @@
+package finops.cost_service.service;
+
+import finops.cost_service.config.GeneratorProperties;
+import finops.cost_service.entity.CostRecord;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic synthetic billing data for load and performance tests: the same properties and seed
+ * always produce the same records, so runs against different builds or settings are comparable.
+ * <p>
+ * A fixed set of resources bills once a day, every day, day by day. Each resource's provider,
+ * service, account, region, department and environment are drawn with Zipf skew (a few accounts
+ * and services hold most resources, like a real estate) and its daily cost from a lognormal
+ * distribution, so a small share of resources carries most of the spend. Days vary by a little
+ * noise, non-production resources cost a fifth at weekends and about one day in 2000 spikes.
+ * (resource, day) never repeats, so the records satisfy the natural key and can be COPYed as they are.
+ */
+public final class CostRecordGenerator implements Iterator<CostRecord> {
+
+    private static final String[] PROVIDERS = {"AWS", "Azure", "GCP"};
+    private static final String[][] SERVICES = {
+            {"EC2", "S3", "RDS", "Lambda", "EKS", "DynamoDB", "CloudFront", "ElastiCache"},
+            {"Virtual Machines", "Blob Storage", "Azure SQL", "AKS", "Functions", "Cosmos DB"},
+            {"Compute Engine", "Cloud Storage", "BigQuery", "GKE", "Cloud SQL", "Cloud Run"}
+    };
+    private static final String[][] REGIONS = {
+            {"us-east-1", "us-west-2", "eu-west-1", "eu-central-1", "ap-southeast-1"},
+            {"eastus", "westeurope", "northeurope", "southeastasia"},
+            {"us-central1", "europe-west1", "asia-east1"}
+    };
+    private static final String[] DEPARTMENTS = {"Engineering", "Data", "Platform", "Marketing", "Finance", "Sales"};
+    private static final String[] ENVIRONMENTS = {"production", "staging", "dev"};
+
+    // Median daily cost of a resource is about $12; sigma 1.6 puts the top 1% above $500 a day
+    private static final double COST_MU = Math.log(12);
+    private static final double COST_SIGMA = 1.6;
+    private static final double DAILY_NOISE = 0.1;
+    private static final int SPIKE_ONE_IN = 2000;
+    private static final double SPIKE_FACTOR = 5;
+    private static final long MAX_CENTS = 99_999_999_99L; // numeric(10, 2)
+
+    private final SplittableRandom random;
+    private final long records;
+    private final LocalDate firstDay;
+    private final int resourceCount;
+
+    // One entry per resource, fixed for the run
+    private final String[] resourceIds;
+    private final String[] resourceNames;
+    private final byte[] providers;
+    private final String[] services;
+    private final String[] regions;
+    private final String[] resourceAccounts;
+    private final byte[] departments;
+    private final byte[] environments;
+    private final double[] baseCosts;
+
+    private long produced;
+    private int resource;
+    private LocalDateTime usageDate;
+    private boolean weekend;
+
+    public CostRecordGenerator(GeneratorProperties properties) {
+        this(properties.records(), properties.days(), properties.firstDay(), properties.accounts(),
+                properties.skew(), properties.seed());
+    }
+
+    public CostRecordGenerator(long records, int days, LocalDate firstDay, int accounts, double skew, long seed) {
+        if (records < 0 || days < 1 || accounts < 1) {
+            throw new IllegalArgumentException("records must be >= 0, days and accounts >= 1");
+        }
+        this.random = new SplittableRandom(seed);
+        this.records = records;
+        this.firstDay = firstDay;
+        this.resourceCount = Math.toIntExact(Math.max(1, (records + days - 1) / days));
+
+        ZipfSampler providerSampler = new ZipfSampler(PROVIDERS.length, skew);
+        ZipfSampler departmentSampler = new ZipfSampler(DEPARTMENTS.length, skew);
+        ZipfSampler environmentSampler = new ZipfSampler(ENVIRONMENTS.length, skew);
+        ZipfSampler[] serviceSamplers = new ZipfSampler[PROVIDERS.length];
+        ZipfSampler[] regionSamplers = new ZipfSampler[PROVIDERS.length];
+        String[][] accountIds = new String[PROVIDERS.length][];
+        ZipfSampler[] accountSamplers = new ZipfSampler[PROVIDERS.length];
+        int accountsPerProvider = Math.max(1, accounts / PROVIDERS.length);
+        for (int p = 0; p < PROVIDERS.length; p++) {
+            serviceSamplers[p] = new ZipfSampler(SERVICES[p].length, skew);
+            regionSamplers[p] = new ZipfSampler(REGIONS[p].length, skew);
+            accountSamplers[p] = new ZipfSampler(accountsPerProvider, skew);
+            accountIds[p] = new String[accountsPerProvider];
+            for (int a = 0; a < accountsPerProvider; a++) {
+                accountIds[p][a] = accountId(p, a);
+            }
+        }
+
+        resourceIds = new String[resourceCount];
+        resourceNames = new String[resourceCount];
+        providers = new byte[resourceCount];
+        services = new String[resourceCount];
+        regions = new String[resourceCount];
+        resourceAccounts = new String[resourceCount];
+        departments = new byte[resourceCount];
+        environments = new byte[resourceCount];
+        baseCosts = new double[resourceCount];
+        for (int r = 0; r < resourceCount; r++) {
+            int p = providerSampler.sample(random);
+            String service = SERVICES[p][serviceSamplers[p].sample(random)];
+            byte environment = (byte) environmentSampler.sample(random);
+            providers[r] = (byte) p;
+            services[r] = service;
+            regions[r] = REGIONS[p][regionSamplers[p].sample(random)];
+            resourceAccounts[r] = accountIds[p][accountSamplers[p].sample(random)];
+            departments[r] = (byte) departmentSampler.sample(random);
+            environments[r] = environment;
+            baseCosts[r] = Math.exp(COST_MU + COST_SIGMA * random.nextGaussian());
+            resourceIds[r] = PROVIDERS[p].toLowerCase() + "-" + Integer.toHexString(0x1000000 + r);
+            resourceNames[r] = ENVIRONMENTS[environment] + "-"
+                    + service.toLowerCase().replace(' ', '-') + "-" + r;
+        }
+        startDay(0);
+    }
+
+    public int resourceCount() {
+        return resourceCount;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return produced < records;
+    }
+
+    @Override
+    public CostRecord next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        if (resource == resourceCount) {
+            startDay(produced / resourceCount);
+        }
+        int r = resource++;
+        produced++;
+
+        double cost = baseCosts[r] * (1 + DAILY_NOISE * (2 * random.nextDouble() - 1));
+        if (weekend && environments[r] != 0) {
+            cost *= 0.2;
+        }
+        if (random.nextInt(SPIKE_ONE_IN) == 0) {
+            cost *= SPIKE_FACTOR;
+        }
+        long cents = Math.clamp(Math.round(cost * 100), 1, MAX_CENTS);
+
+        int p = providers[r];
+        CostRecord costRecord = new CostRecord();
+        costRecord.setCloudProvider(PROVIDERS[p]);
+        costRecord.setServiceName(services[r]);
+        costRecord.setResourceId(resourceIds[r]);
+        costRecord.setResourceName(resourceNames[r]);
+        costRecord.setCost(BigDecimal.valueOf(cents, 2));
+        costRecord.setCurrency("USD");
+        costRecord.setCostUsd(costRecord.getCost());
+        costRecord.setRegion(regions[r]);
+        costRecord.setAccountId(resourceAccounts[r]);
+        costRecord.setDepartment(DEPARTMENTS[departments[r]]);
+        costRecord.setEnvironment(ENVIRONMENTS[environments[r]]);
+        costRecord.setUsageDate(usageDate);
+        return costRecord;
+    }
+
+    private void startDay(long day) {
+        LocalDate date = firstDay.plusDays(day);
+        usageDate = date.atStartOfDay();
+        weekend = date.getDayOfWeek().getValue() >= 6;
+        resource = 0;
+    }
+
+    // Provider-shaped ids: AWS account numbers, Azure subscription-like GUIDs, GCP project ids
+    private String accountId(int provider, int index) {
+        return switch (provider) {
+            case 0 -> String.format("%012d", 100_000_000_000L + index);
+            case 1 -> String.format("%08x-0000-4000-8000-%012x", index, random.nextLong(1L << 48));
+            default -> "project-" + String.format("%05d", index);
+        };
+    }
+
+    // P(k) proportional to 1 / (k + 1)^skew, sampled by binary search over the cumulative weights
+    private static final class ZipfSampler {
+
+        private final double[] cumulative;
+
+        private ZipfSampler(int size, double skew) {
+            cumulative = new double[size];
+            double total = 0;
+            for (int k = 0; k < size; k++) {
+                total += 1 / Math.pow(k + 1, skew);
+                cumulative[k] = total;
+            }
+            for (int k = 0; k < size; k++) {
+                cumulative[k] /= total;
+            }
+        }
+
+        private int sample(SplittableRandom random) {
+            int index = Arrays.binarySearch(cumulative, random.nextDouble());
+            return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package finops.cost_service.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import finops.cost_service.config.IngestProperties;
+import finops.cost_service.dto.BulkIngestError;
+import finops.cost_service.dto.BulkIngestResponse;
+import finops.cost_service.dto.CostRecordRequest;
+import finops.cost_service.entity.CostRecord;
+import finops.cost_service.event.CostDataChangedEvent;
+import finops.cost_service.repository.CostRecordBatchWriter;
+import finops.cost_service.repository.CostRecordBatchWriter.UpsertResult;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.arrow.vector.ipc.InvalidArrowFileException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Timed("finops.service")
+public class CostRecordIngestService {
+
+    // Upserts that collide with a concurrent writer on the same keys are rolled back and retried
+    private static final int MAX_BATCH_ATTEMPTS = 3;
+
+    private final CostRecordBatchWriter batchWriter;
+    private final CostRecordMapper costRecordMapper;
+    private final CurrencyNormalizer currencyNormalizer;
+    private final DailyCostRollupService dailyCostRollupService;
+    private final CostRecordPartitionService costRecordPartitionService;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final IngestProperties ingestProperties;
+    private final CostRecordMetrics costRecordMetrics;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Reads a JSON array or NDJSON body one record at a time, validates each record and writes the
+     * valid ones in batches of {@code finops.ingest.batch-size}, each batch in its own transaction.
+     */
+    public BulkIngestResponse ingest(InputStream body, BulkIngestMode mode) throws IOException {
+        IngestRun run = new IngestRun(mode);
+        try (MappingIterator<CostRecordRequest> requests =
+                     objectMapper.readerFor(CostRecordRequest.class).readValues(body)) {
+            while (requests.hasNextValue()) {
+                run.accept(requests.nextValue());
+            }
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("Malformed record at index " + run.received + " ("
+                    + run.written() + " records already ingested): " + ex.getOriginalMessage());
+        }
+        return run.finish("JSON");
+    }
+
+    /**
+     * Same as {@link #ingest} for an Arrow IPC stream, e.g. one produced by the export endpoint.
+     */
+    public BulkIngestResponse ingestArrow(InputStream body, BulkIngestMode mode) {
+        IngestRun run = new IngestRun(mode);
+        try (CostRecordArrowReader reader = new CostRecordArrowReader(body)) {
+            reader.forEach(run::accept);
+        } catch (IOException | InvalidArrowFileException ex) {
+            throw new IllegalArgumentException("Malformed Arrow stream after " + run.received + " records ("
+                    + run.written() + " records already ingested): " + ex.getMessage());
+        }
+        return run.finish("Arrow");
+    }
+
+    /**
+     * Writes records built in process, such as {@link CostRecordGenerator}'s, through the same batches.
+     * They are trusted as they are: no request validation.
+     */
+    public BulkIngestResponse ingestRecords(Iterator<CostRecord> records, BulkIngestMode mode) {
+        IngestRun run = new IngestRun(mode);
+        records.forEachRemaining(run::add);
+        return run.finish("generated");
+    }
+
+    // Counters and the pending batch of one ingest request
+    private final class IngestRun {
+
+        private final BulkIngestMode mode;
+        private final long start = System.nanoTime();
+        private final List<BulkIngestError> errors = new ArrayList<>();
+        private final List<CostRecord> batch = new ArrayList<>(ingestProperties.batchSize());
+        private long received;
+        private long inserted;
+        private long updated;
+        private long rejected;
+
+        private IngestRun(BulkIngestMode mode) {
+            this.mode = mode;
+        }
+
+        private void accept(CostRecordRequest request) {
+            long index = received++;
+
+            Set<ConstraintViolation<CostRecordRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                reject(toError(index, violations));
+                return;
+            }
+
+            CostRecord costRecord = costRecordMapper.toEntity(request);
+            try {
+                costRecordPartitionService.requireRetained(costRecord.getUsageDate());
+            } catch (IllegalArgumentException ex) {
+                reject(new BulkIngestError(index, Map.of("usageDate", ex.getMessage())));
+                return;
+            }
+            try {
+                currencyNormalizer.normalize(costRecord);
+            } catch (IllegalArgumentException ex) {
+                reject(new BulkIngestError(index, Map.of("currency", ex.getMessage())));
+                return;
+            }
+            batch.add(costRecord);
+            flushIfFull();
+        }
+
+        private void add(CostRecord costRecord) {
+            received++;
+            currencyNormalizer.normalize(costRecord);
+            batch.add(costRecord);
+            flushIfFull();
+        }
+
+        private void reject(BulkIngestError error) {
+            rejected++;
+            if (errors.size() < ingestProperties.maxReportedErrors()) {
+                errors.add(error);
+            }
+        }
+
+        private void flushIfFull() {
+            if (batch.size() == ingestProperties.batchSize()) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            BatchCounts counts = writeBatch(batch, mode);
+            inserted += counts.inserted();
+            updated += counts.updated();
+            batch.clear();
+        }
+
+        private long written() {
+            return inserted + updated;
+        }
+
+        private BulkIngestResponse finish(String format) {
+            if (!batch.isEmpty()) {
+                flush();
+            }
+
+            long unchanged = received - rejected - written();
+            long elapsedNanos = System.nanoTime() - start;
+            double rowsPerSecond = elapsedNanos > 0 ? (received - rejected) * 1_000_000_000d / elapsedNanos : 0;
+            log.info("Bulk ingest ({}, {}) wrote {} of {} records ({} updated, {} unchanged) in {} ms ({} rows/s)",
+                    format, mode, written(), received, updated, unchanged, elapsedNanos / 1_000_000,
+                    Math.round(rowsPerSecond));
+
+            BulkIngestResponse response = new BulkIngestResponse(mode.name(), received, inserted, updated, unchanged,
+                    rejected, errors, elapsedNanos / 1_000_000, rowsPerSecond);
+            costRecordMetrics.ingested(format, response);
+            return response;
+        }
+    }
+
+    private record BatchCounts(long inserted, long updated) {
+    }
+
+    private BatchCounts writeBatch(List<CostRecord> batch, BulkIngestMode mode) {
+        costRecordPartitionService.ensurePartitionsFor(batch);
+        for (int attempt = 1; ; attempt++) {
+            try {
+                BatchCounts counts = transactionTemplate.execute(status -> write(batch, mode));
+                return counts != null ? counts : new BatchCounts(0, 0);
+            } catch (ConcurrencyFailureException ex) {
+                if (attempt == MAX_BATCH_ATTEMPTS) {
+                    throw ex;
+                }
+                log.info("Retrying {} batch of {} records after a concurrent write (attempt {}): {}",
+                        mode, batch.size(), attempt, ex.getMessage());
+            }
+        }
+    }
+
+    // The records were converted to USD as they were accepted; that only validated them, the rates may have
+    // changed since. Converting again here holds the rates until the batch commits (see CurrencyNormalizer)
+    private BatchCounts write(List<CostRecord> batch, BulkIngestMode mode) {
+        currencyNormalizer.normalizeForWrite(batch);
+        return switch (mode) {
+            case INSERT -> appended(batch, batchWriter.insert(batch));
+            case COPY -> appended(batch, batchWriter.copy(batch));
+            case UPSERT -> upserted(batchWriter.upsert(batch));
+        };
+    }
+
+    private BatchCounts appended(List<CostRecord> batch, int rows) {
+        dailyCostRollupService.recordsAdded(batch);
+        eventPublisher.publishEvent(CostDataChangedEvent.added(batch));
+        return new BatchCounts(rows, 0);
+    }
+
+    private BatchCounts upserted(UpsertResult result) {
+        List<CostRecord> written = result.written();
+        if (written.isEmpty()) {
+            return new BatchCounts(0, 0); // pure replay: nothing to roll up or invalidate
+        }
+        // Overwritten rows leave the rollup first, so a changed cost or dimension moves rather than adds up
+        if (!result.replaced().isEmpty()) {
+            dailyCostRollupService.recordsRemoved(result.replaced());
+        }
+        dailyCostRollupService.recordsAdded(written);
+        eventPublisher.publishEvent(CostDataChangedEvent.replaced(written, result.replaced()));
+        return new BatchCounts(result.inserted().size(), result.updated().size());
+    }
+
+    private BulkIngestError toError(long index, Set<ConstraintViolation<CostRecordRequest>> violations) {
+        Map<String, String> fieldErrors = new HashMap<>();
+        violations.forEach(violation ->
+                fieldErrors.put(violation.getPropertyPath().toString(), violation.getMessage()));
+        return new BulkIngestError(index, fieldErrors);
+    }
+}
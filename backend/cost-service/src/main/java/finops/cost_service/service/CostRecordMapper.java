@@ -0,0 +1,45 @@
+package finops.cost_service.service;
+
+import finops.cost_service.dto.CostRecordRequest;
+import finops.cost_service.dto.CostRecordResponse;
+import finops.cost_service.entity.CostRecord;
+import org.springframework.stereotype.Component;
+
+@Component
+public class CostRecordMapper {
+
+    public CostRecord toEntity(CostRecordRequest request) {
+        CostRecord costRecord = new CostRecord();
+        costRecord.setCloudProvider(request.getCloudProvider());
+        costRecord.setServiceName(request.getServiceName());
+        costRecord.setResourceId(request.getResourceId());
+        costRecord.setResourceName(request.getResourceName());
+        costRecord.setCost(request.getCost());
+        costRecord.setCurrency(request.getCurrency());
+        costRecord.setRegion(request.getRegion());
+        costRecord.setAccountId(request.getAccountId());
+        costRecord.setDepartment(request.getDepartment());
+        costRecord.setEnvironment(request.getEnvironment());
+        costRecord.setUsageDate(request.getUsageDate());
+        return costRecord;
+    }
+
+    public CostRecordResponse toResponse(CostRecord costRecord) {
+        CostRecordResponse response = new CostRecordResponse();
+        response.setId(costRecord.getId());
+        response.setCloudProvider(costRecord.getCloudProvider());
+        response.setServiceName(costRecord.getServiceName());
+        response.setResourceId(costRecord.getResourceId());
+        response.setResourceName(costRecord.getResourceName());
+        response.setCost(costRecord.getCost());
+        response.setCurrency(costRecord.getCurrency());
+        response.setCostUsd(costRecord.getCostUsd());
+        response.setRegion(costRecord.getRegion());
+        response.setAccountId(costRecord.getAccountId());
+        response.setDepartment(costRecord.getDepartment());
+        response.setEnvironment(costRecord.getEnvironment());
+        response.setUsageDate(costRecord.getUsageDate());
+        response.setCreatedAt(costRecord.getCreatedAt());
+        return response;
+    }
+}
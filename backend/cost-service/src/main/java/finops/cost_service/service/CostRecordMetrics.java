@@ -0,0 +1,71 @@
+package finops.cost_service.service;
+
+import finops.cost_service.dto.BulkIngestResponse;
+import finops.cost_service.dto.CostRecordResponse;
+import finops.cost_service.entity.CostRecord;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Meters for the record read and ingest paths, next to the per-method {@code finops.service} timers.
+ * Subtracting {@code finops.cost_records.mapping} from a service method's time leaves the query and
+ * entity hydration; http.server.requests minus the service method is mostly JSON serialization.
+ */
+@Component
+@RequiredArgsConstructor
+class CostRecordMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    // Entities already loaded by the query are turned into responses under a timer of their own
+    List<CostRecordResponse> map(String operation, List<CostRecord> records,
+                                 Function<CostRecord, CostRecordResponse> mapper) {
+        List<CostRecordResponse> responses = Timer.builder("finops.cost_records.mapping")
+                .description("Time spent mapping loaded cost records to responses")
+                .tag("operation", operation)
+                .register(meterRegistry)
+                .record(() -> {
+                    List<CostRecordResponse> mapped = new ArrayList<>(records.size());
+                    records.forEach(record -> mapped.add(mapper.apply(record)));
+                    return mapped;
+                });
+        returned(operation, records.size());
+        return responses;
+    }
+
+    // Rows per response; cached responses are not counted (see cache.gets)
+    void returned(String operation, long rows) {
+        DistributionSummary.builder("finops.cost_records.returned")
+                .description("Cost records returned per read")
+                .baseUnit("rows")
+                .tag("operation", operation)
+                .register(meterRegistry)
+                .record(rows);
+    }
+
+    void ingested(String format, BulkIngestResponse response) {
+        ingested(format, response.getMode(), "inserted", response.getInserted());
+        ingested(format, response.getMode(), "updated", response.getUpdated());
+        ingested(format, response.getMode(), "unchanged", response.getUnchanged());
+        ingested(format, response.getMode(), "rejected", response.getRejected());
+    }
+
+    private void ingested(String format, String mode, String outcome, long rows) {
+        Counter.builder("finops.cost_records.ingested")
+                .description("Cost records received by bulk ingest, by outcome")
+                .baseUnit("rows")
+                .tag("format", format)
+                .tag("mode", mode)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment(rows);
+    }
+}
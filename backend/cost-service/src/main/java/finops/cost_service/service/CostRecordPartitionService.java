@@ -0,0 +1,129 @@
+package finops.cost_service.service;
+
+import finops.cost_service.config.PartitionProperties;
+import finops.cost_service.entity.CostRecord;
+import finops.cost_service.repository.CostRecordPartitionRepository;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+@Slf4j
+public class CostRecordPartitionService {
+
+    private final CostRecordPartitionRepository partitionRepository;
+    private final PartitionProperties properties;
+    private final TransactionTemplate ddlTransaction;
+    private final EntityManagerFactory entityManagerFactory;
+    private final CostDataVersion costDataVersion;
+
+    // Months known to have a partition, so the write path only pays for a lookup when a month is new
+    private final Set<YearMonth> knownMonths = ConcurrentHashMap.newKeySet();
+
+    public CostRecordPartitionService(CostRecordPartitionRepository partitionRepository,
+                                      PartitionProperties properties,
+                                      PlatformTransactionManager transactionManager,
+                                      EntityManagerFactory entityManagerFactory,
+                                      CostDataVersion costDataVersion) {
+        this.partitionRepository = partitionRepository;
+        this.properties = properties;
+        this.entityManagerFactory = entityManagerFactory;
+        this.costDataVersion = costDataVersion;
+        // Partitions are created in their own transaction, so a rolled back write cannot leave
+        // knownMonths pointing at a partition that was never committed
+        this.ddlTransaction = new TransactionTemplate(transactionManager);
+        this.ddlTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // Call before writing rows; inserting into a month without a partition fails
+    public void ensurePartitionsFor(Collection<CostRecord> records) {
+        SortedSet<YearMonth> missing = new TreeSet<>();
+        for (CostRecord costRecord : records) {
+            YearMonth month = YearMonth.from(costRecord.getUsageDate());
+            if (!knownMonths.contains(month)) {
+                requireRetained(costRecord.getUsageDate());
+                missing.add(month);
+            }
+        }
+        if (!missing.isEmpty()) {
+            ensurePartitions(missing);
+        }
+    }
+
+    /**
+     * Rejects usage dates in months retention has removed. A write there would create the month's
+     * partition again, next to the one already archived, and the next retention run would fail on it.
+     *
+     * @throws IllegalArgumentException if the usage date is before the oldest month kept
+     */
+    public void requireRetained(LocalDateTime usageDate) {
+        if (properties.retentionMonths() > 0) {
+            YearMonth oldestKept = YearMonth.now().minusMonths(properties.retentionMonths());
+            if (YearMonth.from(usageDate).isBefore(oldestKept)) {
+                throw new IllegalArgumentException("Usage date " + usageDate.toLocalDate()
+                        + " is before " + oldestKept + ", the oldest month kept");
+            }
+        }
+    }
+
+    @Scheduled(cron = "${finops.partitions.maintenance-cron:0 0 3 * * *}")
+    public void maintain() {
+        // Runs at startup too: months partitioned before a restart need no lookup on their first write
+        knownMonths.addAll(partitionRepository.findPartitions().keySet());
+        YearMonth current = YearMonth.now();
+        SortedSet<YearMonth> upcoming = new TreeSet<>();
+        for (int i = 0; i <= properties.monthsAhead(); i++) {
+            upcoming.add(current.plusMonths(i));
+        }
+        ensurePartitions(upcoming);
+
+        if (properties.retentionMonths() > 0) {
+            applyRetention(current.minusMonths(properties.retentionMonths()));
+        }
+    }
+
+    private void ensurePartitions(SortedSet<YearMonth> months) {
+        ddlTransaction.executeWithoutResult(status -> months.forEach(partitionRepository::ensurePartition));
+        knownMonths.addAll(months);
+    }
+
+    // Raw rows older than the cutoff leave cost_records; daily_cost_rollup keeps their totals
+    private void applyRetention(YearMonth oldestKept) {
+        boolean removed = false;
+        for (Map.Entry<YearMonth, String> partition : partitionRepository.findPartitions().entrySet()) {
+            if (!partition.getKey().isBefore(oldestKept)) {
+                break;
+            }
+            removed = true;
+            String table = partition.getValue();
+            partitionRepository.detach(table);
+            knownMonths.remove(partition.getKey());
+            if (properties.retentionAction() == PartitionProperties.RetentionAction.ARCHIVE) {
+                partitionRepository.moveToSchema(table, properties.archiveSchema());
+                log.info("Archived cost_records partition {} to schema {}", table, properties.archiveSchema());
+            } else {
+                partitionRepository.drop(table);
+                log.info("Dropped cost_records partition {}", table);
+            }
+        }
+        if (removed) {
+            // Whole months left the table behind Hibernate's back; no-op unless the second-level cache is on
+            entityManagerFactory.getCache().evict(CostRecord.class);
+            costDataVersion.increment();
+            costDataVersion.changed();
+        }
+    }
+}
@@ -1,141 +1,234 @@
 package finops.cost_service.service;
 
+import finops.cost_service.config.CacheConfig;
+import finops.cost_service.dto.CostRecordPage;
 import finops.cost_service.dto.CostRecordRequest;
 import finops.cost_service.dto.CostRecordResponse;
 import finops.cost_service.dto.CostSummaryResponse;
 import finops.cost_service.entity.CostRecord;
+import finops.cost_service.event.CostDataChangedEvent;
+import finops.cost_service.repository.CostBreakdownRow;
 import finops.cost_service.repository.CostRecordRepository;
+import finops.cost_service.repository.DailyCostRollupRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
+@Timed("finops.service")
 public class CostRecordService {
 
-    private final CostRecordRepository costRecordRepository;
+    private static final int GROUPED_BY_PROVIDER = 1;
+    private static final int GROUPED_BY_SERVICE = 2;
+    private static final int GRAND_TOTAL = 3;
+    private static final int MAX_PAGE_SIZE = 1000;
 
-    @Transactional
+    private final CostRecordRepository costRecordRepository;
+    private final DailyCostRollupRepository dailyCostRollupRepository;
+    private final DailyCostRollupService dailyCostRollupService;
+    private final CostRecordPartitionService costRecordPartitionService;
+    private final CostRecordMapper costRecordMapper;
+    private final CurrencyNormalizer currencyNormalizer;
+    private final CostRecordMetrics costRecordMetrics;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    // The partition is created before the write transaction opens: its DDL runs in a transaction of
+    // its own, which would otherwise hold a second pooled connection while this one waits
     public CostRecordResponse createCostRecord(CostRecordRequest request) {
-        CostRecord costRecord = new CostRecord();
-        costRecord.setCloudProvider(request.getCloudProvider());
-        costRecord.setServiceName(request.getServiceName());
-        costRecord.setResourceId(request.getResourceId());
-        costRecord.setResourceName(request.getResourceName());
-        costRecord.setCost(request.getCost());
-        costRecord.setCurrency(request.getCurrency());
-        costRecord.setRegion(request.getRegion());
-        costRecord.setAccountId(request.getAccountId());
-        costRecord.setDepartment(request.getDepartment());
-        costRecord.setEnvironment(request.getEnvironment());
-        costRecord.setUsageDate(request.getUsageDate());
-
-        CostRecord saved = costRecordRepository.save(costRecord);
-        return toResponse(saved);
+        CostRecord costRecord = costRecordMapper.toEntity(request);
+        costRecordPartitionService.ensurePartitionsFor(List.of(costRecord));
+        return transactionTemplate.execute(status -> {
+            currencyNormalizer.normalizeForWrite(List.of(costRecord));
+            CostRecord saved = costRecordRepository.save(costRecord);
+            dailyCostRollupService.recordsAdded(List.of(saved));
+            eventPublisher.publishEvent(CostDataChangedEvent.added(List.of(saved)));
+            return costRecordMapper.toResponse(saved);
+        });
     }
 
+    // Whole lists grow with the table, so they are not cached; the paged and streaming variants are
     @Transactional(readOnly = true)
     public List<CostRecordResponse> getAllCostRecords() {
-        return costRecordRepository.findAll()
-                .stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+        return costRecordMetrics.map("all", costRecordRepository.findAll(), costRecordMapper::toResponse);
     }
 
     @Transactional(readOnly = true)
     public CostRecordResponse getCostRecordById(Long id) {
         CostRecord costRecord = costRecordRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Cost record not found with id: " + id));
-        return toResponse(costRecord);
+        return costRecordMapper.toResponse(costRecord);
     }
 
     @Transactional(readOnly = true)
     public List<CostRecordResponse> getCostRecordsByProvider(String provider) {
-        return costRecordRepository.findByCloudProvider(provider)
-                .stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+        return costRecordMetrics.map("provider", costRecordRepository.findByCloudProvider(provider), costRecordMapper::toResponse);
     }
 
     @Transactional(readOnly = true)
     public List<CostRecordResponse> getCostRecordsByService(String service) {
-        return costRecordRepository.findByServiceName(service)
-                .stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+        return costRecordMetrics.map("service", costRecordRepository.findByServiceName(service), costRecordMapper::toResponse);
     }
 
     @Transactional(readOnly = true)
     public List<CostRecordResponse> getCostRecordsByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
-        return costRecordRepository.findByUsageDateBetween(startDate, endDate)
-                .stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+        return costRecordMetrics.map("date-range", costRecordRepository.findByUsageDateBetween(startDate, endDate), costRecordMapper::toResponse);
     }
 
     @Transactional(readOnly = true)
-    public CostSummaryResponse getCostSummary() {
-        List<CostRecord> allRecords = costRecordRepository.findAll();
+    @Cacheable(cacheNames = CacheConfig.COST_RECORD_PAGES,
+            key = "{@costDataVersion.snapshot(), 'all', #cursor, #size}")
+    public CostRecordPage getCostRecordPage(String cursor, int size) {
+        return toPage("page:all", costRecordRepository.findAllByOrderByUsageDateAscIdAsc(
+                CostRecordCursor.toScrollPosition(cursor), pageLimit(size)));
+    }
+
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.COST_RECORD_PAGES,
+            key = "{@costDataVersion.snapshot(), 'provider', #provider, #cursor, #size}")
+    public CostRecordPage getCostRecordPageByProvider(String provider, String cursor, int size) {
+        return toPage("page:provider", costRecordRepository.findByCloudProviderOrderByUsageDateAscIdAsc(
+                provider, CostRecordCursor.toScrollPosition(cursor), pageLimit(size)));
+    }
+
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.COST_RECORD_PAGES,
+            key = "{@costDataVersion.snapshot(), 'service', #service, #cursor, #size}")
+    public CostRecordPage getCostRecordPageByService(String service, String cursor, int size) {
+        return toPage("page:service", costRecordRepository.findByServiceNameOrderByUsageDateAscIdAsc(
+                service, CostRecordCursor.toScrollPosition(cursor), pageLimit(size)));
+    }
+
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.COST_RECORD_PAGES,
+            key = "{@costDataVersion.snapshot(), 'range', #startDate, #endDate, #cursor, #size}")
+    public CostRecordPage getCostRecordPageByDateRange(LocalDateTime startDate, LocalDateTime endDate,
+                                                       String cursor, int size) {
+        return toPage("page:date-range", costRecordRepository.findByUsageDateBetweenOrderByUsageDateAscIdAsc(
+                startDate, endDate, CostRecordCursor.toScrollPosition(cursor), pageLimit(size)));
+    }
+
+    @Transactional(readOnly = true)
+    public void streamAllCostRecords(Consumer<CostRecordResponse> sink) {
+        try (Stream<CostRecord> records = costRecordRepository.streamAll()) {
+            forEachDetached("stream:all", records, sink);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void streamCostRecordsByProvider(String provider, Consumer<CostRecordResponse> sink) {
+        try (Stream<CostRecord> records = costRecordRepository.streamByCloudProvider(provider)) {
+            forEachDetached("stream:provider", records, sink);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void streamCostRecordsByService(String service, Consumer<CostRecordResponse> sink) {
+        try (Stream<CostRecord> records = costRecordRepository.streamByServiceName(service)) {
+            forEachDetached("stream:service", records, sink);
+        }
+    }
 
-        BigDecimal totalCost = costRecordRepository.getTotalCost();
-        if (totalCost == null) {
-            totalCost = BigDecimal.ZERO;
+    @Transactional(readOnly = true)
+    public void streamCostRecordsByDateRange(LocalDateTime startDate, LocalDateTime endDate,
+                                             Consumer<CostRecordResponse> sink) {
+        try (Stream<CostRecord> records = costRecordRepository.streamByUsageDateBetween(startDate, endDate)) {
+            forEachDetached("stream:date-range", records, sink);
         }
+    }
+
+    // Summaries are served from daily_cost_rollup, which is orders of magnitude smaller than cost_records
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.COST_SUMMARY, key = "@costDataVersion.snapshot()")
+    public CostSummaryResponse getCostSummary() {
+        return toSummary(dailyCostRollupRepository.getCostBreakdown());
+    }
+
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.COST_SUMMARY_BY_DATE_RANGE,
+            key = "{@costDataVersion.snapshot(), #startDate, #endDate}")
+    public CostSummaryResponse getCostSummaryByDateRange(LocalDate startDate, LocalDate endDate) {
+        return toSummary(dailyCostRollupRepository.getCostBreakdownBetween(startDate, endDate));
+    }
 
-        // Cost by provider
-        Map<String, BigDecimal> costByProvider = allRecords.stream()
-                .collect(Collectors.groupingBy(
-                        CostRecord::getCloudProvider,
-                        Collectors.reducing(BigDecimal.ZERO, CostRecord::getCost, BigDecimal::add)
-                ));
+    @Transactional
+    public void deleteCostRecord(Long id) {
+        CostRecord costRecord = costRecordRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Cost record not found with id: " + id));
+        costRecordRepository.delete(costRecord);
+        dailyCostRollupService.recordsRemoved(List.of(costRecord));
+        eventPublisher.publishEvent(CostDataChangedEvent.removed(List.of(costRecord)));
+    }
 
-        // Cost by service
-        Map<String, BigDecimal> costByService = allRecords.stream()
-                .collect(Collectors.groupingBy(
-                        CostRecord::getServiceName,
-                        Collectors.reducing(BigDecimal.ZERO, CostRecord::getCost, BigDecimal::add)
-                ));
+    private CostSummaryResponse toSummary(List<CostBreakdownRow> rows) {
+        BigDecimal totalCost = BigDecimal.ZERO;
+        long totalRecords = 0;
+        Map<String, BigDecimal> costByProvider = new HashMap<>();
+        Map<String, BigDecimal> costByService = new HashMap<>();
+
+        // Totals, per-provider and per-service sums come back from a single GROUPING SETS scan
+        for (CostBreakdownRow row : rows) {
+            BigDecimal cost = row.getTotalCost() != null ? row.getTotalCost() : BigDecimal.ZERO;
+            switch (row.getGroupingId()) {
+                case GROUPED_BY_PROVIDER -> costByProvider.put(row.getCloudProvider(), cost);
+                case GROUPED_BY_SERVICE -> costByService.put(row.getServiceName(), cost);
+                case GRAND_TOTAL -> {
+                    totalCost = cost;
+                    totalRecords = row.getRecordCount();
+                }
+                default -> throw new IllegalStateException("Unexpected grouping id: " + row.getGroupingId());
+            }
+        }
 
         CostSummaryResponse summary = new CostSummaryResponse();
         summary.setTotalCost(totalCost);
         summary.setCurrency("USD");
-        summary.setTotalRecords((long) allRecords.size());
+        summary.setTotalRecords(totalRecords);
         summary.setCostByProvider(costByProvider);
         summary.setCostByService(costByService);
 
         return summary;
     }
 
-    @Transactional
-    public void deleteCostRecord(Long id) {
-        if (!costRecordRepository.existsById(id)) {
-            throw new RuntimeException("Cost record not found with id: " + id);
-        }
-        costRecordRepository.deleteById(id);
-    }
-
-    private CostRecordResponse toResponse(CostRecord costRecord) {
-        CostRecordResponse response = new CostRecordResponse();
-        response.setId(costRecord.getId());
-        response.setCloudProvider(costRecord.getCloudProvider());
-        response.setServiceName(costRecord.getServiceName());
-        response.setResourceId(costRecord.getResourceId());
-        response.setResourceName(costRecord.getResourceName());
-        response.setCost(costRecord.getCost());
-        response.setCurrency(costRecord.getCurrency());
-        response.setRegion(costRecord.getRegion());
-        response.setAccountId(costRecord.getAccountId());
-        response.setDepartment(costRecord.getDepartment());
-        response.setEnvironment(costRecord.getEnvironment());
-        response.setUsageDate(costRecord.getUsageDate());
-        response.setCreatedAt(costRecord.getCreatedAt());
-        return response;
+    private CostRecordPage toPage(String operation, Window<CostRecord> window) {
+        List<CostRecord> records = window.getContent();
+        String nextCursor = window.hasNext() && !records.isEmpty()
+                ? CostRecordCursor.of(records.get(records.size() - 1)).encode()
+                : null;
+        List<CostRecordResponse> items = costRecordMetrics.map(operation, records, costRecordMapper::toResponse);
+        return new CostRecordPage(items, nextCursor);
+    }
+
+    private Limit pageLimit(int size) {
+        return Limit.of(Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
+    }
+
+    // Detach each row once it has been handed off so the persistence context stays empty while streaming
+    private void forEachDetached(String operation, Stream<CostRecord> records, Consumer<CostRecordResponse> sink) {
+        long[] rows = {0};
+        records.forEach(costRecord -> {
+            sink.accept(costRecordMapper.toResponse(costRecord));
+            entityManager.detach(costRecord);
+            rows[0]++;
+        });
+        costRecordMetrics.returned(operation, rows[0]);
     }
 }
\ No newline at end of file
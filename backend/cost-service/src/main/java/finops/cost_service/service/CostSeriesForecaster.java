@@ -0,0 +1,103 @@
+package finops.cost_service.service;
+
+import finops.cost_service.config.CacheConfig;
+import finops.cost_service.config.ForecastProperties;
+import finops.cost_service.repository.CostDimension;
+import finops.cost_service.repository.CostSeriesRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+// Projects every series of one dimension to month end in a single pass over the rollup, then fits
+// the series in parallel on a fork-join pool of its own, so a large run never competes with the
+// common pool (parallel streams, the cost cube). Results are cached per dimension, method and day
+// until the next committed change clears them (CostCacheInvalidator); concurrent misses wait for
+// one computation instead of each running their own.
+@Component
+@Slf4j
+public class CostSeriesForecaster {
+
+    // Cents; unassigned dimension values are ''
+    public record SeriesForecast(String value, long monthToDateCents, long remainingCents) {
+
+        public long monthEndCents() {
+            return monthToDateCents + remainingCents;
+        }
+    }
+
+    // series is ordered biggest month-end forecast first
+    public record SeriesForecasts(LocalDate asOf, ForecastMethod method, List<SeriesForecast> series,
+                                  Map<String, SeriesForecast> byValue) {
+    }
+
+    private final CostSeriesRepository costSeriesRepository;
+    private final ForecastProperties properties;
+    private final ForkJoinPool pool;
+
+    public CostSeriesForecaster(CostSeriesRepository costSeriesRepository, ForecastProperties properties) {
+        this.costSeriesRepository = costSeriesRepository;
+        this.properties = properties;
+        int parallelism = properties.parallelism() > 0
+                ? properties.parallelism()
+                : Runtime.getRuntime().availableProcessors();
+        this.pool = new ForkJoinPool(parallelism, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("cost-forecast-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.COST_FORECASTS, sync = true,
+            key = "{@costDataVersion.snapshot(), #dimension, #method, #asOf}")
+    public SeriesForecasts forecast(CostDimension dimension, ForecastMethod method, LocalDate asOf) {
+        long start = System.nanoTime();
+        SeriesProjector projector = new SeriesProjector(method, properties.historyDays(), asOf);
+        int days = projector.days();
+
+        // Future-dated rows are left out: the projection starts the day after asOf
+        Map<String, long[]> series = new HashMap<>();
+        costSeriesRepository.forEachDailyTotal(dimension, projector.firstDay(), total -> {
+            int slot = projector.slot(total.day());
+            if (slot < days) {
+                series.computeIfAbsent(total.value(), value -> new long[days])[slot] +=
+                        CostAccumulator.toCents(total.totalCost());
+            }
+        });
+
+        String[] values = series.keySet().toArray(String[]::new);
+        SeriesForecast[] forecasts = new SeriesForecast[values.length];
+        pool.submit(() -> IntStream.range(0, values.length).parallel().forEach(i -> {
+            SeriesProjector.Projection projection = projector.project(series.get(values[i]));
+            forecasts[i] = new SeriesForecast(values[i], projection.monthToDateCents(), projection.remainingCents());
+        })).join();
+
+        List<SeriesForecast> ordered = Arrays.stream(forecasts)
+                .sorted(Comparator.comparingLong(SeriesForecast::monthEndCents).reversed()
+                        .thenComparing(SeriesForecast::value))
+                .toList();
+        log.debug("Forecast {} {} series as of {} in {} ms", values.length, dimension.parameterName(), asOf,
+                (System.nanoTime() - start) / 1_000_000);
+        return new SeriesForecasts(asOf, method, ordered,
+                ordered.stream().collect(Collectors.toUnmodifiableMap(SeriesForecast::value, Function.identity())));
+    }
+}
@@ -0,0 +1,103 @@
+package finops.cost_service.service;
+
+import finops.cost_service.config.CacheConfig;
+import finops.cost_service.entity.CostRecord;
+import finops.cost_service.event.FxRatesChangedEvent;
+import finops.cost_service.repository.DataVersionRepository;
+import finops.cost_service.repository.FxRateRepository;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Converts costs to USD as they are ingested, so every total downstream (rollup, cube, summaries,
+// aggregates, forecasts) adds up one currency without looking at rates again. USD costs are taken
+// as they are; other currencies use the rate of the usage day, cached per (rates version, currency, day)
+// in the fxRates cache: a batch spanning a few currencies and days costs a handful of queries, whatever
+// its size.
+// The rates version is the fx_rates row of data_versions, which PUT /api/fx-rates increments before it
+// touches a rate. Writers of cost records convert inside their transaction with normalizeForWrite, which
+// holds that row FOR SHARE: a write either commits before a rate change and is converted again by it, or
+// waits for the change and converts at the new rates. normalize alone only validates ahead of the write.
+@Component
+public class CurrencyNormalizer {
+
+    public static final String USD = "USD";
+
+    private record RateKey(long ratesVersion, String currency, LocalDate day) {
+    }
+
+    private final FxRateRepository fxRateRepository;
+    private final DataVersionRepository dataVersionRepository;
+    private final Cache rates;
+    // Latest rates version a write has seen; normalize outside a write uses it
+    private final AtomicLong ratesVersion = new AtomicLong();
+
+    public CurrencyNormalizer(FxRateRepository fxRateRepository, DataVersionRepository dataVersionRepository,
+                              CacheManager cacheManager) {
+        this.fxRateRepository = fxRateRepository;
+        this.dataVersionRepository = dataVersionRepository;
+        this.rates = Objects.requireNonNull(cacheManager.getCache(CacheConfig.FX_RATES));
+    }
+
+    /**
+     * Converts the records at the rates committed now and keeps them from changing until the calling
+     * transaction ends. Call inside the transaction that writes the records.
+     *
+     * @throws IllegalArgumentException if there is no rate for a record's currency on or before its day
+     */
+    public void normalizeForWrite(Collection<CostRecord> costRecords) {
+        long version = dataVersionRepository.lockShared(DataVersionRepository.FX_RATES);
+        ratesVersion.accumulateAndGet(version, Math::max);
+        costRecords.forEach(costRecord -> normalize(costRecord, version));
+    }
+
+    /**
+     * Sets {@code costUsd} from the record's cost, currency and usage day.
+     *
+     * @throws IllegalArgumentException if there is no rate for the currency on or before that day
+     */
+    public void normalize(CostRecord costRecord) {
+        normalize(costRecord, ratesVersion.get());
+    }
+
+    public BigDecimal toUsd(BigDecimal amount, String currency, LocalDate day) {
+        return toUsd(amount, currency, day, ratesVersion.get());
+    }
+
+    private void normalize(CostRecord costRecord, long version) {
+        costRecord.setCostUsd(toUsd(costRecord.getCost(), costRecord.getCurrency(),
+                costRecord.getUsageDate().toLocalDate(), version));
+    }
+
+    private BigDecimal toUsd(BigDecimal amount, String currency, LocalDate day, long version) {
+        if (USD.equalsIgnoreCase(currency)) {
+            return amount;
+        }
+        String code = currency.toUpperCase(Locale.ROOT);
+        BigDecimal rate = rate(version, code, day).orElseThrow(() -> new IllegalArgumentException(
+                "No exchange rate from " + code + " to USD on or before " + day));
+        return amount.multiply(rate).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    // Missing rates are cached too, so a batch in an unknown currency does not query once per record
+    Optional<BigDecimal> rate(long version, String currency, LocalDate day) {
+        return rates.get(new RateKey(version, currency, day),
+                () -> fxRateRepository.findRateOnOrBefore(currency, day));
+    }
+
+    // Entries under older versions are never looked up again; this only frees them before they expire
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFxRatesChanged(FxRatesChangedEvent event) {
+        rates.clear();
+    }
+}
@@ -0,0 +1,109 @@
+package finops.cost_service.service;
+
+import finops.cost_service.dto.RollupRebuildResponse;
+import finops.cost_service.entity.CostRecord;
+import finops.cost_service.entity.DailyCostRollupKey;
+import finops.cost_service.event.DailyCostRollupRebuiltEvent;
+import finops.cost_service.repository.CostRecordRepository;
+import finops.cost_service.repository.DailyCostRollupRepository;
+import finops.cost_service.repository.DailyCostRollupWriter;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Timed("finops.service")
+public class DailyCostRollupService {
+
+    private final DailyCostRollupWriter rollupWriter;
+    private final DailyCostRollupRepository rollupRepository;
+    private final CostRecordRepository costRecordRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Runs in the transaction that wrote the raw rows so the rollup never drifts from cost_records
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordsAdded(Collection<CostRecord> records) {
+        applyDeltas(records, false);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordsRemoved(Collection<CostRecord> records) {
+        applyDeltas(records, true);
+    }
+
+    public RollupRebuildResponse rebuildAll() {
+        LocalDateTime earliest = costRecordRepository.findEarliestUsageDate();
+        LocalDateTime latest = costRecordRepository.findLatestUsageDate();
+        if (earliest == null || latest == null) {
+            return new RollupRebuildResponse(null, null, 0, 0);
+        }
+        return rebuild(earliest.toLocalDate(), latest.toLocalDate());
+    }
+
+    // Rebuilds [startDate, endDate] from cost_records one month per transaction
+    public RollupRebuildResponse rebuild(LocalDate startDate, LocalDate endDate) {
+        long start = System.nanoTime();
+        long groups = 0;
+        LocalDate endExclusive = endDate.plusDays(1);
+        for (LocalDate chunkStart = startDate; chunkStart.isBefore(endExclusive); ) {
+            LocalDate chunkEnd = chunkStart.withDayOfMonth(1).plusMonths(1);
+            if (chunkEnd.isAfter(endExclusive)) {
+                chunkEnd = endExclusive;
+            }
+            LocalDate from = chunkStart;
+            LocalDate to = chunkEnd;
+            Integer written = transactionTemplate.execute(status -> rollupWriter.rebuild(from, to));
+            groups += written != null ? written : 0;
+            chunkStart = chunkEnd;
+        }
+
+        eventPublisher.publishEvent(new DailyCostRollupRebuiltEvent(startDate, endDate));
+
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        log.info("Rebuilt daily cost rollup for {}..{}: {} groups in {} ms", startDate, endDate, groups, elapsedMillis);
+        return new RollupRebuildResponse(startDate, endDate, groups, elapsedMillis);
+    }
+
+    public void backfillIfEmpty() {
+        if (rollupRepository.count() == 0 && costRecordRepository.count() > 0) {
+            log.info("Daily cost rollup is empty, backfilling from cost_records...");
+            rebuildAll();
+        }
+    }
+
+    private void applyDeltas(Collection<CostRecord> records, boolean removed) {
+        rollupWriter.applyDeltas(toDeltas(records, removed));
+    }
+
+    static List<DailyCostRollupWriter.Delta> toDeltas(Collection<CostRecord> records, boolean removed) {
+        CostAccumulator<DailyCostRollupKey> accumulator = new CostAccumulator<>();
+        for (CostRecord costRecord : records) {
+            accumulator.add(DailyCostRollupKey.of(costRecord), costRecord.getCostUsd());
+        }
+
+        List<DailyCostRollupWriter.Delta> deltas = new ArrayList<>(accumulator.size());
+        for (int slot = 0; slot < accumulator.size(); slot++) {
+            BigDecimal total = accumulator.total(slot);
+            long count = accumulator.count(slot);
+            deltas.add(removed
+                    ? new DailyCostRollupWriter.Delta(accumulator.key(slot), total.negate(), -count)
+                    : new DailyCostRollupWriter.Delta(accumulator.key(slot), total, count));
+        }
+        return deltas;
+    }
+}
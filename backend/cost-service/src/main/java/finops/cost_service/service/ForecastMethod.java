@@ -0,0 +1,6 @@
+package finops.cost_service.service;
+
+public enum ForecastMethod {
+    LINEAR,   // least-squares trend over the history
+    SEASONAL  // the same trend, scaled by each weekday's usual share of it
+}
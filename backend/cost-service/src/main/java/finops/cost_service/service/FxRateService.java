@@ -0,0 +1,94 @@
+package finops.cost_service.service;
+
+import finops.cost_service.dto.FxRateRequest;
+import finops.cost_service.dto.FxRateResponse;
+import finops.cost_service.dto.FxRateUpdateResponse;
+import finops.cost_service.event.DailyCostRollupRebuiltEvent;
+import finops.cost_service.event.FxRatesChangedEvent;
+import finops.cost_service.repository.DataVersionRepository;
+import finops.cost_service.repository.FxRateRepository;
+import finops.cost_service.repository.FxRateRepository.Conversion;
+import finops.cost_service.repository.FxRateRepository.FxRate;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.BinaryOperator;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Timed("finops.service")
+public class FxRateService {
+
+    private final FxRateRepository fxRateRepository;
+    private final DataVersionRepository dataVersionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional(readOnly = true)
+    public List<FxRateResponse> getRates(String currency) {
+        List<FxRate> rates = currency != null
+                ? fxRateRepository.findByCurrency(currency.toUpperCase(Locale.ROOT))
+                : fxRateRepository.findAll();
+        return rates.stream()
+                .map(rate -> new FxRateResponse(rate.currency(), rate.rateDate(), rate.usdRate()))
+                .toList();
+    }
+
+    // Stores the rates, converts the records they apply to again and moves the differences into the
+    // rollup in one transaction, so totals never mix old and new rates. Applying differences rather than
+    // rebuilding those days keeps the totals of months retention removed from cost_records, and costs
+    // only the converted rows however far back the rate goes
+    @Transactional
+    public FxRateUpdateResponse saveRates(List<FxRateRequest> requests) {
+        long start = System.nanoTime();
+        List<FxRate> rates = requests.stream()
+                .map(request -> new FxRate(request.getCurrency().toUpperCase(Locale.ROOT), request.getRateDate(),
+                        request.getUsdRate()))
+                .toList();
+        if (rates.stream().anyMatch(rate -> CurrencyNormalizer.USD.equals(rate.currency()))) {
+            throw new IllegalArgumentException("USD is the currency costs are converted to; it has no rate");
+        }
+        // First, so writes converting at the old rates finish before the conversion below and later ones
+        // wait for this transaction and convert at the new rates (see CurrencyNormalizer)
+        dataVersionRepository.increment(DataVersionRepository.FX_RATES);
+        fxRateRepository.upsert(rates);
+
+        // A rate applies until the currency's next one, so records from the earliest new rate on may change
+        Map<String, LocalDate> firstDays = rates.stream().collect(Collectors.toMap(
+                FxRate::currency, FxRate::rateDate, BinaryOperator.minBy(LocalDate::compareTo), TreeMap::new));
+        long converted = 0;
+        LocalDate rollupStart = null;
+        LocalDate rollupEnd = null;
+        for (Map.Entry<String, LocalDate> entry : firstDays.entrySet()) {
+            Conversion conversion = fxRateRepository.convertCostRecords(entry.getKey(), entry.getValue());
+            if (conversion.records() == 0) {
+                continue;
+            }
+            converted += conversion.records();
+            LocalDate firstDay = conversion.firstDay();
+            LocalDate lastDay = conversion.lastDay();
+            rollupStart = rollupStart == null || firstDay.isBefore(rollupStart) ? firstDay : rollupStart;
+            rollupEnd = rollupEnd == null || lastDay.isAfter(rollupEnd) ? lastDay : rollupEnd;
+        }
+        if (rollupStart != null) {
+            // The rollup changed in SQL, without an event per record; listeners treat it like a rebuild
+            eventPublisher.publishEvent(new DailyCostRollupRebuiltEvent(rollupStart, rollupEnd));
+        }
+        eventPublisher.publishEvent(new FxRatesChangedEvent(firstDays.keySet(), rollupStart));
+
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        log.info("Saved {} exchange rates for {}; converted {} cost records in {} ms",
+                rates.size(), firstDays.keySet(), converted, elapsedMillis);
+        return new FxRateUpdateResponse(rates.size(), converted, rollupStart, rollupEnd, elapsedMillis);
+    }
+}
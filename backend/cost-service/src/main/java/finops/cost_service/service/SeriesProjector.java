@@ -0,0 +1,162 @@
+package finops.cost_service.service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+// Month-end projection of one daily cost series, in cents. A series is a long[] with one slot per
+// day from firstDay() to asOf. Spend from the first of the month up to and including asOf is taken
+// as it is; only the days after asOf are projected, from a trend fitted to the historyDays complete
+// days before asOf (today's totals are usually still arriving).
+final class SeriesProjector {
+
+    // Fewer complete weeks than this and weekday factors are mostly noise
+    private static final int MIN_SEASONAL_DAYS = 14;
+
+    record Projection(long monthToDateCents, long remainingCents) {
+
+        long monthEndCents() {
+            return monthToDateCents + remainingCents;
+        }
+    }
+
+    private final ForecastMethod method;
+    private final LocalDate firstDay;
+    private final int historyStart; // slot of asOf - historyDays
+    private final int monthStart;   // slot of the first of asOf's month
+    private final int asOfSlot;
+    private final int[] remainingWeekdays; // day-of-week index (0 = Monday) of each day after asOf
+
+    SeriesProjector(ForecastMethod method, int historyDays, LocalDate asOf) {
+        if (historyDays < 2) {
+            throw new IllegalArgumentException("historyDays must be at least 2");
+        }
+        LocalDate historyFirst = asOf.minusDays(historyDays);
+        LocalDate monthFirst = asOf.withDayOfMonth(1);
+        this.method = method;
+        this.firstDay = historyFirst.isBefore(monthFirst) ? historyFirst : monthFirst;
+        this.historyStart = slot(historyFirst);
+        this.monthStart = slot(monthFirst);
+        this.asOfSlot = slot(asOf);
+        int remaining = asOf.lengthOfMonth() - asOf.getDayOfMonth();
+        this.remainingWeekdays = new int[remaining];
+        for (int d = 0; d < remaining; d++) {
+            remainingWeekdays[d] = asOf.plusDays(d + 1L).getDayOfWeek().ordinal();
+        }
+    }
+
+    LocalDate firstDay() {
+        return firstDay;
+    }
+
+    int days() {
+        return asOfSlot + 1;
+    }
+
+    int slot(LocalDate day) {
+        return (int) ChronoUnit.DAYS.between(firstDay, day);
+    }
+
+    Projection project(long[] daily) {
+        long monthToDate = 0;
+        for (int s = monthStart; s <= asOfSlot; s++) {
+            monthToDate += daily[s];
+        }
+        if (remainingWeekdays.length == 0) {
+            return new Projection(monthToDate, 0);
+        }
+
+        // Days before the series first billed would read as a steep ramp-up; start the fit there
+        int start = historyStart;
+        while (start < asOfSlot && daily[start] == 0) {
+            start++;
+        }
+        int n = asOfSlot - start;
+        if (n == 0) {
+            return new Projection(monthToDate, 0);
+        }
+
+        // Weekday factors are measured against the plain trend; the trend is then refitted to the
+        // deseasonalized days, so where the weekends fall in the window does not tilt it
+        int startWeekday = firstDay.plusDays(start).getDayOfWeek().ordinal();
+        double[] trend = fit(daily, start, n, startWeekday, null);
+        double[] weekdayFactors = null;
+        if (method == ForecastMethod.SEASONAL && n >= MIN_SEASONAL_DAYS) {
+            weekdayFactors = weekdayFactors(daily, start, n, startWeekday, trend);
+            if (weekdayFactors != null) {
+                trend = fit(daily, start, n, startWeekday, weekdayFactors);
+            }
+        }
+        double intercept = trend[0];
+        double slope = trend[1];
+
+        // The first day after asOf is x = n + 1: asOf itself sits at x = n
+        double remaining = 0;
+        for (int d = 0; d < remainingWeekdays.length; d++) {
+            double value = intercept + slope * (n + 1 + d);
+            if (weekdayFactors != null) {
+                value *= weekdayFactors[remainingWeekdays[d]];
+            }
+            remaining += Math.max(0, value);
+        }
+        return new Projection(monthToDate, Math.round(remaining));
+    }
+
+    // Ordinary least squares of daily / factor over x = 0..n-1, as {intercept, slope}. Weekdays
+    // with a zero factor carry no information about the trend and are left out
+    private static double[] fit(long[] daily, int start, int n, int startWeekday, double[] factors) {
+        double sumX = 0;
+        double sumY = 0;
+        int points = 0;
+        for (int i = 0; i < n; i++) {
+            double factor = factors != null ? factors[(startWeekday + i) % 7] : 1;
+            if (factor > 0) {
+                sumX += i;
+                sumY += daily[start + i] / factor;
+                points++;
+            }
+        }
+        if (points == 0) {
+            return new double[]{0, 0};
+        }
+        double meanX = sumX / points;
+        double meanY = sumY / points;
+        double covariance = 0;
+        double variance = 0;
+        for (int i = 0; i < n; i++) {
+            double factor = factors != null ? factors[(startWeekday + i) % 7] : 1;
+            if (factor > 0) {
+                double dx = i - meanX;
+                covariance += dx * (daily[start + i] / factor - meanY);
+                variance += dx * dx;
+            }
+        }
+        double slope = variance > 0 ? covariance / variance : 0;
+        return new double[]{meanY - slope * meanX, slope};
+    }
+
+    // Mean ratio of actual to trend per weekday, scaled to average 1 so they only move spend between days
+    private static double[] weekdayFactors(long[] daily, int start, int n, int startWeekday, double[] trend) {
+        double[] ratios = new double[7];
+        int[] counts = new int[7];
+        for (int i = 0; i < n; i++) {
+            double value = trend[0] + trend[1] * i;
+            if (value > 0) {
+                int weekday = (startWeekday + i) % 7;
+                ratios[weekday] += daily[start + i] / value;
+                counts[weekday]++;
+            }
+        }
+        double sum = 0;
+        for (int weekday = 0; weekday < 7; weekday++) {
+            ratios[weekday] = counts[weekday] > 0 ? ratios[weekday] / counts[weekday] : 1;
+            sum += ratios[weekday];
+        }
+        if (sum <= 0) {
+            return null;
+        }
+        for (int weekday = 0; weekday < 7; weekday++) {
+            ratios[weekday] *= 7 / sum;
+        }
+        return ratios;
+    }
+}
@@ -0,0 +1,31 @@
+-- Baseline for the schema previously created by hibernate.ddl-auto=update.
+-- IF NOT EXISTS lets databases created that way be adopted by Flyway as-is.
+
+CREATE TABLE IF NOT EXISTS cost_records (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    cloud_provider VARCHAR(255)   NOT NULL,
+    service_name   VARCHAR(255)   NOT NULL,
+    resource_id    VARCHAR(255)   NOT NULL,
+    resource_name  VARCHAR(255)   NOT NULL,
+    cost           NUMERIC(10, 2) NOT NULL,
+    currency       VARCHAR(255)   NOT NULL,
+    region         VARCHAR(255),
+    account_id     VARCHAR(255),
+    department     VARCHAR(255),
+    environment    VARCHAR(255),
+    usage_date     TIMESTAMP(6)   NOT NULL,
+    created_at     TIMESTAMP(6)   NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS daily_cost_rollup (
+    usage_day      DATE           NOT NULL,
+    cloud_provider VARCHAR(255)   NOT NULL,
+    service_name   VARCHAR(255)   NOT NULL,
+    account_id     VARCHAR(255)   NOT NULL,
+    department     VARCHAR(255)   NOT NULL,
+    environment    VARCHAR(255)   NOT NULL,
+    region         VARCHAR(255)   NOT NULL,
+    total_cost     NUMERIC(19, 2) NOT NULL,
+    record_count   BIGINT         NOT NULL,
+    PRIMARY KEY (usage_day, cloud_provider, service_name, account_id, department, environment, region)
+);
@@ -0,0 +1,26 @@
+-- Built CONCURRENTLY so existing tables stay writable; Flyway runs these outside a transaction.
+
+-- Keyset pagination, streaming and date-range finders: seek and sort on (usage_date, id)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_cost_records_usage_date_id
+    ON cost_records (usage_date, id);
+
+-- Large range scans (rollup rebuilds, exports): tiny index that tracks insertion order of usage_date
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_cost_records_usage_date_brin
+    ON cost_records USING brin (usage_date);
+
+-- Dimension finders, each followed by the keyset columns so filtered pages are served in index order
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_cost_records_provider_usage_date_id
+    ON cost_records (cloud_provider, usage_date, id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_cost_records_service_usage_date_id
+    ON cost_records (service_name, usage_date, id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_cost_records_account_usage_date
+    ON cost_records (account_id, usage_date);
+
+-- Rollup breakdowns by provider/service outside the leading usage_day primary key column
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_daily_cost_rollup_provider_day
+    ON daily_cost_rollup (cloud_provider, usage_day);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_daily_cost_rollup_service_day
+    ON daily_cost_rollup (service_name, usage_day);
@@ -0,0 +1,78 @@
+-- Range-partitions cost_records by month of usage_date.
+-- PostgreSQL cannot partition an existing table in place, so the rows are copied into a new
+-- partitioned cost_records. The copy holds an exclusive lock on the old table for its duration.
+--
+-- PostgreSQL 16 does not allow identity columns on partitioned tables, so ids come from a plain
+-- sequence default; Hibernate's IDENTITY strategy reads generated keys back the same way.
+-- Unique constraints on a partitioned table must include the partition key, hence PK (id, usage_date).
+
+-- Creates the partition for the month containing month_start if it does not exist yet.
+-- Used by this migration and by CostRecordPartitionService at runtime.
+CREATE OR REPLACE FUNCTION ensure_cost_records_partition(month_start DATE) RETURNS TEXT
+    LANGUAGE plpgsql AS
+$$
+DECLARE
+    first_day      DATE := date_trunc('month', month_start)::date;
+    partition_name TEXT := 'cost_records_' || to_char(first_day, 'YYYY_MM');
+BEGIN
+    -- Two ingests reaching a new month at the same time must not race on CREATE TABLE
+    PERFORM pg_advisory_xact_lock(hashtext('cost_records_partitions'));
+    IF to_regclass(partition_name) IS NULL THEN
+        EXECUTE format('CREATE TABLE %I PARTITION OF cost_records FOR VALUES FROM (%L) TO (%L)',
+                       partition_name, first_day, (first_day + INTERVAL '1 month')::date);
+    END IF;
+    RETURN partition_name;
+END;
+$$;
+
+ALTER TABLE cost_records RENAME TO cost_records_unpartitioned;
+
+CREATE SEQUENCE cost_records_partitioned_id_seq AS BIGINT;
+
+CREATE TABLE cost_records (
+    id             BIGINT         NOT NULL DEFAULT nextval('cost_records_partitioned_id_seq'),
+    cloud_provider VARCHAR(255)   NOT NULL,
+    service_name   VARCHAR(255)   NOT NULL,
+    resource_id    VARCHAR(255)   NOT NULL,
+    resource_name  VARCHAR(255)   NOT NULL,
+    cost           NUMERIC(10, 2) NOT NULL,
+    currency       VARCHAR(255)   NOT NULL,
+    region         VARCHAR(255),
+    account_id     VARCHAR(255),
+    department     VARCHAR(255),
+    environment    VARCHAR(255),
+    usage_date     TIMESTAMP(6)   NOT NULL,
+    created_at     TIMESTAMP(6)   NOT NULL
+) PARTITION BY RANGE (usage_date);
+
+-- One partition per month that has data, plus the current month and the next three
+SELECT ensure_cost_records_partition(CAST(month AS date))
+FROM (SELECT DISTINCT date_trunc('month', usage_date) AS month
+      FROM cost_records_unpartitioned
+      UNION
+      SELECT generate_series(date_trunc('month', now()),
+                             date_trunc('month', now()) + INTERVAL '3 months',
+                             INTERVAL '1 month')) AS months
+ORDER BY month;
+
+INSERT INTO cost_records (id, cloud_provider, service_name, resource_id, resource_name, cost, currency,
+                          region, account_id, department, environment, usage_date, created_at)
+SELECT id, cloud_provider, service_name, resource_id, resource_name, cost, currency,
+       region, account_id, department, environment, usage_date, created_at
+FROM cost_records_unpartitioned;
+
+SELECT setval('cost_records_partitioned_id_seq', COALESCE((SELECT MAX(id) FROM cost_records), 0) + 1, false);
+
+DROP TABLE cost_records_unpartitioned;
+
+ALTER SEQUENCE cost_records_partitioned_id_seq RENAME TO cost_records_id_seq;
+ALTER SEQUENCE cost_records_id_seq OWNED BY cost_records.id;
+
+-- Indexes on the parent are created on every partition, including ones added later
+ALTER TABLE cost_records ADD CONSTRAINT cost_records_pkey PRIMARY KEY (id, usage_date);
+
+CREATE INDEX idx_cost_records_usage_date_id ON cost_records (usage_date, id);
+CREATE INDEX idx_cost_records_usage_date_brin ON cost_records USING brin (usage_date);
+CREATE INDEX idx_cost_records_provider_usage_date_id ON cost_records (cloud_provider, usage_date, id);
+CREATE INDEX idx_cost_records_service_usage_date_id ON cost_records (service_name, usage_date, id);
+CREATE INDEX idx_cost_records_account_usage_date ON cost_records (account_id, usage_date);
@@ -0,0 +1,39 @@
+-- One row per resource, account, service and usage period, so replayed billing exports can be
+-- upserted instead of appended. Duplicates already in the table are removed first, keeping the
+-- most recently inserted row, and the daily rollup is corrected for the rows that go away.
+--
+-- account_id is nullable; NULLS NOT DISTINCT (PostgreSQL 15+) makes two rows without an account
+-- conflict like any other pair. resource_id leads so key lookups are selective without the other columns.
+-- Indexes on a partitioned table cannot be built CONCURRENTLY; this holds a write lock while it runs.
+
+CREATE TEMPORARY TABLE removed_duplicates ON COMMIT DROP AS
+WITH ranked AS (
+    SELECT id, usage_date,
+           row_number() OVER (PARTITION BY resource_id, usage_date, service_name, cloud_provider, account_id
+                              ORDER BY id DESC) AS newest_first
+    FROM cost_records
+)
+SELECT id, usage_date FROM ranked WHERE newest_first > 1;
+
+UPDATE daily_cost_rollup r
+SET total_cost = r.total_cost - d.total_cost,
+    record_count = r.record_count - d.record_count
+FROM (SELECT CAST(c.usage_date AS date) AS usage_day, c.cloud_provider, c.service_name,
+             COALESCE(c.account_id, '') AS account_id, COALESCE(c.department, '') AS department,
+             COALESCE(c.environment, '') AS environment, COALESCE(c.region, '') AS region,
+             SUM(c.cost) AS total_cost, COUNT(*) AS record_count
+      FROM cost_records c
+      JOIN removed_duplicates USING (id, usage_date)
+      GROUP BY 1, 2, 3, 4, 5, 6, 7) d
+WHERE r.usage_day = d.usage_day AND r.cloud_provider = d.cloud_provider AND r.service_name = d.service_name
+  AND r.account_id = d.account_id AND r.department = d.department AND r.environment = d.environment
+  AND r.region = d.region;
+
+DELETE FROM daily_cost_rollup WHERE record_count <= 0;
+
+DELETE FROM cost_records c
+USING removed_duplicates d
+WHERE c.id = d.id AND c.usage_date = d.usage_date;
+
+CREATE UNIQUE INDEX uq_cost_records_natural_key
+    ON cost_records (resource_id, usage_date, service_name, cloud_provider, account_id) NULLS NOT DISTINCT;
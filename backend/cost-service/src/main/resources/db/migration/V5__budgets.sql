@@ -0,0 +1,12 @@
+-- Monthly spend limits, one per account or department. Amounts are compared with the daily rollup,
+-- so they are in the same currency as the aggregate endpoints (USD).
+
+CREATE TABLE budgets (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    scope          VARCHAR(20)    NOT NULL CHECK (scope IN ('ACCOUNT', 'DEPARTMENT')),
+    scope_value    VARCHAR(255)   NOT NULL,
+    monthly_amount NUMERIC(19, 2) NOT NULL CHECK (monthly_amount > 0),
+    created_at     TIMESTAMP(6)   NOT NULL,
+    updated_at     TIMESTAMP(6)   NOT NULL,
+    CONSTRAINT uq_budgets_scope UNIQUE (scope, scope_value)
+);
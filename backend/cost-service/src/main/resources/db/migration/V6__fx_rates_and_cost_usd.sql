@@ -0,0 +1,17 @@
+-- Exchange rates into USD. A cost is converted at the latest rate on or before its usage day,
+-- so a currency only needs a row for the days its rate was published.
+
+CREATE TABLE IF NOT EXISTS fx_rates (
+    currency  VARCHAR(3)      NOT NULL,
+    rate_date DATE            NOT NULL,
+    usd_rate  NUMERIC(19, 10) NOT NULL CHECK (usd_rate > 0),
+    PRIMARY KEY (currency, rate_date)
+);
+
+-- Each record's cost in USD, converted once at ingest so the rollup, summaries and aggregates add
+-- up a single currency. Existing rows keep the amount they have always been counted at until rates
+-- for their currency are loaded (PUT /api/fx-rates converts them again). The UPDATE rewrites every
+-- row once, which takes a while on a large cost_records table.
+ALTER TABLE cost_records ADD COLUMN IF NOT EXISTS cost_usd NUMERIC(19, 2);
+UPDATE cost_records SET cost_usd = cost WHERE cost_usd IS NULL;
+ALTER TABLE cost_records ALTER COLUMN cost_usd SET NOT NULL;
@@ -0,0 +1,9 @@
+-- Change counters shared by every instance. cost_data is incremented by each transaction that changes
+-- cost data, just before it commits; GET endpoints use it as their ETag and their cache keys.
+
+CREATE TABLE IF NOT EXISTS data_versions (
+    name    VARCHAR(32) PRIMARY KEY,
+    version BIGINT      NOT NULL
+);
+
+INSERT INTO data_versions (name, version) VALUES ('cost_data', 0);
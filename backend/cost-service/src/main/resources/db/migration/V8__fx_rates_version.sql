@@ -0,0 +1,5 @@
+-- Incremented by every change of exchange rates before it touches a rate. Writes of cost records read
+-- it FOR SHARE and convert their costs inside the same transaction, so they either commit before a
+-- rate change (which then converts them again) or wait for it and convert at the new rates.
+
+INSERT INTO data_versions (name, version) VALUES ('fx_rates', 0);
@@ -0,0 +1,129 @@
+package finops.cost_service.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReplicaRoutingDataSourceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private StubDatabase primary;
+    private StubDatabase first;
+    private StubDatabase second;
+    private ReplicaRoutingDataSource router;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        primary = new StubDatabase();
+        first = new StubDatabase();
+        second = new StubDatabase();
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", first.dataSource);
+        replicas.put("replica-2", second.dataSource);
+        router = new ReplicaRoutingDataSource(primary.dataSource, replicas, Duration.ofSeconds(10), meterRegistry);
+    }
+
+    @Test
+    void readsRotateThroughTheReplicas() throws SQLException {
+        assertThat(router.getConnection()).isSameAs(first.connection);
+        assertThat(router.getConnection()).isSameAs(second.connection);
+        assertThat(router.getConnection()).isSameAs(first.connection);
+
+        assertThat(reads("replica-1")).isEqualTo(2);
+        assertThat(reads("replica-2")).isEqualTo(1);
+        assertThat(reads("primary")).isZero();
+    }
+
+    @Test
+    void replicaTooFarBehindIsSkippedUntilItCatchesUp() throws SQLException {
+        first.lagSeconds = 30.0;
+        second.lagSeconds = 0.0;
+        router.checkLag();
+
+        assertThat(router.getConnection()).isSameAs(second.connection);
+        assertThat(router.getConnection()).isSameAs(second.connection);
+        assertThat(meterRegistry.get("finops.datasource.replica.available").tag("replica", "replica-1")
+                .gauge().value()).isZero();
+
+        first.lagSeconds = 2.0;
+        router.checkLag();
+
+        assertThat(router.getConnection()).isSameAs(first.connection);
+        assertThat(router.getConnection()).isSameAs(second.connection);
+        assertThat(meterRegistry.get("finops.datasource.replica.lag").tag("replica", "replica-1")
+                .gauge().value()).isEqualTo(2.0);
+    }
+
+    @Test
+    void replicaThatHasReplayedNothingIsSkipped() throws SQLException {
+        first.lagSeconds = null;
+        second.lagSeconds = 0.0;
+        router.checkLag();
+
+        assertThat(router.getConnection()).isSameAs(second.connection);
+        assertThat(router.getConnection()).isSameAs(second.connection);
+    }
+
+    @Test
+    void unreachableReplicaFallsBackToTheNextOneAndThenThePrimary() throws SQLException {
+        first.unreachable();
+
+        assertThat(router.getConnection()).isSameAs(second.connection);
+
+        second.unreachable();
+
+        assertThat(router.getConnection()).isSameAs(primary.connection);
+        assertThat(router.getConnection()).isSameAs(primary.connection);
+        assertThat(reads("primary")).isEqualTo(2);
+    }
+
+    @Test
+    void otherCredentialsGoToThePrimary() throws SQLException {
+        Connection connection = mock(Connection.class);
+        when(primary.dataSource.getConnection("reporting", "secret")).thenReturn(connection);
+
+        assertThat(router.getConnection("reporting", "secret")).isSameAs(connection);
+        assertThat(reads("primary")).isEqualTo(1);
+    }
+
+    private double reads(String target) {
+        return meterRegistry.get("finops.datasource.read.connections").tag("target", target).counter().count();
+    }
+
+    // One database: its connection answers the lag query with lagSeconds (null when nothing was replayed)
+    private static final class StubDatabase {
+
+        private final DataSource dataSource = mock(DataSource.class);
+        private final Connection connection = mock(Connection.class);
+        private Double lagSeconds = 0.0;
+
+        StubDatabase() throws SQLException {
+            Statement statement = mock(Statement.class);
+            ResultSet resultSet = mock(ResultSet.class);
+            when(dataSource.getConnection()).thenReturn(connection);
+            when(connection.createStatement()).thenReturn(statement);
+            when(statement.executeQuery(anyString())).thenReturn(resultSet);
+            when(resultSet.next()).thenReturn(true);
+            when(resultSet.getDouble(1)).thenAnswer(invocation -> lagSeconds != null ? lagSeconds : 0.0);
+            when(resultSet.wasNull()).thenAnswer(invocation -> lagSeconds == null);
+        }
+
+        void unreachable() throws SQLException {
+            when(dataSource.getConnection()).thenThrow(new SQLException("Connection refused"));
+        }
+    }
+}
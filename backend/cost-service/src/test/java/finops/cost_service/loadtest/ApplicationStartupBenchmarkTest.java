@@ -0,0 +1,173 @@
+package finops.cost_service.loadtest;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Starts the packaged service as a separate JVM, the way a new pod does, and measures the time from
+ * launching the process to the first successful GET /api/costs/summary. Compares the plain jar with
+ * the AppCDS archive and with CDS plus Spring AOT, all under the prod profile.
+ * Package first: mvn -Pfast-startup package -DskipTests, then mvn -Pbenchmark test
+ * -Dtest=ApplicationStartupBenchmarkTest. Variants whose build output is missing are skipped.
+ * Tune with -Dstartup.runs.
+ */
+@Tag("benchmark")
+@Testcontainers(disabledWithoutDocker = true)
+class ApplicationStartupBenchmarkTest {
+
+    private static final int RUNS = Integer.getInteger("startup.runs", 5);
+    private static final Duration TIMEOUT = Duration.ofMinutes(2);
+
+    private static final Path TARGET = Path.of("target");
+    private static final Path EXTRACTED = TARGET.resolve("application");
+    private static final Path ARCHIVE = EXTRACTED.resolve("cost-service.jsa");
+
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+    @BeforeAll
+    static void startDatabase() {
+        postgres.start();
+    }
+
+    @AfterAll
+    static void stopDatabase() {
+        postgres.stop();
+    }
+
+    @Test
+    void timeToFirstRequest() throws Exception {
+        Path jar = packagedJar();
+        assumeTrue(jar != null, "No packaged jar in target/; run mvn -Pfast-startup package -DskipTests first");
+
+        List<Variant> variants = new ArrayList<>();
+        variants.add(new Variant("jar", List.of("-jar", jar.toString())));
+        Path extractedJar = EXTRACTED.resolve(jar.getFileName());
+        if (Files.exists(ARCHIVE) && Files.exists(extractedJar)) {
+            List<String> cds = List.of("-XX:SharedArchiveFile=" + ARCHIVE, "-Xlog:cds=off");
+            variants.add(new Variant("cds", concat(cds, List.of("-jar", extractedJar.toString()))));
+            if (hasAotClasses()) {
+                variants.add(new Variant("cds + aot",
+                        concat(cds, List.of("-Dspring.aot.enabled=true", "-jar", extractedJar.toString()))));
+            }
+        }
+
+        // Applies the migrations, so every measured run starts against the same schema
+        startAndWait(variants.get(0));
+
+        List<Result> results = new ArrayList<>();
+        for (Variant variant : variants) {
+            long[] millis = new long[RUNS];
+            for (int run = 0; run < RUNS; run++) {
+                millis[run] = startAndWait(variant);
+            }
+            Arrays.sort(millis);
+            results.add(new Result(variant.name(), millis[0], millis[RUNS / 2], millis[RUNS - 1]));
+        }
+
+        System.out.printf("%n%-12s %12s %12s %12s%n", "mode", "min ms", "median ms", "max ms");
+        results.forEach(r -> System.out.printf("%-12s %12d %12d %12d%n", r.mode(), r.minMillis(),
+                r.medianMillis(), r.maxMillis()));
+
+        results.forEach(r -> assertThat(r.minMillis()).isPositive());
+    }
+
+    // Milliseconds from launching the JVM to the first 200 from the summary endpoint
+    private long startAndWait(Variant variant) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(variant.jvmArguments());
+        command.addAll(List.of(
+                "--server.port=" + port,
+                "--spring.profiles.active=prod",
+                "--spring.datasource.url=" + postgres.getJdbcUrl(),
+                "--spring.datasource.username=" + postgres.getUsername(),
+                "--spring.datasource.password=" + postgres.getPassword()));
+        Path log = TARGET.resolve("startup-" + variant.name().replace(" + ", "-") + ".log");
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/costs/summary"))
+                    .timeout(Duration.ofSeconds(5))
+                    .GET()
+                    .build();
+            long deadline = start + TIMEOUT.toNanos();
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(variant.name() + " exited with " + process.exitValue() + ", see " + log);
+                }
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return (System.nanoTime() - start) / 1_000_000;
+                    }
+                } catch (IOException notListeningYet) {
+                    // Tomcat is not up yet
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException(variant.name() + " did not answer within " + TIMEOUT + ", see " + log);
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private static Path packagedJar() throws IOException {
+        if (!Files.isDirectory(TARGET)) {
+            return null;
+        }
+        try (Stream<Path> files = Files.list(TARGET)) {
+            return files.filter(file -> file.getFileName().toString().matches("cost-service-.*\\.jar"))
+                    .findFirst()
+                    .orElse(null);
+        }
+    }
+
+    // Written to target/classes by process-aot, so also packaged in the jar
+    private static boolean hasAotClasses() {
+        return Files.exists(TARGET.resolve("classes/finops/cost_service/CostServiceApplication__ApplicationContextInitializer.class"));
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static List<String> concat(List<String> first, List<String> second) {
+        return Stream.concat(first.stream(), second.stream()).toList();
+    }
+
+    private record Variant(String name, List<String> jvmArguments) {
+    }
+
+    private record Result(String mode, long minMillis, long medianMillis, long maxMillis) {
+    }
+}
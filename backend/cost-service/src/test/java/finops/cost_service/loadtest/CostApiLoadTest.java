@@ -0,0 +1,213 @@
+package finops.cost_service.loadtest;
+
+import finops.cost_service.CostServiceApplication;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives /api/costs/* with many concurrent clients against the service started in two configurations
+ * and prints throughput, p50/p99 latency and how long requests waited for a Hikari connection:
+ * the default Tomcat thread pool against the virtual-threads profile, and the default settings
+ * (SQL statement logging on) against the prod profile.
+ * Tune with -Dloadtest.concurrency, -Dloadtest.duration (seconds) and -Dloadtest.rows.
+ */
+@Tag("benchmark")
+@Testcontainers(disabledWithoutDocker = true)
+class CostApiLoadTest {
+
+    private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 1000);
+    private static final Duration DURATION = Duration.ofSeconds(Integer.getInteger("loadtest.duration", 30));
+    private static final int ROWS = Integer.getInteger("loadtest.rows", 200_000);
+
+    private static final String[] PATHS = {
+            "/api/costs/summary",
+            "/api/costs/page?size=100",
+            "/api/costs/provider/AWS/page?size=100",
+            "/api/costs/summary/date-range?startDate=2025-01-01&endDate=2025-01-31"
+    };
+
+    // Keeps statement logging out of the thread model comparison
+    private static final List<String> QUIET_SQL = List.of(
+            "spring.jpa.show-sql=false",
+            "logging.level.org.hibernate.SQL=WARN",
+            "logging.level.finops.cost_service=INFO");
+
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @BeforeAll
+    static void startDatabase() {
+        postgres.start();
+    }
+
+    @AfterAll
+    static void stopDatabase() {
+        postgres.stop();
+    }
+
+    @Test
+    void compareThreadModels() throws Exception {
+        List<Result> results = new ArrayList<>();
+        results.add(run("platform threads", QUIET_SQL));
+        results.add(run("virtual threads", QUIET_SQL, "virtual-threads"));
+        print(results);
+    }
+
+    @Test
+    void compareDefaultAndProdProfiles() throws Exception {
+        List<Result> results = new ArrayList<>();
+        results.add(run("default", List.of()));
+        results.add(run("prod", List.of(), "prod"));
+        print(results);
+    }
+
+    private void print(List<Result> results) {
+        System.out.printf("%n%-18s %10s %10s %10s %10s %14s %14s%n",
+                "mode", "requests", "errors", "req/s", "p50 ms", "p99 ms", "pool wait p99");
+        results.forEach(r -> System.out.printf("%-18s %10d %10d %10.0f %10.1f %14.1f %14.1f%n",
+                r.mode(), r.requests(), r.errors(), r.throughput(), r.p50Millis(), r.p99Millis(),
+                r.poolWaitP99Millis()));
+
+        results.forEach(r -> assertThat(r.requests()).isPositive());
+    }
+
+    private Result run(String mode, List<String> extraProperties, String... profiles) throws Exception {
+        List<String> properties = new ArrayList<>(List.of(
+                "server.port=0",
+                "spring.datasource.url=" + postgres.getJdbcUrl(),
+                "spring.datasource.username=" + postgres.getUsername(),
+                "spring.datasource.password=" + postgres.getPassword(),
+                // Measure the database path, not cache hits
+                "finops.cache.summary-ttl=0s",
+                "finops.cache.record-list-ttl=0s",
+                "management.metrics.distribution.percentiles.hikaricp.connections.acquire=0.99"));
+        properties.addAll(extraProperties);
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(CostServiceApplication.class)
+                .profiles(profiles)
+                .properties(properties.toArray(String[]::new))
+                .run()) {
+            seed(context.getBean(JdbcTemplate.class));
+            int port = Integer.parseInt(context.getEnvironment().getProperty("local.server.port"));
+            Result result = drive(mode, "http://localhost:" + port);
+
+            Timer acquire = context.getBean(MeterRegistry.class).find("hikaricp.connections.acquire").timer();
+            double poolWaitP99 = acquire != null
+                    ? Arrays.stream(acquire.takeSnapshot().percentileValues())
+                    .mapToDouble(p -> p.value(TimeUnit.MILLISECONDS)).max().orElse(0)
+                    : 0;
+            return result.withPoolWait(poolWaitP99);
+        }
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        Long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM cost_records", Long.class);
+        if (existing != null && existing >= ROWS) {
+            return;
+        }
+        jdbcTemplate.queryForList("""
+                SELECT ensure_cost_records_partition(CAST(month AS date))
+                FROM generate_series(DATE '2025-01-01', DATE '2025-04-01', INTERVAL '1 month') AS month
+                """);
+        jdbcTemplate.update("""
+                INSERT INTO cost_records (cloud_provider, service_name, resource_id, resource_name, cost, currency,
+                                          region, account_id, department, environment, usage_date, created_at,
+                                          cost_usd)
+                SELECT (ARRAY['AWS', 'Azure', 'GCP'])[1 + g % 3], 'service-' || (g % 40), 'resource-' || g,
+                       'resource-' || g, cost, 'USD', 'region-' || (g % 12),
+                       'account-' || (g % 25), 'Engineering', 'production',
+                       TIMESTAMP '2025-01-01' + (g % 90) * INTERVAL '1 day', now(), cost
+                FROM (SELECT g, round((random() * 1000)::numeric, 2) AS cost FROM generate_series(1, ?) AS g) AS s
+                """, ROWS);
+        jdbcTemplate.update("TRUNCATE daily_cost_rollup");
+        jdbcTemplate.update("""
+                INSERT INTO daily_cost_rollup
+                SELECT CAST(usage_date AS date), cloud_provider, service_name, COALESCE(account_id, ''),
+                       COALESCE(department, ''), COALESCE(environment, ''), COALESCE(region, ''),
+                       SUM(cost_usd), COUNT(*)
+                FROM cost_records GROUP BY 1, 2, 3, 4, 5, 6, 7
+                """);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    private Result drive(String mode, String baseUrl) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        long deadline = System.nanoTime() + DURATION.toNanos();
+        AtomicLong errors = new AtomicLong();
+        List<List<Long>> latencies = new ArrayList<>();
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < CONCURRENCY; c++) {
+                List<Long> samples = new ArrayList<>();
+                latencies.add(samples);
+                int clientIndex = c;
+                clients.submit(() -> {
+                    for (int n = clientIndex; System.nanoTime() < deadline; n++) {
+                        HttpRequest request = HttpRequest.newBuilder(
+                                URI.create(baseUrl + PATHS[n % PATHS.length])).GET().build();
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception ex) {
+                            errors.incrementAndGet();
+                        }
+                        samples.add(System.nanoTime() - start);
+                    }
+                    return null;
+                });
+            }
+        }
+
+        long[] all = latencies.stream()
+                .flatMap(List::stream)
+                .mapToLong(Long::longValue)
+                .sorted()
+                .toArray();
+        return new Result(mode, all.length, errors.get(), all.length / (double) DURATION.toSeconds(),
+                percentile(all, 0.50), percentile(all, 0.99), 0);
+    }
+
+    private static double percentile(long[] sortedNanos, double quantile) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(sortedNanos.length - 1, Math.ceil(quantile * sortedNanos.length) - 1);
+        return sortedNanos[Math.max(index, 0)] / 1_000_000d;
+    }
+
+    private record Result(String mode, long requests, long errors, double throughput,
+                          double p50Millis, double p99Millis, double poolWaitP99Millis) {
+
+        Result withPoolWait(double poolWaitP99) {
+            return new Result(mode, requests, errors, throughput, p50Millis, p99Millis, poolWaitP99);
+        }
+    }
+}
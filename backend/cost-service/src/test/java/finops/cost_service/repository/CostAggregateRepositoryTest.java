@@ -0,0 +1,116 @@
+package finops.cost_service.repository;
+
+import finops.cost_service.TestcontainersConfiguration;
+import finops.cost_service.repository.CostAggregateRepository.Row;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TestcontainersConfiguration.class, CostAggregateRepository.class})
+@Testcontainers(disabledWithoutDocker = true)
+class CostAggregateRepositoryTest {
+
+    @Autowired
+    private CostAggregateRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // 2025-03-03 and 2025-03-10 are Mondays; '' is how the rollup stores a missing account
+    @BeforeEach
+    void seedRollup() {
+        jdbcTemplate.update("TRUNCATE daily_cost_rollup");
+        rollup("2025-03-03", "AWS", "EC2", "acct-1", "production", "100.00", 10);
+        rollup("2025-03-05", "AWS", "S3", "acct-1", "staging", "20.00", 2);
+        rollup("2025-03-09", "Azure", "VM", "", "production", "50.00", 5);
+        rollup("2025-03-10", "GCP", "GCE", "acct-2", "production", "30.00", 3);
+        rollup("2025-04-01", "AWS", "EC2", "acct-1", "production", "40.00", 4);
+        rollup("2025-04-02", "Azure", "VM", "", "production", "5.00", 1);
+    }
+
+    @Test
+    void groupsAreTotalledBiggestSpendFirst() {
+        List<Row> rows = repository.aggregate(List.of(CostDimension.PROVIDER), Map.of(), null, null, 100);
+
+        assertThat(rows).extracting(Row::dimensionValues)
+                .containsExactly(List.of("AWS"), List.of("Azure"), List.of("GCP"));
+        assertThat(rows).extracting(row -> row.totalCost().toPlainString())
+                .containsExactly("160.00", "55.00", "30.00");
+        assertThat(rows).extracting(Row::recordCount).containsExactly(16L, 6L, 3L);
+        assertThat(rows.get(0).overallCost()).isEqualByComparingTo("245.00");
+        assertThat(rows.get(0).overallRecordCount()).isEqualTo(25);
+        assertThat(rows.get(0).groupCount()).isEqualTo(3);
+    }
+
+    @Test
+    void truncatedResultStillReportsTheFullTotals() {
+        List<Row> rows = repository.aggregate(List.of(CostDimension.PROVIDER), Map.of(), null, null, 2);
+
+        assertThat(rows).extracting(Row::dimensionValues).containsExactly(List.of("AWS"), List.of("Azure"));
+        assertThat(rows.get(0).overallCost()).isEqualByComparingTo("245.00");
+        assertThat(rows.get(0).overallRecordCount()).isEqualTo(25);
+        assertThat(rows.get(0).groupCount()).isEqualTo(3);
+    }
+
+    @Test
+    void missingDimensionValuesFormANullGroup() {
+        List<Row> rows = repository.aggregate(List.of(CostDimension.ACCOUNT), Map.of(), null, null, 100);
+
+        assertThat(rows).extracting(Row::dimensionValues)
+                .containsExactly(List.of("acct-1"), Arrays.asList((String) null), List.of("acct-2"));
+        assertThat(rows.get(1).totalCost()).isEqualByComparingTo("55.00");
+    }
+
+    @Test
+    void filtersAndDateRangeLimitTheRowsTotalled() {
+        List<Row> rows = repository.aggregate(List.of(CostDimension.PROVIDER),
+                Map.of(CostDimension.ENVIRONMENT, List.of("production"),
+                        CostDimension.PROVIDER, List.of("AWS", "Azure", "GCP")),
+                LocalDate.of(2025, 3, 4), LocalDate.of(2025, 3, 31), 100);
+
+        assertThat(rows).extracting(Row::dimensionValues).containsExactly(List.of("Azure"), List.of("GCP"));
+        assertThat(rows.get(0).overallCost()).isEqualByComparingTo("80.00");
+    }
+
+    @Test
+    void weeksStartOnMondayAndComeInChronologicalOrder() {
+        List<Row> rows = repository.aggregate(List.of(CostDimension.WEEK), Map.of(), null, null, 100);
+
+        assertThat(rows).extracting(Row::dimensionValues)
+                .containsExactly(List.of("2025-03-03"), List.of("2025-03-10"), List.of("2025-03-31"));
+        assertThat(rows).extracting(row -> row.totalCost().toPlainString())
+                .containsExactly("170.00", "30.00", "45.00");
+    }
+
+    @Test
+    void monthsStartOnTheFirstAndOrderBeforeSpendWithinThem() {
+        List<Row> rows = repository.aggregate(List.of(CostDimension.PROVIDER, CostDimension.MONTH),
+                Map.of(), null, null, 100);
+
+        assertThat(rows).extracting(Row::dimensionValues).containsExactly(
+                List.of("AWS", "2025-03-01"), List.of("Azure", "2025-03-01"), List.of("GCP", "2025-03-01"),
+                List.of("AWS", "2025-04-01"), List.of("Azure", "2025-04-01"));
+        assertThat(rows).extracting(row -> row.totalCost().toPlainString())
+                .containsExactly("120.00", "50.00", "30.00", "40.00", "5.00");
+    }
+
+    private void rollup(String day, String provider, String service, String account, String environment,
+                        String cost, long count) {
+        jdbcTemplate.update("INSERT INTO daily_cost_rollup VALUES (?, ?, ?, ?, 'Engineering', ?, 'us-east-1', "
+                + "CAST(? AS numeric), ?)", LocalDate.parse(day), provider, service, account, environment, cost, count);
+    }
+}
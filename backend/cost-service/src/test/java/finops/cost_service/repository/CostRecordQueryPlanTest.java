@@ -0,0 +1,195 @@
+package finops.cost_service.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import finops.cost_service.TestcontainersConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs each CostRecordRepository finder, captures the SQL Hibernate sent and EXPLAINs it as a
+ * generic plan with sequential scans disabled. A Seq Scan on cost_records or one of its monthly
+ * partitions in that plan means no index can serve the query, so an index was dropped or the query
+ * shape changed.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "finops.cost_service.repository.CapturingStatementInspector")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(TestcontainersConfiguration.class)
+@Testcontainers(disabledWithoutDocker = true)
+class CostRecordQueryPlanTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2025, 1, 10, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2025, 1, 20, 0, 0);
+
+    @Autowired
+    private CostRecordRepository costRecordRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.queryForList("""
+                SELECT ensure_cost_records_partition(CAST(month AS date))
+                FROM generate_series(DATE '2025-01-01', DATE '2025-03-01', INTERVAL '1 month') AS month
+                """);
+        jdbcTemplate.update("""
+                INSERT INTO cost_records (cloud_provider, service_name, resource_id, resource_name, cost, currency,
+                                          region, account_id, department, environment, usage_date, created_at,
+                                          cost_usd)
+                SELECT (ARRAY['AWS', 'Azure', 'GCP'])[1 + g % 3], 'service-' || (g % 40), 'resource-' || g,
+                       'resource-' || g, 1.00, 'USD', 'region-' || (g % 12), 'account-' || (g % 25),
+                       'Engineering', 'production', TIMESTAMP '2025-01-01' + (g % 60) * INTERVAL '1 day', now(), 1.00
+                FROM generate_series(1, 20000) AS g
+                """);
+        jdbcTemplate.execute("ANALYZE cost_records");
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+    }
+
+    @Test
+    void findByCloudProviderUsesAnIndex() {
+        assertNoSeqScan(() -> costRecordRepository.findByCloudProvider("AWS"));
+    }
+
+    @Test
+    void findByServiceNameUsesAnIndex() {
+        assertNoSeqScan(() -> costRecordRepository.findByServiceName("service-7"));
+    }
+
+    @Test
+    void findByUsageDateBetweenUsesAnIndex() {
+        assertNoSeqScan(() -> costRecordRepository.findByUsageDateBetween(FROM, TO));
+    }
+
+    @Test
+    void usageDateBoundsUseAnIndex() {
+        assertNoSeqScan(() -> {
+            costRecordRepository.findEarliestUsageDate();
+            costRecordRepository.findLatestUsageDate();
+        });
+    }
+
+    @Test
+    void keysetPagesUseAnIndex() {
+        ScrollPosition after = ScrollPosition.forward(Map.of("usageDate", FROM, "id", 100L));
+        assertNoSeqScan(() -> {
+            costRecordRepository.findAllByOrderByUsageDateAscIdAsc(after, Limit.of(100));
+            costRecordRepository.findByCloudProviderOrderByUsageDateAscIdAsc("GCP", after, Limit.of(100));
+            costRecordRepository.findByServiceNameOrderByUsageDateAscIdAsc("service-3", after, Limit.of(100));
+            costRecordRepository.findByUsageDateBetweenOrderByUsageDateAscIdAsc(FROM, TO, after, Limit.of(100));
+        });
+    }
+
+    @Test
+    void streamsUseAnIndex() {
+        assertNoSeqScan(() -> {
+            consume(costRecordRepository.streamAll());
+            consume(costRecordRepository.streamByCloudProvider("Azure"));
+            consume(costRecordRepository.streamByServiceName("service-11"));
+            consume(costRecordRepository.streamByUsageDateBetween(FROM, TO));
+        });
+    }
+
+    @Test
+    void dateRangeQueriesOnlyReadMatchingPartitions() throws Exception {
+        CapturingStatementInspector.STATEMENTS.clear();
+        costRecordRepository.findByUsageDateBetween(FROM, TO);
+        String sql = CapturingStatementInspector.STATEMENTS.get(0);
+
+        // Planned with the actual bounds rather than as a generic plan, so pruning happens at plan time
+        String plan = jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) " + sql, String.class, FROM, TO);
+        List<String> relations = new ArrayList<>();
+        collectRelations(objectMapper.readTree(plan).get(0).get("Plan"), relations);
+        assertThat(relations).as("plan for %s%n%s", sql, plan).containsOnly("cost_records_2025_01");
+    }
+
+    private void assertNoSeqScan(Runnable queries) {
+        CapturingStatementInspector.STATEMENTS.clear();
+        queries.run();
+
+        List<String> statements = CapturingStatementInspector.STATEMENTS.stream()
+                .filter(sql -> sql.contains("cost_records"))
+                .toList();
+        assertThat(statements).isNotEmpty();
+
+        // EXPLAIN (GENERIC_PLAN) only works over the simple protocol: the driver would bind its $n
+        // placeholders as parameters. A prepared statement explained under a forced generic plan is
+        // planned the same way, whatever values it is executed with
+        jdbcTemplate.execute("SET LOCAL plan_cache_mode = force_generic_plan");
+        for (String sql : statements) {
+            int parameters = (int) sql.chars().filter(c -> c == '?').count();
+            jdbcTemplate.execute("PREPARE plan_check AS " + numberPlaceholders(sql));
+            String plan = jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) EXECUTE plan_check"
+                    + (parameters > 0 ? "(" + String.join(", ", Collections.nCopies(parameters, "NULL")) + ")" : ""),
+                    String.class);
+            jdbcTemplate.execute("DEALLOCATE plan_check");
+            assertThat(seqScannedRelations(plan))
+                    .as("plan for %s%n%s", sql, plan)
+                    .noneMatch(relation -> relation.startsWith("cost_records"));
+        }
+    }
+
+    // Hibernate emits JDBC '?' placeholders; PREPARE expects $1, $2, ...
+    private static String numberPlaceholders(String sql) {
+        StringBuilder numbered = new StringBuilder(sql.length() + 16);
+        int parameter = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                numbered.append('$').append(++parameter);
+            } else {
+                numbered.append(c);
+            }
+        }
+        return numbered.toString();
+    }
+
+    private List<String> seqScannedRelations(String plan) {
+        List<String> relations = new ArrayList<>();
+        try {
+            collectSeqScans(objectMapper.readTree(plan).get(0).get("Plan"), relations);
+        } catch (Exception ex) {
+            throw new IllegalStateException("Unreadable plan: " + plan, ex);
+        }
+        return relations;
+    }
+
+    private static void collectRelations(JsonNode node, List<String> relations) {
+        if (node.has("Relation Name")) {
+            relations.add(node.path("Relation Name").asText());
+        }
+        node.path("Plans").forEach(child -> collectRelations(child, relations));
+    }
+
+    private static void collectSeqScans(JsonNode node, List<String> relations) {
+        if ("Seq Scan".equals(node.path("Node Type").asText())) {
+            relations.add(node.path("Relation Name").asText());
+        }
+        node.path("Plans").forEach(child -> collectSeqScans(child, relations));
+    }
+
+    private static void consume(Stream<?> stream) {
+        try (stream) {
+            stream.limit(10).forEach(row -> { });
+        }
+    }
+}
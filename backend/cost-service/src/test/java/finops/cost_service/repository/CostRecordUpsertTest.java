@@ -0,0 +1,94 @@
+package finops.cost_service.repository;
+
+import finops.cost_service.TestcontainersConfiguration;
+import finops.cost_service.entity.CostRecord;
+import finops.cost_service.repository.CostRecordBatchWriter.UpsertResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TestcontainersConfiguration.class, CostRecordBatchWriter.class})
+@Testcontainers(disabledWithoutDocker = true)
+class CostRecordUpsertTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2025, 1, 15, 0, 0);
+
+    @Autowired
+    private CostRecordBatchWriter batchWriter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void createPartition() {
+        jdbcTemplate.queryForObject("SELECT ensure_cost_records_partition(DATE '2025-01-01')", String.class);
+    }
+
+    @Test
+    void replayingTheSameRecordsWritesNothing() {
+        UpsertResult first = batchWriter.upsert(List.of(record("i-1", "acct", "10.00"), record("i-2", null, "5.00")));
+        UpsertResult replay = batchWriter.upsert(List.of(record("i-1", "acct", "10.00"), record("i-2", null, "5.00")));
+
+        assertThat(first.inserted()).hasSize(2);
+        assertThat(replay.written()).isEmpty();
+        assertThat(rowCount()).isEqualTo(2);
+    }
+
+    @Test
+    void changedValuesUpdateTheStoredRowAndReturnThePreviousVersion() {
+        batchWriter.upsert(List.of(record("i-1", null, "10.00")));
+
+        UpsertResult result = batchWriter.upsert(List.of(record("i-1", null, "12.50")));
+
+        assertThat(result.inserted()).isEmpty();
+        assertThat(result.updated()).singleElement()
+                .satisfies(updated -> assertThat(updated.getId()).isNotNull());
+        assertThat(result.replaced()).singleElement()
+                .satisfies(previous -> assertThat(previous.getCost()).isEqualByComparingTo("10.00"));
+        assertThat(rowCount()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT cost FROM cost_records", BigDecimal.class))
+                .isEqualByComparingTo("12.50");
+    }
+
+    @Test
+    void repeatedKeysWithinABatchKeepTheLastRecord() {
+        UpsertResult result = batchWriter.upsert(List.of(
+                record("i-1", "acct", "1.00"), record("i-1", "acct", "2.00"), record("i-1", "other", "3.00")));
+
+        assertThat(result.inserted()).hasSize(2);
+        assertThat(rowCount()).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject("SELECT SUM(cost) FROM cost_records", BigDecimal.class))
+                .isEqualByComparingTo("5.00");
+    }
+
+    private int rowCount() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM cost_records", Integer.class);
+    }
+
+    private static CostRecord record(String resourceId, String accountId, String cost) {
+        CostRecord costRecord = new CostRecord();
+        costRecord.setCloudProvider("AWS");
+        costRecord.setServiceName("EC2");
+        costRecord.setResourceId(resourceId);
+        costRecord.setResourceName(resourceId);
+        costRecord.setCost(new BigDecimal(cost));
+        costRecord.setCostUsd(costRecord.getCost());
+        costRecord.setCurrency("USD");
+        costRecord.setAccountId(accountId);
+        costRecord.setUsageDate(DAY);
+        return costRecord;
+    }
+}
@@ -0,0 +1,55 @@
+package finops.cost_service.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CostAccumulatorTest {
+
+    @Test
+    void totalsMatchBigDecimalSummation() {
+        SplittableRandom random = new SplittableRandom(7);
+        CostAccumulator<String> accumulator = new CostAccumulator<>();
+        Map<String, BigDecimal> expectedTotals = new HashMap<>();
+        Map<String, Long> expectedCounts = new HashMap<>();
+
+        for (int i = 0; i < 200_000; i++) {
+            String key = "group-" + random.nextInt(500);
+            // Mix of scales, including values that need rounding to numeric(10, 2), and refunds
+            BigDecimal cost = BigDecimal.valueOf(random.nextLong(-100_000, 99_999_999_999L), random.nextInt(0, 4));
+            accumulator.add(key, cost);
+            expectedTotals.merge(key, cost.setScale(2, RoundingMode.HALF_UP), BigDecimal::add);
+            expectedCounts.merge(key, 1L, Long::sum);
+        }
+
+        assertThat(accumulator.size()).isEqualTo(expectedTotals.size());
+        for (int slot = 0; slot < accumulator.size(); slot++) {
+            String key = accumulator.key(slot);
+            assertThat(accumulator.total(slot)).isEqualTo(expectedTotals.get(key));
+            assertThat(accumulator.count(slot)).isEqualTo(expectedCounts.get(key));
+        }
+    }
+
+    @Test
+    void roundsHalfUpLikeNumericColumns() {
+        assertThat(CostAccumulator.toCents(new BigDecimal("1.005"))).isEqualTo(101L);
+        assertThat(CostAccumulator.toCents(new BigDecimal("-1.005"))).isEqualTo(-101L);
+        assertThat(CostAccumulator.toCents(new BigDecimal("12"))).isEqualTo(1200L);
+    }
+
+    @Test
+    void overflowFailsInsteadOfWrappingAround() {
+        CostAccumulator<String> accumulator = new CostAccumulator<>();
+        accumulator.add("AWS", Long.MAX_VALUE);
+
+        assertThatThrownBy(() -> accumulator.add("AWS", 1L))
+                .isInstanceOf(ArithmeticException.class);
+    }
+}
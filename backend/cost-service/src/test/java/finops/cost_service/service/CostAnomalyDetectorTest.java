@@ -0,0 +1,101 @@
+package finops.cost_service.service;
+
+import finops.cost_service.config.AnomalyProperties;
+import finops.cost_service.entity.CostRecord;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CostAnomalyDetectorTest {
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2025, 3, 1);
+
+    private final CostAnomalyDetector detector = new CostAnomalyDetector(properties(1000));
+
+    @Test
+    void spikeAfterSteadyHistoryIsADeviation() {
+        for (int day = 0; day < 14; day++) {
+            detector.recordsAdded(List.of(costRecord(FIRST_DAY.plusDays(day), 100 + day % 3)));
+        }
+        assertThat(detector.anomalies(null, 10)).isEmpty();
+
+        LocalDate spikeDay = FIRST_DAY.plusDays(14);
+        detector.recordsAdded(List.of(costRecord(spikeDay, 140)));
+
+        assertThat(detector.anomalies(null, 10)).singleElement().satisfies(anomaly -> {
+            assertThat(anomaly.day()).isEqualTo(spikeDay);
+            assertThat(anomaly.actualCents()).isEqualTo(14_000);
+            assertThat(anomaly.reasons()).containsExactly(CostAnomalyDetector.Reason.DEVIATION);
+            assertThat(anomaly.expectedCents()).isBetween(10_000.0, 10_300.0);
+        });
+    }
+
+    @Test
+    void doublingFromThePreviousDayIsFlaggedWithoutHistory() {
+        detector.recordsAdded(List.of(costRecord(FIRST_DAY, 50)));
+        detector.recordsAdded(List.of(costRecord(FIRST_DAY.plusDays(1), 60), costRecord(FIRST_DAY.plusDays(1), 40)));
+
+        assertThat(detector.anomalies(null, 10)).singleElement().satisfies(anomaly -> {
+            assertThat(anomaly.reasons()).containsExactly(CostAnomalyDetector.Reason.DAY_OVER_DAY);
+            assertThat(anomaly.previousDayCents()).isEqualTo(5_000);
+            assertThat(anomaly.dayOverDayRatio()).isEqualTo(2.0);
+            assertThat(anomaly.expectedCents()).isNull();
+        });
+    }
+
+    @Test
+    void removingTheSpikeClearsTheAnomaly() {
+        detector.recordsAdded(List.of(costRecord(FIRST_DAY, 50)));
+        CostRecord spike = costRecord(FIRST_DAY.plusDays(1), 500);
+        detector.recordsAdded(List.of(costRecord(FIRST_DAY.plusDays(1), 50), spike));
+        assertThat(detector.anomalies(null, 10)).hasSize(1);
+
+        detector.recordsRemoved(List.of(spike));
+
+        assertThat(detector.anomalies(null, 10)).isEmpty();
+    }
+
+    @Test
+    void smallAmountsAndOldDaysAreIgnored() {
+        detector.recordsAdded(List.of(costRecord(FIRST_DAY, 1)));
+        detector.recordsAdded(List.of(costRecord(FIRST_DAY.plusDays(1), 5)));
+        assertThat(detector.anomalies(null, 10)).isEmpty();
+
+        detector.recordsAdded(List.of(costRecord(FIRST_DAY.plusDays(2), 20)));
+        detector.recordsAdded(List.of(costRecord(FIRST_DAY, 1_000)));
+
+        assertThat(detector.anomalies(null, 10)).singleElement()
+                .satisfies(anomaly -> assertThat(anomaly.day()).isEqualTo(FIRST_DAY.plusDays(2)));
+        assertThat(detector.anomalies(FIRST_DAY.plusDays(3), 10)).isEmpty();
+    }
+
+    @Test
+    void seriesCountStaysBounded() {
+        CostAnomalyDetector bounded = new CostAnomalyDetector(properties(100));
+        for (int i = 0; i < 10_000; i++) {
+            bounded.observe(new CostAnomalyDetector.SeriesKey("AWS", "account-" + i, "EC2"), FIRST_DAY, 1_000);
+        }
+        assertThat(bounded.seriesCount()).isLessThanOrEqualTo(110);
+    }
+
+    private static AnomalyProperties properties(long maxSeries) {
+        return new AnomalyProperties(maxSeries, 0.3, 3.0, 2.0, new BigDecimal("10.00"), 7, 30,
+                Duration.ofDays(7), 10_000);
+    }
+
+    private static CostRecord costRecord(LocalDate day, long cost) {
+        CostRecord costRecord = new CostRecord();
+        costRecord.setCloudProvider("AWS");
+        costRecord.setAccountId("123456789012");
+        costRecord.setServiceName("EC2");
+        costRecord.setUsageDate(day.atStartOfDay());
+        costRecord.setCost(BigDecimal.valueOf(cost));
+        costRecord.setCostUsd(costRecord.getCost());
+        return costRecord;
+    }
+}
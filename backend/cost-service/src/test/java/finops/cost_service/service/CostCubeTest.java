@@ -0,0 +1,120 @@
+package finops.cost_service.service;
+
+import finops.cost_service.entity.CostRecord;
+import finops.cost_service.repository.CostAggregateRepository;
+import finops.cost_service.repository.CostDimension;
+import finops.cost_service.repository.DailyCostRollupWriter;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CostCubeTest {
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2025, 3, 1);
+
+    @Test
+    void groupsAndTotalsMatchARecordByRecordSum() {
+        List<CostRecord> records = new ArrayList<>();
+        new CostRecordGenerator(50_000, 60, FIRST_DAY, 30, 1.1, 7).forEachRemaining(records::add);
+        CostCube cube = cube(true);
+        cube.addAll(DailyCostRollupService.toDeltas(records, false));
+
+        LocalDate start = FIRST_DAY.plusDays(10);
+        List<CostAggregateRepository.Row> rows = cube.aggregate(
+                List.of(CostDimension.WEEK, CostDimension.PROVIDER),
+                Map.of(CostDimension.ENVIRONMENT, List.of("production", "staging")),
+                start, null, 10_000).orElseThrow();
+
+        Map<List<String>, BigDecimal> expected = records.stream()
+                .filter(r -> !r.getUsageDate().toLocalDate().isBefore(start))
+                .filter(r -> r.getEnvironment().equals("production") || r.getEnvironment().equals("staging"))
+                .collect(Collectors.groupingBy(
+                        r -> List.of(r.getUsageDate().toLocalDate()
+                                .with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).toString(), r.getCloudProvider()),
+                        Collectors.reducing(BigDecimal.ZERO, CostRecord::getCost, BigDecimal::add)));
+
+        assertThat(rows).hasSize(expected.size());
+        rows.forEach(row -> assertThat(row.totalCost()).isEqualByComparingTo(expected.get(row.dimensionValues())));
+        assertThat(rows.get(0).overallCost())
+                .isEqualByComparingTo(expected.values().stream().reduce(BigDecimal.ZERO, BigDecimal::add));
+        assertThat(rows.get(0).groupCount()).isEqualTo(expected.size());
+        // Weeks ascending, biggest provider first within a week
+        for (int i = 1; i < rows.size(); i++) {
+            CostAggregateRepository.Row previous = rows.get(i - 1);
+            CostAggregateRepository.Row row = rows.get(i);
+            int week = row.dimensionValues().get(0).compareTo(previous.dimensionValues().get(0));
+            assertThat(week > 0 || (week == 0 && row.totalCost().compareTo(previous.totalCost()) <= 0)).isTrue();
+        }
+    }
+
+    @Test
+    void removedRecordsTakeTheirGroupsWithThem() {
+        CostCube cube = cube(true);
+        CostRecord kept = costRecord("AWS", "EC2", FIRST_DAY, "10.00");
+        CostRecord removed = costRecord("GCP", "BigQuery", FIRST_DAY, "25.50");
+        cube.addAll(DailyCostRollupService.toDeltas(List.of(kept, removed), false));
+        cube.addAll(DailyCostRollupService.toDeltas(List.of(removed), true));
+
+        List<CostAggregateRepository.Row> rows = cube.aggregate(List.of(CostDimension.SERVICE, CostDimension.ACCOUNT),
+                Map.of(), null, null, 100).orElseThrow();
+
+        assertThat(rows).singleElement().satisfies(row -> {
+            assertThat(row.dimensionValues()).containsExactly("EC2", null);
+            assertThat(row.totalCost()).isEqualByComparingTo("10.00");
+            assertThat(row.recordCount()).isEqualTo(1);
+            assertThat(row.overallCost()).isEqualByComparingTo("10.00");
+            assertThat(row.groupCount()).isEqualTo(1);
+        });
+    }
+
+    @Test
+    void queriesReachingBeforeTheWindowAreLeftToSql() {
+        CostCube cube = cube(true);
+        assertThat(cube.covers(null)).isTrue();
+
+        cube.addAll(DailyCostRollupService.toDeltas(List.of(costRecord("AWS", "S3", FIRST_DAY.minusDays(1), "1.00")), false));
+
+        assertThat(cube.covers(null)).isFalse();
+        assertThat(cube.covers(FIRST_DAY.minusDays(1))).isFalse();
+        assertThat(cube.covers(FIRST_DAY)).isTrue();
+        assertThat(cube.rows()).isZero();
+    }
+
+    @Test
+    void stopsTakingRowsAtTheMemoryBudget() {
+        CostCube cube = new CostCube(FIRST_DAY, true, 1);
+        DailyCostRollupWriter.Delta delta =
+                DailyCostRollupService.toDeltas(List.of(costRecord("AWS", "S3", FIRST_DAY, "1.00")), false).get(0);
+        for (int row = 0; row < CostCube.CHUNK_ROWS; row++) {
+            assertThat(cube.add(delta)).isTrue();
+        }
+
+        assertThat(cube.add(delta)).isFalse();
+        assertThat(cube.memoryBytes()).isEqualTo((long) CostCube.CHUNK_ROWS * CostCube.BYTES_PER_ROW);
+    }
+
+    private static CostCube cube(boolean complete) {
+        return new CostCube(FIRST_DAY, complete, 64L * 1024 * 1024);
+    }
+
+    private static CostRecord costRecord(String provider, String service, LocalDate day, String cost) {
+        CostRecord costRecord = new CostRecord();
+        costRecord.setCloudProvider(provider);
+        costRecord.setServiceName(service);
+        costRecord.setResourceId(provider + "-" + service);
+        costRecord.setCost(new BigDecimal(cost));
+        costRecord.setCostUsd(costRecord.getCost());
+        costRecord.setCurrency("USD");
+        costRecord.setUsageDate(day.atStartOfDay());
+        return costRecord;
+    }
+}
@@ -0,0 +1,105 @@
+package finops.cost_service.service;
+
+import finops.cost_service.config.CostCacheProperties;
+import finops.cost_service.repository.DataVersionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class CostDataVersionTest {
+
+    private final StubVersions repository = new StubVersions();
+    private final CostDataVersion costDataVersion = new CostDataVersion(repository,
+            mock(PlatformTransactionManager.class), new CostCacheProperties(Duration.ofMinutes(10), 500,
+            Duration.ofMinutes(1), 100, Duration.ofHours(1), 10_000, Duration.ofMinutes(1)));
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(costDataVersion);
+    }
+
+    @Test
+    void eTagIsReadFromTheSharedVersionAtMostOncePerInterval() {
+        repository.version = 7;
+
+        assertThat(costDataVersion.eTag()).isEqualTo("W/\"7\"");
+        repository.version = 8; // committed by another instance
+        assertThat(costDataVersion.eTag()).isEqualTo("W/\"7\"");
+        assertThat(repository.reads).isEqualTo(1);
+
+        costDataVersion.changed(); // committed by this one
+        assertThat(costDataVersion.eTag()).isEqualTo("W/\"8\"");
+        assertThat(repository.reads).isEqualTo(2);
+    }
+
+    @Test
+    void transactionKeepsTheVersionItReadFirst() {
+        TransactionSynchronizationManager.initSynchronization();
+        repository.version = 3;
+
+        assertThat(costDataVersion.snapshot()).isEqualTo(3);
+        repository.version = 4;
+        assertThat(costDataVersion.snapshot()).isEqualTo(3);
+        assertThat(repository.reads).isEqualTo(1);
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        TransactionSynchronizationManager.clearSynchronization();
+
+        assertThat(costDataVersion.snapshot()).isEqualTo(4);
+    }
+
+    @Test
+    void changesIncrementTheSharedVersion() {
+        costDataVersion.onCostDataChanged(null);
+        costDataVersion.onRollupRebuilt(null);
+
+        assertThat(repository.version).isEqualTo(2);
+    }
+
+    @Test
+    void transactionKnowsTheVersionItsChangesCommitAs() {
+        TransactionSynchronizationManager.initSynchronization();
+        repository.version = 5;
+
+        costDataVersion.onCostDataChanged(null);
+        costDataVersion.onCostDataChanged(null);
+        assertThat(costDataVersion.committedVersion()).isEqualTo(7);
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        assertThat(costDataVersion.committedVersion()).isNull();
+    }
+
+    // The cost_data row, counting how often it would be queried
+    private static final class StubVersions extends DataVersionRepository {
+
+        private long version;
+        private int reads;
+
+        StubVersions() {
+            super(null);
+        }
+
+        @Override
+        public long current(String name) {
+            reads++;
+            return version;
+        }
+
+        @Override
+        public long increment(String name) {
+            return ++version;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package finops.cost_service.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import finops.cost_service.config.FeedProperties;
+import finops.cost_service.dto.CostFeedEvent;
+import finops.cost_service.entity.CostRecord;
+import finops.cost_service.event.CostDataChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CostFeedServiceTest {
+
+    private final CostFeedService feed = new CostFeedService(
+            new FeedProperties(10, Duration.ofMinutes(1), Duration.ofSeconds(15), 3, 10),
+            new CostRecordMapper(), new ObjectMapper(), null, new SimpleMeterRegistry());
+
+    @AfterEach
+    void close() {
+        feed.close();
+    }
+
+    @Test
+    void summaryDeltaNetsAddedAgainstRemoved() {
+        CostFeedEvent event = feed.toFeedEvent(CostDataChangedEvent.replaced(
+                List.of(costRecord(1L, "AWS", "EC2", "10.50"), costRecord(2L, "GCP", "GKE", "4.25")),
+                List.of(costRecord(1L, "AWS", "EC2", "8.00"))), 12L);
+
+        assertThat(event.getSummaryDelta().getTotalCost()).isEqualByComparingTo("6.75");
+        assertThat(event.getSummaryDelta().getTotalRecords()).isEqualTo(1);
+        assertThat(event.getSummaryDelta().getCostByProvider())
+                .containsEntry("AWS", new BigDecimal("2.50"))
+                .containsEntry("GCP", new BigDecimal("4.25"));
+        assertThat(event.getAdded()).extracting("id").containsExactly(1L, 2L);
+        assertThat(event.getRemovedIds()).containsExactly(1L);
+        assertThat(event.isRecordsTruncated()).isFalse();
+        assertThat(event.getDataVersion()).isEqualTo(12);
+    }
+
+    @Test
+    void largeOrIdlessChangesOnlyCarryTotals() {
+        List<CostRecord> bulk = new ArrayList<>();
+        for (long id = 1; id <= 4; id++) {
+            bulk.add(costRecord(id, "AWS", "S3", "1.00"));
+        }
+        CostFeedEvent large = feed.toFeedEvent(CostDataChangedEvent.added(bulk), 1L);
+        CostFeedEvent copied = feed.toFeedEvent(CostDataChangedEvent.added(List.of(costRecord(null, "AWS", "S3", "1.00"))), 2L);
+
+        for (CostFeedEvent event : List.of(large, copied)) {
+            assertThat(event.isRecordsTruncated()).isTrue();
+            assertThat(event.getAdded()).isEmpty();
+        }
+        assertThat(large.getAddedCount()).isEqualTo(4);
+        assertThat(large.getSummaryDelta().getCostByService()).containsEntry("S3", new BigDecimal("4.00"));
+    }
+
+    @Test
+    void refusesClientsBeyondTheLimit() {
+        for (int i = 0; i < 10; i++) {
+            assertThat(feed.subscribe()).isPresent();
+        }
+        assertThat(feed.subscribe()).isEmpty();
+    }
+
+    private static CostRecord costRecord(Long id, String provider, String service, String cost) {
+        CostRecord costRecord = new CostRecord();
+        costRecord.setId(id);
+        costRecord.setCloudProvider(provider);
+        costRecord.setServiceName(service);
+        costRecord.setCost(new BigDecimal(cost));
+        costRecord.setCostUsd(costRecord.getCost());
+        costRecord.setUsageDate(LocalDateTime.of(2025, 3, 1, 0, 0));
+        return costRecord;
+    }
+}
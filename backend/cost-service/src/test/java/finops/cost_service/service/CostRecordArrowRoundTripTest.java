@@ -0,0 +1,87 @@
+package finops.cost_service.service;
+
+import finops.cost_service.dto.CostRecordRequest;
+import finops.cost_service.entity.CostRecord;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CostRecordArrowRoundTripTest {
+
+    private static final Map<String, List<String>> DICTIONARIES = Map.of(
+            CostRecordArrowFormat.CLOUD_PROVIDER, List.of("AWS", "GCP"),
+            CostRecordArrowFormat.SERVICE_NAME, List.of("EC2", "BigQuery"),
+            CostRecordArrowFormat.REGION, List.of("us-east-1", ""),
+            CostRecordArrowFormat.ACCOUNT_ID, List.of("123456789012", ""),
+            CostRecordArrowFormat.DEPARTMENT, List.of("Engineering"),
+            CostRecordArrowFormat.ENVIRONMENT, List.of("production")
+    );
+
+    @Test
+    void recordsSurviveExportAndImportAcrossBatches() throws Exception {
+        List<CostRecord> records = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            records.add(costRecord(i, i % 2 == 0 ? "AWS" : "GCP", i % 3 == 0 ? null : "us-east-1"));
+        }
+        // Blank region and account are valid input and share the rollup's '' with missing ones
+        records.get(4).setRegion("");
+        records.get(7).setAccountId("");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (CostRecordArrowWriter writer = new CostRecordArrowWriter(out, DICTIONARIES, 10)) {
+            for (CostRecord costRecord : records) {
+                writer.write(costRecord);
+            }
+        }
+
+        List<CostRecordRequest> imported = new ArrayList<>();
+        try (CostRecordArrowReader reader = new CostRecordArrowReader(new ByteArrayInputStream(out.toByteArray()))) {
+            reader.forEach(imported::add);
+        }
+
+        assertThat(imported).hasSize(records.size());
+        for (int i = 0; i < records.size(); i++) {
+            CostRecord expected = records.get(i);
+            assertThat(imported.get(i)).isEqualTo(new CostRecordRequest(expected.getCloudProvider(),
+                    expected.getServiceName(), expected.getResourceId(), expected.getResourceName(),
+                    expected.getCost(), expected.getCurrency(), expected.getRegion(), expected.getAccountId(),
+                    expected.getDepartment(), expected.getEnvironment(), expected.getUsageDate()));
+        }
+    }
+
+    @Test
+    void valuesMissingFromTheDictionaryAreRejected() throws Exception {
+        try (CostRecordArrowWriter writer = new CostRecordArrowWriter(new ByteArrayOutputStream(), DICTIONARIES, 10)) {
+            assertThatThrownBy(() -> writer.write(costRecord(1, "Azure", null)))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("Azure");
+        }
+    }
+
+    private static CostRecord costRecord(int i, String provider, String region) {
+        CostRecord costRecord = new CostRecord();
+        costRecord.setId((long) i + 1);
+        costRecord.setCloudProvider(provider);
+        costRecord.setServiceName(i % 2 == 0 ? "EC2" : "BigQuery");
+        costRecord.setResourceId("resource-" + i);
+        costRecord.setResourceName("Resource " + i);
+        costRecord.setCost(new BigDecimal(i + ".25"));
+        costRecord.setCurrency("USD");
+        costRecord.setRegion(region);
+        costRecord.setAccountId("123456789012");
+        costRecord.setDepartment(i % 5 == 0 ? null : "Engineering");
+        costRecord.setEnvironment("production");
+        costRecord.setUsageDate(LocalDateTime.of(2025, 1, 1, 0, 0).plusHours(i).plusNanos(123_456_000));
+        costRecord.setCreatedAt(LocalDateTime.of(2025, 2, 1, 12, 0));
+        return costRecord;
+    }
+}
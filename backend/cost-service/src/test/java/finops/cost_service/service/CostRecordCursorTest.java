@@ -0,0 +1,43 @@
+package finops.cost_service.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CostRecordCursorTest {
+
+    @Test
+    void encodedCursorRoundTrips() {
+        CostRecordCursor cursor = new CostRecordCursor(LocalDateTime.of(2025, 3, 14, 9, 26, 53), 42L);
+
+        assertThat(CostRecordCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void missingCursorStartsFromTheFirstRow() {
+        ScrollPosition position = CostRecordCursor.toScrollPosition(null);
+
+        assertThat(position.isInitial()).isTrue();
+    }
+
+    @Test
+    void cursorSeeksAfterUsageDateAndId() {
+        LocalDateTime usageDate = LocalDateTime.of(2025, 3, 14, 0, 0);
+        String cursor = new CostRecordCursor(usageDate, 7L).encode();
+
+        KeysetScrollPosition position = (KeysetScrollPosition) CostRecordCursor.toScrollPosition(cursor);
+
+        assertThat(position.getKeys()).containsEntry("usageDate", usageDate).containsEntry("id", 7L);
+    }
+
+    @Test
+    void malformedCursorIsRejected() {
+        assertThatThrownBy(() -> CostRecordCursor.decode("not-a-cursor"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
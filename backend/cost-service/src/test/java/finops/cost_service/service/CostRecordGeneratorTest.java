@@ -0,0 +1,56 @@
+package finops.cost_service.service;
+
+import finops.cost_service.entity.CostRecord;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CostRecordGeneratorTest {
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2025, 1, 1);
+
+    @Test
+    void sameSeedProducesTheSameRecords() {
+        assertThat(generate(10_000, 42)).isEqualTo(generate(10_000, 42));
+        assertThat(generate(10_000, 42)).isNotEqualTo(generate(10_000, 43));
+    }
+
+    @Test
+    void everyResourceBillsOncePerDay() {
+        List<CostRecord> records = generate(9_001, 42);
+
+        assertThat(records).hasSize(9_001);
+        Set<String> naturalKeys = new HashSet<>();
+        records.forEach(record -> assertThat(naturalKeys.add(record.getResourceId() + "|" + record.getUsageDate()))
+                .as("duplicate natural key %s on %s", record.getResourceId(), record.getUsageDate()).isTrue());
+        assertThat(records).extracting(CostRecord::getUsageDate)
+                .allSatisfy(day -> assertThat(day.toLocalDate()).isBetween(FIRST_DAY, FIRST_DAY.plusDays(89)));
+        assertThat(records).extracting(CostRecord::getCost)
+                .allSatisfy(cost -> assertThat(cost).isPositive().isLessThan(new BigDecimal("100000000")));
+    }
+
+    @Test
+    void spendIsConcentratedInFewAccounts() {
+        Map<String, Integer> resourcesByAccount = new HashMap<>();
+        new CostRecordGenerator(30_000, 1, FIRST_DAY, 300, 1.1, 42)
+                .forEachRemaining(record -> resourcesByAccount.merge(record.getAccountId(), 1, Integer::sum));
+
+        int busiest = resourcesByAccount.values().stream().max(Integer::compare).orElseThrow();
+        assertThat(busiest).isGreaterThan(10 * 30_000 / 300);
+    }
+
+    private static List<CostRecord> generate(long records, long seed) {
+        List<CostRecord> generated = new ArrayList<>();
+        new CostRecordGenerator(records, 90, FIRST_DAY, 300, 1.1, seed).forEachRemaining(generated::add);
+        return generated;
+    }
+}
@@ -0,0 +1,51 @@
+package finops.cost_service.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import finops.cost_service.config.IngestProperties;
+import finops.cost_service.dto.BulkIngestError;
+import finops.cost_service.dto.BulkIngestResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CostRecordIngestServiceTest {
+
+    // Nothing here may reach a batch: the writer, the rollup and the transaction are left out
+    private final CostRecordIngestService ingestService = new CostRecordIngestService(null, new CostRecordMapper(),
+            null, null, null, Validation.buildDefaultValidatorFactory().getValidator(),
+            new ObjectMapper().findAndRegisterModules(), null, new IngestProperties(2, 100),
+            new CostRecordMetrics(new SimpleMeterRegistry()), null);
+
+    @Test
+    void valuesTheColumnsCannotHoldAreRejectedPerRecord() throws IOException {
+        String body = String.join("\n",
+                record("123456789.00", "us-east-1"),
+                record("10.125", "us-east-1"),
+                record("10.00", "r".repeat(256)));
+
+        BulkIngestResponse response = ingestService.ingest(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), BulkIngestMode.INSERT);
+
+        assertThat(response.getReceived()).isEqualTo(3);
+        assertThat(response.getRejected()).isEqualTo(3);
+        assertThat(response.getInserted()).isZero();
+        assertThat(response.getErrors()).extracting(BulkIngestError::getIndex).containsExactly(0L, 1L, 2L);
+        assertThat(response.getErrors().get(0).getErrors()).containsOnlyKeys("cost");
+        assertThat(response.getErrors().get(1).getErrors()).containsOnlyKeys("cost");
+        assertThat(response.getErrors().get(2).getErrors())
+                .containsExactly(Map.entry("region", "Region must be at most 255 characters"));
+    }
+
+    private static String record(String cost, String region) {
+        return "{\"cloudProvider\":\"AWS\",\"serviceName\":\"EC2\",\"resourceId\":\"i-1\",\"resourceName\":\"web\","
+                + "\"cost\":" + cost + ",\"currency\":\"USD\",\"region\":\"" + region + "\","
+                + "\"usageDate\":\"2025-03-10T12:00:00\"}";
+    }
+}
@@ -0,0 +1,163 @@
+package finops.cost_service.service;
+
+import finops.cost_service.TestcontainersConfiguration;
+import finops.cost_service.config.CostCacheProperties;
+import finops.cost_service.config.PartitionProperties;
+import finops.cost_service.entity.CostRecord;
+import finops.cost_service.repository.CostRecordPartitionRepository;
+import finops.cost_service.repository.DataVersionRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Partition DDL commits on its own, so these tests run outside the usual rolled back transaction
+// and clean up after themselves
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TestcontainersConfiguration.class, CostRecordPartitionRepository.class, DataVersionRepository.class})
+@Testcontainers(disabledWithoutDocker = true)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CostRecordPartitionServiceTest {
+
+    private static final String ARCHIVE_SCHEMA = "cost_archive_test";
+    // Retention keeps everything from January 2020 on, so only the December 2019 partition is removed
+    private static final YearMonth OLDEST_KEPT = YearMonth.of(2020, 1);
+    private static final YearMonth REMOVED = OLDEST_KEPT.minusMonths(1);
+    // Far enough ahead that maintenance never creates them
+    private static final YearMonth FUTURE = YearMonth.of(2040, 5);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataVersionRepository dataVersionRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private CountingPartitions partitionRepository;
+    private CostRecordPartitionService service;
+
+    @BeforeEach
+    void setUp() {
+        int retentionMonths = (int) ChronoUnit.MONTHS.between(OLDEST_KEPT, YearMonth.now());
+        CostDataVersion costDataVersion = new CostDataVersion(dataVersionRepository, transactionManager,
+                new CostCacheProperties(Duration.ofMinutes(10), 500, Duration.ofMinutes(1), 100,
+                        Duration.ofHours(1), 10_000, Duration.ofSeconds(1)));
+        partitionRepository = new CountingPartitions(jdbcTemplate);
+        service = new CostRecordPartitionService(partitionRepository,
+                new PartitionProperties(3, retentionMonths, PartitionProperties.RetentionAction.ARCHIVE, ARCHIVE_SCHEMA),
+                transactionManager, entityManagerFactory, costDataVersion);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.execute("DROP SCHEMA IF EXISTS " + ARCHIVE_SCHEMA + " CASCADE");
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition(REMOVED));
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition(FUTURE) + ", " + partition(FUTURE.plusMonths(1)));
+    }
+
+    @Test
+    void partitionIsCreatedBeforeTheFirstWriteOfAMonthOnly() {
+        CostRecord costRecord = costRecord(FUTURE.plusMonths(1).atDay(3).atTime(0, 0));
+
+        service.ensurePartitionsFor(List.of(costRecord));
+        service.ensurePartitionsFor(List.of(costRecord, costRecord(FUTURE.plusMonths(1).atDay(20).atTime(0, 0))));
+
+        assertThat(table("public." + partition(FUTURE.plusMonths(1)))).isTrue();
+        assertThat(partitionRepository.ensured).containsExactly(FUTURE.plusMonths(1));
+    }
+
+    @Test
+    void maintenanceAtStartupLearnsTheExistingPartitions() {
+        // Created before this instance started
+        jdbcTemplate.queryForObject("SELECT ensure_cost_records_partition(?)", String.class, FUTURE.atDay(1));
+
+        service.maintain();
+        partitionRepository.ensured.clear();
+        service.ensurePartitionsFor(List.of(costRecord(FUTURE.atDay(10).atTime(0, 0))));
+
+        assertThat(partitionRepository.ensured).isEmpty();
+    }
+
+    @Test
+    void lateRecordForAnArchivedMonthIsRejectedAndRetentionKeepsWorking() {
+        jdbcTemplate.queryForObject("SELECT ensure_cost_records_partition(?)", String.class, REMOVED.atDay(1));
+        insertCostRecord(REMOVED.atDay(10).atTime(12, 0));
+
+        service.maintain();
+
+        assertThat(table(ARCHIVE_SCHEMA + "." + partition(REMOVED))).isTrue();
+        assertThat(table("public." + partition(REMOVED))).isFalse();
+
+        CostRecord late = costRecord(REMOVED.atDay(15).atTime(8, 0));
+        assertThatThrownBy(() -> service.requireRetained(late.getUsageDate()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Usage date " + REMOVED.atDay(15) + " is before " + OLDEST_KEPT + ", the oldest month kept");
+        assertThatThrownBy(() -> service.ensurePartitionsFor(List.of(late)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(table("public." + partition(REMOVED))).isFalse();
+
+        service.maintain();
+        service.requireRetained(OLDEST_KEPT.atDay(1).atStartOfDay());
+    }
+
+    private boolean table(String qualifiedName) {
+        return jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, qualifiedName);
+    }
+
+    private void insertCostRecord(LocalDateTime usageDate) {
+        jdbcTemplate.update("INSERT INTO cost_records (cloud_provider, service_name, resource_id, resource_name, "
+                + "cost, currency, usage_date, created_at, cost_usd) "
+                + "VALUES ('AWS', 'EC2', 'i-1', 'web', 1.00, 'USD', ?, now(), 1.00)", usageDate);
+    }
+
+    private static String partition(YearMonth month) {
+        return String.format("cost_records_%d_%02d", month.getYear(), month.getMonthValue());
+    }
+
+    private static CostRecord costRecord(LocalDateTime usageDate) {
+        CostRecord costRecord = new CostRecord();
+        costRecord.setUsageDate(usageDate);
+        return costRecord;
+    }
+
+    // The real repository, recording which months it was asked to partition
+    private static final class CountingPartitions extends CostRecordPartitionRepository {
+
+        private final List<YearMonth> ensured = new ArrayList<>();
+
+        CountingPartitions(JdbcTemplate jdbcTemplate) {
+            super(jdbcTemplate);
+        }
+
+        @Override
+        public String ensurePartition(YearMonth month) {
+            ensured.add(month);
+            return super.ensurePartition(month);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package finops.cost_service.service;
+
+import finops.cost_service.TestcontainersConfiguration;
+import finops.cost_service.dto.CostSummaryResponse;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Grows cost_records from 10k to 1M rows and checks that getCostSummary keeps a flat
+ * allocation profile, i.e. no entity is materialized regardless of table size.
+ * Rows are inserted with plain SQL, so the daily rollup is rebuilt after each step.
+ * Run with {@code mvn -Pbenchmark test}.
+ */
+@Tag("benchmark")
+// Not the dev profile: its sample records would land in the middle of the row counts asserted below
+@SpringBootTest(properties = "spring.profiles.default=default")
+@Import(TestcontainersConfiguration.class)
+@Testcontainers(disabledWithoutDocker = true)
+class CostSummaryBenchmarkTest {
+
+    private static final int[] ROW_COUNTS = {10_000, 100_000, 1_000_000};
+    private static final int WARMUP_RUNS = 3;
+    private static final int MEASURED_RUNS = 5;
+
+    @Autowired
+    private CostRecordService costRecordService;
+
+    @Autowired
+    private DailyCostRollupService dailyCostRollupService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void summaryHeapStaysFlatAsRowCountGrows() {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        List<long[]> results = new ArrayList<>();
+
+        jdbcTemplate.execute("TRUNCATE cost_records, daily_cost_rollup");
+        int loaded = 0;
+        for (int rows : ROW_COUNTS) {
+            insertSyntheticRows(loaded, rows - loaded);
+            loaded = rows;
+            dailyCostRollupService.rebuildAll();
+            jdbcTemplate.execute("ANALYZE cost_records");
+            jdbcTemplate.execute("ANALYZE daily_cost_rollup");
+
+            for (int i = 0; i < WARMUP_RUNS; i++) {
+                costRecordService.getCostSummary();
+            }
+
+            long bestNanos = Long.MAX_VALUE;
+            long allocated = 0;
+            for (int i = 0; i < MEASURED_RUNS; i++) {
+                long bytesBefore = threads.getCurrentThreadAllocatedBytes();
+                long start = System.nanoTime();
+                CostSummaryResponse summary = costRecordService.getCostSummary();
+                bestNanos = Math.min(bestNanos, System.nanoTime() - start);
+                allocated = threads.getCurrentThreadAllocatedBytes() - bytesBefore;
+                assertThat(summary.getTotalRecords()).isEqualTo(rows);
+            }
+            results.add(new long[]{rows, bestNanos / 1_000_000, allocated / 1024});
+        }
+
+        System.out.printf("%12s %12s %16s%n", "rows", "latency ms", "allocated KiB");
+        results.forEach(r -> System.out.printf("%12d %12d %16d%n", r[0], r[1], r[2]));
+
+        long smallest = results.get(0)[2];
+        long largest = results.get(results.size() - 1)[2];
+        assertThat(largest).isLessThan(smallest * 2 + 256);
+    }
+
+    private void insertSyntheticRows(int offset, int count) {
+        jdbcTemplate.queryForList("""
+                SELECT ensure_cost_records_partition(CAST(month AS date))
+                FROM generate_series(date_trunc('month', now() - INTERVAL '365 days'), now(), INTERVAL '1 month') AS month
+                """);
+        jdbcTemplate.update("""
+                INSERT INTO cost_records (cloud_provider, service_name, resource_id, resource_name, cost, currency,
+                                          region, account_id, department, environment, usage_date, created_at,
+                                          cost_usd)
+                SELECT (ARRAY['AWS', 'Azure', 'GCP'])[1 + g % 3],
+                       'service-' || (g % 40),
+                       'resource-' || g,
+                       'resource-' || g,
+                       cost,
+                       'USD',
+                       'region-' || (g % 12),
+                       'account-' || (g % 25),
+                       'Engineering',
+                       'production',
+                       now() - (g % 365) * interval '1 day',
+                       now(),
+                       cost
+                FROM (SELECT g, round((random() * 1000)::numeric, 2) AS cost FROM generate_series(?, ?) AS g) AS s
+                """, offset + 1, offset + count);
+    }
+}
@@ -0,0 +1,132 @@
+package finops.cost_service.service;
+
+import finops.cost_service.config.CacheConfig;
+import finops.cost_service.entity.CostRecord;
+import finops.cost_service.event.FxRatesChangedEvent;
+import finops.cost_service.repository.DataVersionRepository;
+import finops.cost_service.repository.FxRateRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CurrencyNormalizerTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 10);
+
+    private final StubRates repository = new StubRates();
+    private final StubVersion ratesVersion = new StubVersion();
+    private final CurrencyNormalizer normalizer = new CurrencyNormalizer(repository, ratesVersion,
+            new ConcurrentMapCacheManager(CacheConfig.FX_RATES));
+
+    @Test
+    void usdIsTakenAsItIs() {
+        BigDecimal amount = new BigDecimal("12.345");
+
+        assertThat(normalizer.toUsd(amount, "usd", DAY)).isSameAs(amount);
+        assertThat(repository.lookups).isZero();
+    }
+
+    @Test
+    void otherCurrenciesUseTheLatestRateOnOrBeforeTheDay() {
+        repository.rates.put(DAY.minusDays(3), new BigDecimal("1.10"));
+        repository.rates.put(DAY.plusDays(1), new BigDecimal("1.20"));
+
+        CostRecord costRecord = costRecord("eur", "10.05");
+        normalizer.normalize(costRecord);
+
+        assertThat(costRecord.getCostUsd()).isEqualByComparingTo("11.06"); // 11.055 rounded half up
+        assertThat(costRecord.getCost()).isEqualByComparingTo("10.05");
+    }
+
+    @Test
+    void ratesAreLookedUpOncePerCurrencyAndDay() {
+        repository.rates.put(DAY, new BigDecimal("1.10"));
+
+        for (int i = 0; i < 1000; i++) {
+            normalizer.toUsd(BigDecimal.ONE, "EUR", DAY);
+        }
+        assertThat(repository.lookups).isEqualTo(1);
+
+        normalizer.onFxRatesChanged(new FxRatesChangedEvent(Set.of("EUR"), DAY));
+        normalizer.toUsd(BigDecimal.ONE, "EUR", DAY);
+        assertThat(repository.lookups).isEqualTo(2);
+    }
+
+    @Test
+    void writesConvertAtTheRatesVersionTheyHold() {
+        repository.rates.put(DAY, new BigDecimal("1.10"));
+        CostRecord costRecord = costRecord("EUR", "10.00");
+        normalizer.normalize(costRecord); // accepted at 1.10
+
+        repository.rates.put(DAY, new BigDecimal("1.20"));
+        ratesVersion.version++; // the rate change committed before the batch was written
+        normalizer.normalizeForWrite(List.of(costRecord));
+
+        assertThat(costRecord.getCostUsd()).isEqualByComparingTo("12.00");
+        assertThat(ratesVersion.sharedLocks).isEqualTo(1);
+        assertThat(repository.lookups).isEqualTo(2);
+    }
+
+    @Test
+    void missingRateIsRejectedWithoutQueryingAgain() {
+        assertThatThrownBy(() -> normalizer.toUsd(BigDecimal.ONE, "EUR", DAY))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("No exchange rate from EUR to USD on or before " + DAY);
+        assertThatThrownBy(() -> normalizer.toUsd(BigDecimal.ONE, "EUR", DAY))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(repository.lookups).isEqualTo(1);
+    }
+
+    private static CostRecord costRecord(String currency, String cost) {
+        CostRecord costRecord = new CostRecord();
+        costRecord.setCost(new BigDecimal(cost));
+        costRecord.setCurrency(currency);
+        costRecord.setUsageDate(DAY.atTime(14, 0));
+        return costRecord;
+    }
+
+    // The fx_rates row of data_versions, counting how often writes would lock it
+    private static final class StubVersion extends DataVersionRepository {
+
+        private long version;
+        private int sharedLocks;
+
+        StubVersion() {
+            super(null);
+        }
+
+        @Override
+        public long lockShared(String name) {
+            sharedLocks++;
+            return version;
+        }
+    }
+
+    // EUR rates by day, counting how often the table would be queried
+    private static final class StubRates extends FxRateRepository {
+
+        private final TreeMap<LocalDate, BigDecimal> rates = new TreeMap<>();
+        private int lookups;
+
+        StubRates() {
+            super(null);
+        }
+
+        @Override
+        public Optional<BigDecimal> findRateOnOrBefore(String currency, LocalDate day) {
+            lookups++;
+            return Optional.ofNullable(rates.floorEntry(day)).map(Map.Entry::getValue);
+        }
+    }
+}
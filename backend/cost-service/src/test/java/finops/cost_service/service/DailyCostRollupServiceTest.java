@@ -0,0 +1,91 @@
+package finops.cost_service.service;
+
+import finops.cost_service.TestcontainersConfiguration;
+import finops.cost_service.entity.CostRecord;
+import finops.cost_service.repository.CostRecordRepository;
+import finops.cost_service.repository.DailyCostRollupWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TestcontainersConfiguration.class, DailyCostRollupService.class, DailyCostRollupWriter.class})
+@Testcontainers(disabledWithoutDocker = true)
+class DailyCostRollupServiceTest {
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2025, 2, 1);
+    private static final LocalDate LAST_DAY = LocalDate.of(2025, 2, 28);
+
+    @Autowired
+    private DailyCostRollupService rollupService;
+
+    @Autowired
+    private CostRecordRepository costRecordRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void clearMonth() {
+        jdbcTemplate.queryForObject("SELECT ensure_cost_records_partition(DATE '2025-02-01')", String.class);
+        jdbcTemplate.update("DELETE FROM cost_records WHERE usage_date >= ? AND usage_date < ?",
+                FIRST_DAY.atStartOfDay(), LAST_DAY.plusDays(1).atStartOfDay());
+        jdbcTemplate.update("DELETE FROM daily_cost_rollup WHERE usage_day BETWEEN ? AND ?", FIRST_DAY, LAST_DAY);
+    }
+
+    @Test
+    void incrementalMaintenanceMatchesARebuild() {
+        List<CostRecord> added = costRecordRepository.saveAll(List.of(
+                costRecord("i-1", "acct", "us-east-1", "10.00", 3),
+                costRecord("i-2", "acct", "us-east-1", "2.50", 3),
+                costRecord("i-3", null, null, "4.25", 3),
+                costRecord("i-4", "acct", "eu-west-1", "7.00", 17),
+                costRecord("i-5", "acct", "eu-west-1", "1.00", 17)));
+        rollupService.recordsAdded(added);
+        List<CostRecord> removed = List.of(added.get(1), added.get(4));
+        costRecordRepository.deleteAll(removed);
+        costRecordRepository.flush();
+        rollupService.recordsRemoved(removed);
+
+        List<Map<String, Object>> incremental = rollup();
+        rollupService.rebuild(FIRST_DAY, LAST_DAY);
+
+        assertThat(incremental).hasSize(3);
+        assertThat(rollup()).isEqualTo(incremental);
+    }
+
+    private List<Map<String, Object>> rollup() {
+        return jdbcTemplate.queryForList("SELECT usage_day, cloud_provider, service_name, account_id, department, "
+                + "environment, region, CAST(total_cost AS text) AS total_cost, record_count FROM daily_cost_rollup "
+                + "WHERE usage_day BETWEEN ? AND ? ORDER BY 1, 2, 3, 4, 5, 6, 7", FIRST_DAY, LAST_DAY);
+    }
+
+    private static CostRecord costRecord(String resourceId, String accountId, String region, String cost, int day) {
+        CostRecord costRecord = new CostRecord();
+        costRecord.setCloudProvider("AWS");
+        costRecord.setServiceName("EC2");
+        costRecord.setResourceId(resourceId);
+        costRecord.setResourceName(resourceId);
+        costRecord.setCost(new BigDecimal(cost));
+        costRecord.setCostUsd(costRecord.getCost());
+        costRecord.setCurrency("USD");
+        costRecord.setAccountId(accountId);
+        costRecord.setRegion(region);
+        costRecord.setUsageDate(LocalDateTime.of(2025, 2, day, 9, 30));
+        return costRecord;
+    }
+}
@@ -0,0 +1,90 @@
+package finops.cost_service.service;
+
+import finops.cost_service.TestcontainersConfiguration;
+import finops.cost_service.dto.FxRateRequest;
+import finops.cost_service.dto.FxRateUpdateResponse;
+import finops.cost_service.repository.DataVersionRepository;
+import finops.cost_service.repository.FxRateRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TestcontainersConfiguration.class, FxRateService.class, FxRateRepository.class, DataVersionRepository.class})
+@Testcontainers(disabledWithoutDocker = true)
+class FxRateServiceTest {
+
+    @Autowired
+    private FxRateService fxRateService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // January 2024 was removed by retention: its totals are only in the rollup. March 2025 is still raw
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("TRUNCATE daily_cost_rollup, fx_rates");
+        jdbcTemplate.queryForObject("SELECT ensure_cost_records_partition(DATE '2025-03-01')", String.class);
+        jdbcTemplate.update("DELETE FROM cost_records");
+        rollup("2024-01-10", "100.00", 5);
+        rollup("2025-03-10", "15.00", 2);
+        costRecord("i-1", "10.00", "EUR", "10.00");
+        costRecord("i-2", "5.00", "USD", "5.00");
+    }
+
+    @Test
+    void oldRateConvertsTheRawRecordsAndKeepsTheRetainedTotals() {
+        FxRateUpdateResponse response = fxRateService.saveRates(List.of(
+                new FxRateRequest("eur", LocalDate.of(2023, 12, 1), new BigDecimal("1.5"))));
+
+        assertThat(response.getConvertedRecords()).isEqualTo(1);
+        assertThat(response.getStartDate()).isEqualTo(LocalDate.of(2025, 3, 10));
+        assertThat(response.getEndDate()).isEqualTo(LocalDate.of(2025, 3, 10));
+        assertThat(jdbcTemplate.queryForObject("SELECT cost_usd FROM cost_records WHERE resource_id = 'i-1'",
+                BigDecimal.class)).isEqualByComparingTo("15.00");
+        assertThat(total("2025-03-10")).isEqualByComparingTo("20.00");
+        assertThat(total("2024-01-10")).isEqualByComparingTo("100.00");
+        assertThat(jdbcTemplate.queryForObject("SELECT record_count FROM daily_cost_rollup "
+                + "WHERE usage_day = DATE '2025-03-10'", Long.class)).isEqualTo(2);
+    }
+
+    @Test
+    void rateForACurrencyWithoutRecordsConvertsNothing() {
+        FxRateUpdateResponse response = fxRateService.saveRates(List.of(
+                new FxRateRequest("GBP", LocalDate.of(2023, 12, 1), new BigDecimal("1.25"))));
+
+        assertThat(response.getConvertedRecords()).isZero();
+        assertThat(response.getStartDate()).isNull();
+        assertThat(total("2025-03-10")).isEqualByComparingTo("15.00");
+    }
+
+    private BigDecimal total(String day) {
+        return jdbcTemplate.queryForObject("SELECT total_cost FROM daily_cost_rollup WHERE usage_day = ?",
+                BigDecimal.class, LocalDate.parse(day));
+    }
+
+    private void rollup(String day, String cost, long count) {
+        jdbcTemplate.update("INSERT INTO daily_cost_rollup VALUES (?, 'AWS', 'EC2', 'acct', 'Engineering', "
+                + "'production', 'us-east-1', CAST(? AS numeric), ?)", LocalDate.parse(day), cost, count);
+    }
+
+    private void costRecord(String resourceId, String cost, String currency, String costUsd) {
+        jdbcTemplate.update("INSERT INTO cost_records (cloud_provider, service_name, resource_id, resource_name, "
+                + "cost, currency, region, account_id, department, environment, usage_date, created_at, cost_usd) "
+                + "VALUES ('AWS', 'EC2', ?, ?, CAST(? AS numeric), ?, 'us-east-1', 'acct', 'Engineering', "
+                + "'production', TIMESTAMP '2025-03-10 12:00:00', now(), CAST(? AS numeric))",
+                resourceId, resourceId, cost, currency, costUsd);
+    }
+}
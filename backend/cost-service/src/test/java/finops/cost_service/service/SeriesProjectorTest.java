@@ -0,0 +1,65 @@
+package finops.cost_service.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SeriesProjectorTest {
+
+    // A Wednesday, 20 days before the end of the month
+    private static final LocalDate AS_OF = LocalDate.of(2025, 4, 10);
+
+    @Test
+    void linearTrendIsExtendedToMonthEnd() {
+        SeriesProjector projector = new SeriesProjector(ForecastMethod.LINEAR, 28, AS_OF);
+        long[] daily = new long[projector.days()];
+        // 100 cents on the first history day, 10 more every day after
+        for (LocalDate day = AS_OF.minusDays(28); !day.isAfter(AS_OF); day = day.plusDays(1)) {
+            daily[projector.slot(day)] = 100 + 10L * (day.toEpochDay() - AS_OF.minusDays(28).toEpochDay());
+        }
+
+        SeriesProjector.Projection projection = projector.project(daily);
+
+        long monthToDate = 0;
+        for (LocalDate day = AS_OF.withDayOfMonth(1); !day.isAfter(AS_OF); day = day.plusDays(1)) {
+            monthToDate += daily[projector.slot(day)];
+        }
+        long remaining = 0;
+        for (int d = 1; d <= 20; d++) {
+            remaining += 100 + 10L * (28 + d);
+        }
+        assertThat(projection.monthToDateCents()).isEqualTo(monthToDate);
+        assertThat(projection.remainingCents()).isEqualTo(remaining);
+    }
+
+    @Test
+    void seasonalKeepsTheWeekendDip() {
+        SeriesProjector seasonal = new SeriesProjector(ForecastMethod.SEASONAL, 56, AS_OF);
+        SeriesProjector linear = new SeriesProjector(ForecastMethod.LINEAR, 56, AS_OF);
+        long[] daily = new long[seasonal.days()];
+        for (LocalDate day = seasonal.firstDay(); !day.isAfter(AS_OF); day = day.plusDays(1)) {
+            daily[seasonal.slot(day)] = day.getDayOfWeek().getValue() >= DayOfWeek.SATURDAY.getValue() ? 200 : 1000;
+        }
+
+        // 14 weekdays and 6 weekend days are left in April
+        long expected = 14 * 1000 + 6 * 200;
+        assertThat(seasonal.project(daily).remainingCents()).isBetween(expected - 50, expected + 50);
+        // The linear trend averages the dip away and overshoots a month ending on a weekend
+        assertThat(linear.project(daily).remainingCents()).isGreaterThan(expected + 200);
+    }
+
+    @Test
+    void seriesStartingMidWindowIsFittedFromItsFirstDay() {
+        SeriesProjector projector = new SeriesProjector(ForecastMethod.LINEAR, 56, AS_OF);
+        long[] daily = new long[projector.days()];
+        for (LocalDate day = AS_OF.minusDays(5); !day.isAfter(AS_OF); day = day.plusDays(1)) {
+            daily[projector.slot(day)] = 500;
+        }
+
+        assertThat(projector.project(daily).remainingCents()).isEqualTo(20 * 500);
+        assertThat(projector.project(new long[projector.days()]).monthEndCents()).isZero();
+    }
+}
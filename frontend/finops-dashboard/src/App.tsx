@@ -1,4 +1,4 @@
-import { useState, useEffect } from 'react';
+import { useState, useEffect, useRef } from 'react';
 import {
   Container,
   Typography,
@@ -11,37 +11,136 @@ import {
 } from '@mui/material';
 import CloudIcon from '@mui/icons-material/Cloud';
 import Dashboard from './components/Dashboard';
-import { CostRecord, CostSummary } from './types';
+import { CostFeedEvent, CostRecord, CostSummary } from './types';
 import { costApi } from './services/api';
 
+const addCents = (a: number, b: number) => Math.round((a + b) * 100) / 100;
+
+const addTotals = (totals: Record<string, number>, changes: Record<string, number>) => {
+  const merged = { ...totals };
+  Object.entries(changes).forEach(([key, amount]) => {
+    const total = addCents(merged[key] ?? 0, amount);
+    if (total === 0) {
+      delete merged[key];
+    } else {
+      merged[key] = total;
+    }
+  });
+  return merged;
+};
+
+const addToSummary = (summary: CostSummary, delta: CostSummary): CostSummary => ({
+  ...summary,
+  totalCost: addCents(summary.totalCost, delta.totalCost),
+  totalRecords: summary.totalRecords + delta.totalRecords,
+  costByProvider: addTotals(summary.costByProvider, delta.costByProvider),
+  costByService: addTotals(summary.costByService, delta.costByService),
+});
+
+// Versions the displayed data was loaded at, and the changes received while a load is in flight
+interface FeedState {
+  costsVersion: number | null;
+  summaryVersion: number | null;
+  pending: CostFeedEvent[] | null;
+  reload: { withSummary: boolean } | null;
+}
+
+// Changes without a version, or data loaded without one, cannot be compared: apply them
+const isNewer = (change: CostFeedEvent, loadedVersion: number | null) =>
+  change.dataVersion === null || loadedVersion === null || change.dataVersion > loadedVersion;
+
 function App() {
   const [costs, setCosts] = useState<CostRecord[]>([]);
   const [summary, setSummary] = useState<CostSummary | null>(null);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState<string | null>(null);
+  const feed = useRef<FeedState>({ costsVersion: null, summaryVersion: null, pending: null, reload: null });
 
   useEffect(() => {
-    fetchData();
+    // Data is loaded once the feed is connected (and again after each reconnect, which may have
+    // missed changes). Changes arriving meanwhile are held back until the load completes, then only
+    // those newer than the load are applied: the load may or may not include the others already
+    let loaded = false;
+    return costApi.subscribeToCostFeed({
+      onOpen: () => {
+        load(true, !loaded);
+        loaded = true;
+      },
+      onChange: applyChange,
+      onResync: () => load(true, false),
+      onError: () => {
+        if (!loaded) {
+          setLoading(false);
+          setError('Failed to fetch cost data. Please ensure the backend is running on port 8082.');
+        }
+      },
+    });
   }, []);
 
-  const fetchData = async () => {
-    try {
+  const applyChange = (change: CostFeedEvent) => {
+    const state = feed.current;
+    if (state.pending) {
+      state.pending.push(change);
+      return;
+    }
+    if (isNewer(change, state.summaryVersion)) {
+      setSummary((current) => (current ? addToSummary(current, change.summaryDelta) : current));
+    }
+    if (!isNewer(change, state.costsVersion)) {
+      return;
+    }
+    if (change.recordsTruncated) {
+      // The batches after this one are held back meanwhile, and those the reload includes are
+      // skipped: a bulk ingest costs one reload at a time, not one per batch
+      load(false, false);
+      return;
+    }
+    // Upserted records come back as both removed and added; keep the new version once
+    const replaced = new Set([...change.removedIds, ...change.added.map((cost) => cost.id)]);
+    setCosts((current) => [...change.added, ...current.filter((cost) => !replaced.has(cost.id))]);
+  };
+
+  // One load at a time: asking during a load reloads once more after it, since it may have read
+  // the data before the request
+  const load = async (withSummary: boolean, showLoading: boolean) => {
+    const state = feed.current;
+    if (state.pending) {
+      state.reload = { withSummary: withSummary || (state.reload?.withSummary ?? false) };
+      return;
+    }
+    state.pending = [];
+    if (showLoading) {
       setLoading(true);
-      setError(null);
-      const [costsData, summaryData] = await Promise.all([
-        costApi.getAllCosts(),
-        costApi.getCostSummary(),
-      ]);
-      setCosts(costsData);
-      setSummary(summaryData);
-    } catch (err) {
-      setError('Failed to fetch cost data. Please ensure the backend is running on port 8082.');
-      console.error('Error fetching data:', err);
-    } finally {
-      setLoading(false);
     }
+    setError(null);
+    let next: { withSummary: boolean } | null = { withSummary };
+    while (next) {
+      state.reload = null;
+      try {
+        const [costsData, summaryData] = await Promise.all([
+          costApi.getAllCosts(),
+          next.withSummary ? costApi.getCostSummary() : null,
+        ]);
+        setCosts(costsData.data);
+        state.costsVersion = costsData.version;
+        if (summaryData) {
+          setSummary(summaryData.data);
+          state.summaryVersion = summaryData.version;
+        }
+      } catch (err) {
+        setError('Failed to fetch cost data. Please ensure the backend is running on port 8082.');
+        console.error('Error fetching data:', err);
+      }
+      next = state.reload;
+    }
+    setLoading(false);
+    const pending = state.pending;
+    state.pending = null;
+    pending.forEach(applyChange);
   };
 
+  const fetchData = () => load(true, true);
+
   return (
     <Box sx={{ flexGrow: 1, minHeight: '100vh', backgroundColor: '#f5f5f5' }}>
       <AppBar position="static" sx={{ backgroundColor: '#1976d2' }}>
@@ -1,16 +1,40 @@
-import axios from 'axios';
-import { CostRecord, CostSummary } from '../types';
+import axios, { AxiosResponse } from 'axios';
+import { CostAggregate, CostAggregateQuery, CostFeedEvent, CostRecord, CostSummary, Versioned } from '../types';
 
 const API_BASE_URL = '/api';
 
+// ETags are the weak data version, W/"42"
+const versioned = <T>(response: AxiosResponse<T>): Versioned<T> => {
+  const match = /"(\d+)"/.exec(response.headers.etag ?? '');
+  return { data: response.data, version: match ? Number(match[1]) : null };
+};
+
+export interface CostFeedHandlers {
+  // also called after every reconnect: changes made while disconnected were not received
+  onOpen: () => void;
+  onChange: (change: CostFeedEvent) => void;
+  onResync: () => void;
+  onError?: () => void;
+}
+
 export const costApi = {
-  getAllCosts: async (): Promise<CostRecord[]> => {
+  getAllCosts: async (): Promise<Versioned<CostRecord[]>> => {
     const response = await axios.get(`${API_BASE_URL}/costs`);
-    return response.data;
+    return versioned(response);
   },
 
-  getCostSummary: async (): Promise<CostSummary> => {
+  getCostSummary: async (): Promise<Versioned<CostSummary>> => {
     const response = await axios.get(`${API_BASE_URL}/costs/summary`);
+    return versioned(response);
+  },
+
+  // Grouped totals computed by the backend, e.g. { groupBy: ['provider', 'month'] }
+  getCostAggregate: async (query: CostAggregateQuery): Promise<CostAggregate> => {
+    const response = await axios.get(`${API_BASE_URL}/costs/aggregate`, {
+      params: query,
+      // repeat list params (groupBy=a&groupBy=b) the way Spring binds them
+      paramsSerializer: { indexes: null },
+    });
     return response.data;
   },
 
@@ -27,4 +51,17 @@ export const costApi = {
   deleteCost: async (id: number): Promise<void> => {
     await axios.delete(`${API_BASE_URL}/costs/${id}`);
   },
+
+  // Live changes as server-sent events instead of polling; the browser reconnects by itself.
+  // Returns a function that closes the connection
+  subscribeToCostFeed: (handlers: CostFeedHandlers): (() => void) => {
+    const source = new EventSource(`${API_BASE_URL}/costs/feed`);
+    source.onopen = () => handlers.onOpen();
+    source.onerror = () => handlers.onError?.();
+    source.addEventListener('costs', (event) => {
+      handlers.onChange(JSON.parse((event as MessageEvent<string>).data));
+    });
+    source.addEventListener('resync', () => handlers.onResync());
+    return () => source.close();
+  },
 };
\ No newline at end of file
@@ -20,4 +20,63 @@ export interface CostSummary {
   totalRecords: number;
   costByProvider: Record<string, number>;
   costByService: Record<string, number>;
-}
\ No newline at end of file
+}
+
+// One committed change pushed by /api/costs/feed
+export interface CostFeedEvent {
+  addedCount: number;
+  removedCount: number;
+  added: CostRecord[];
+  removedIds: number[];
+  // added/removedIds are left empty for bulk changes: re-fetch the record list instead
+  recordsTruncated: boolean;
+  // amounts to add to the current summary
+  summaryDelta: CostSummary;
+  // version the change committed as: loads tagged with it or a later one already include it
+  dataVersion: number | null;
+}
+
+// A response body with the data version from its ETag, null if it had none
+export interface Versioned<T> {
+  data: T;
+  version: number | null;
+}
+export type CostDimension =
+  | 'provider'
+  | 'service'
+  | 'account'
+  | 'department'
+  | 'environment'
+  | 'region'
+  | 'day'
+  | 'week'
+  | 'month';
+
+export interface CostAggregateQuery {
+  groupBy: CostDimension[];
+  provider?: string[];
+  service?: string[];
+  account?: string[];
+  department?: string[];
+  environment?: string[];
+  region?: string[];
+  startDate?: string;
+  endDate?: string;
+  limit?: number;
+}
+
+export interface CostAggregateGroup {
+  dimensions: Partial<Record<CostDimension, string | null>>;
+  totalCost: number;
+  recordCount: number;
+}
+
+export interface CostAggregate {
+  groupBy: CostDimension[];
+  groups: CostAggregateGroup[];
+  totalCost: number;
+  currency: string;
+  totalRecords: number;
+  totalGroups: number;
+  truncated: boolean;
+}
@@ -0,0 +1,5 @@
+#!/bin/sh
+# Lets the postgres-replica service stream WAL from this server (docker compose --profile replica)
+# Init scripts only run on an empty data directory: remove the postgres_data volume to apply it
+set -e
+echo "host replication all all scram-sha-256" >> "$PGDATA/pg_hba.conf"